@@ -0,0 +1,184 @@
+/**
+ * Oct 18, 2026
+ */
+package benchmark;
+
+import hypothesis.BitSetHypothesis;
+import hypothesis.Frame;
+import hypothesis.Hypothesis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import mass.exact.BitSetMassFunction;
+import mass.exact.ITransitionModel;
+import mass.exact.MassFunction;
+import mass.sampled.ISampledTransitionModel;
+import mass.sampled.SampledMassFunction;
+
+
+/**
+ * Generates reproducible random mass functions and transition models for the benchmarks.
+ * <p>
+ * Focal sets contain between 1 and <code>MAX_FOCAL_SIZE</code> singletons of the frame <code>{0, ..., frameSize - 1}</code>
+ * and receive random masses that sum up to 1.
+ *
+ */
+public class BenchmarkData {
+
+	/**
+	 * The maximum number of singletons per generated focal set.
+	 */
+	public static final int MAX_FOCAL_SIZE = 4;
+	
+	/**
+	 * The mass that the transition models assign to remaining in the current state.
+	 */
+	public static final double STAY_PROBABILITY = 0.8;
+	
+	
+	private BenchmarkData() {
+		// static methods only
+	}
+	
+	
+	/**
+	 * Creates a mass function with <code>focalCount</code> distinct random focal sets.
+	 * 
+	 * @param frameSize the number of singletons
+	 * @param focalCount the number of focal sets
+	 * @param random source of randomness
+	 * @return The generated mass function.
+	 */
+	public static MassFunction<Integer> createMassFunction(int frameSize, int focalCount, Random random) {
+		MassFunction<Integer> m = new MassFunction<Integer>();
+		List<Integer> singletons = new ArrayList<Integer>(frameSize);
+		for (int i = 0; i < frameSize; i++)
+			singletons.add(i);
+		ArrayList<Hypothesis<Integer>> focals = new ArrayList<Hypothesis<Integer>>(focalCount);
+		while (focals.size() < focalCount) {
+			Collections.shuffle(singletons, random);
+			int size = 1 + random.nextInt(Math.min(MAX_FOCAL_SIZE, frameSize));
+			Hypothesis<Integer> h = new Hypothesis<Integer>(singletons.subList(0, size));
+			if (!focals.contains(h))
+				focals.add(h);
+		}
+		double[] masses = new double[focalCount];
+		double sum = 0;
+		for (int i = 0; i < focalCount; i++) {
+			masses[i] = random.nextDouble();
+			sum += masses[i];
+		}
+		for (int i = 0; i < focalCount; i++)
+			m.add(focals.get(i), masses[i] / sum);
+		return m;
+	}
+	
+	/**
+	 * Converts <code>m</code> into a mass function over bit set hypotheses of <code>frame</code>.
+	 * 
+	 * @param m a mass function
+	 * @param frame the frame containing all singletons of <code>m</code>
+	 * @return The converted mass function.
+	 */
+	public static BitSetMassFunction<Integer> toBitSetMassFunction(MassFunction<Integer> m, Frame<Integer> frame) {
+		BitSetMassFunction<Integer> converted = new BitSetMassFunction<Integer>(frame);
+		for (Hypothesis<Integer> h : m)
+			converted.add(toBitSetHypothesis(h, frame), m.getMass(h));
+		return converted;
+	}
+	
+	/**
+	 * Converts <code>h</code> into a bit set hypothesis of <code>frame</code>.
+	 * 
+	 * @param h a hypothesis
+	 * @param frame the frame containing all singletons of <code>h</code>
+	 * @return The converted hypothesis.
+	 */
+	public static BitSetHypothesis<Integer> toBitSetHypothesis(Hypothesis<Integer> h, Frame<Integer> frame) {
+		ArrayList<Integer> singletons = new ArrayList<Integer>(h.size());
+		for (Integer s : h)
+			singletons.add(s);
+		return new BitSetHypothesis<Integer>(frame, singletons);
+	}
+	
+	/**
+	 * Converts <code>m</code> into a sampling-based mass function.
+	 * 
+	 * @param m a mass function
+	 * @param sampleCount the number of samples
+	 * @param random source of randomness
+	 * @return The sampled mass function.
+	 */
+	public static SampledMassFunction<Integer> toSampledMassFunction(MassFunction<Integer> m, int sampleCount, Random random) {
+		SampledMassFunction<Integer> sampled = new SampledMassFunction<Integer>(sampleCount, random);
+		for (int i = 0; i < sampleCount; i++)
+			sampled.add(m.sample(random));
+		return sampled;
+	}
+	
+	/**
+	 * Creates a query hypothesis of <code>MAX_FOCAL_SIZE</code> random singletons.
+	 * 
+	 * @param frameSize the number of singletons
+	 * @param random source of randomness
+	 * @return The query hypothesis.
+	 */
+	public static Hypothesis<Integer> createQuery(int frameSize, Random random) {
+		Hypothesis<Integer> h = new Hypothesis<Integer>();
+		while (h.size() < Math.min(MAX_FOCAL_SIZE, frameSize))
+			h.add(random.nextInt(frameSize));
+		return h;
+	}
+	
+	/**
+	 * Creates a transition model that either remains in state <code>s</code> or becomes ignorant between <code>s</code> and <code>s + 1</code>.
+	 * 
+	 * @param frameSize the number of singletons
+	 * @return The transition model.
+	 */
+	public static ITransitionModel<Integer, Hypothesis<Integer>, MassFunction<Integer>> createTransitionModel(int frameSize) {
+		final ArrayList<MassFunction<Integer>> predictions = new ArrayList<MassFunction<Integer>>(frameSize);
+		for (int s = 0; s < frameSize; s++) {
+			MassFunction<Integer> m = new MassFunction<Integer>();
+			m.add(new Hypothesis<Integer>(s), STAY_PROBABILITY);
+			m.add(new Hypothesis<Integer>(s, (s + 1) % frameSize), 1.0 - STAY_PROBABILITY);
+			predictions.add(m);
+		}
+		return new ITransitionModel<Integer, Hypothesis<Integer>, MassFunction<Integer>>() {
+			
+			@Override
+			public MassFunction<Integer> predict(Integer state) {
+				return predictions.get(state);
+			}
+			
+		};
+	}
+	
+	/**
+	 * Creates the sampling counterpart of <code>createTransitionModel</code>.
+	 * 
+	 * @param frameSize the number of singletons
+	 * @param random source of randomness
+	 * @return The transition model.
+	 */
+	public static ISampledTransitionModel<Integer, Hypothesis<Integer>, SampledMassFunction<Integer>> createSampledTransitionModel(int frameSize, final Random random) {
+		final ArrayList<Hypothesis<Integer>> stay = new ArrayList<Hypothesis<Integer>>(frameSize);
+		final ArrayList<Hypothesis<Integer>> move = new ArrayList<Hypothesis<Integer>>(frameSize);
+		for (int s = 0; s < frameSize; s++) {
+			stay.add(new Hypothesis<Integer>(s));
+			move.add(new Hypothesis<Integer>(s, (s + 1) % frameSize));
+		}
+		return new ISampledTransitionModel<Integer, Hypothesis<Integer>, SampledMassFunction<Integer>>() {
+			
+			@Override
+			public Hypothesis<Integer> predict(Integer state) {
+				return random.nextDouble() < STAY_PROBABILITY ? stay.get(state) : move.get(state);
+			}
+			
+		};
+	}
+	
+}
@@ -0,0 +1,131 @@
+/**
+ * Oct 18, 2026
+ */
+package benchmark;
+
+import hypothesis.BitSetHypothesis;
+import hypothesis.Frame;
+import hypothesis.Hypothesis;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import mass.exact.BitSetMassFunction;
+import mass.exact.ITransitionModel;
+import mass.exact.MassFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures combinations, queries and updates of exact mass functions.
+ * <p>
+ * The bit set variants operate on the same focal sets as the <code>MassFunction</code> variants.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExactBenchmark {
+
+	@Param({"10", "20", "40"})
+	public int frameSize;
+	
+	@Param({"16", "64", "256"})
+	public int focalCount;
+	
+	private MassFunction<Integer> m1;
+	
+	private MassFunction<Integer> m2;
+	
+	private BitSetMassFunction<Integer> b1;
+	
+	private BitSetMassFunction<Integer> b2;
+	
+	private Hypothesis<Integer> query;
+	
+	private BitSetHypothesis<Integer> bitSetQuery;
+	
+	private ITransitionModel<Integer, Hypothesis<Integer>, MassFunction<Integer>> model;
+	
+	
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		m1 = BenchmarkData.createMassFunction(frameSize, focalCount, random);
+		m2 = BenchmarkData.createMassFunction(frameSize, focalCount, random);
+		Frame<Integer> frame = new Frame<Integer>();
+		for (int i = 0; i < frameSize; i++)
+			frame.intern(i);
+		b1 = BenchmarkData.toBitSetMassFunction(m1, frame);
+		b2 = BenchmarkData.toBitSetMassFunction(m2, frame);
+		query = BenchmarkData.createQuery(frameSize, random);
+		bitSetQuery = BenchmarkData.toBitSetHypothesis(query, frame);
+		model = BenchmarkData.createTransitionModel(frameSize);
+	}
+	
+	
+	@Benchmark
+	public MassFunction<Integer> combineConjunctive() {
+		return m1.combineConjunctive(m2);
+	}
+	
+	@Benchmark
+	public MassFunction<Integer> combineDisjunctive() {
+		return m1.combineDisjunctive(m2);
+	}
+	
+	@Benchmark
+	public BitSetMassFunction<Integer> combineConjunctiveBitSet() {
+		return b1.combineConjunctive(b2);
+	}
+	
+	@Benchmark
+	public BitSetMassFunction<Integer> combineDisjunctiveBitSet() {
+		return b1.combineDisjunctive(b2);
+	}
+	
+	@Benchmark
+	public double getBelief() {
+		return m1.getBelief(query);
+	}
+	
+	@Benchmark
+	public double getPlausibility() {
+		return m1.getPlausibility(query);
+	}
+	
+	@Benchmark
+	public double getBeliefBitSet() {
+		return b1.getBelief(bitSetQuery);
+	}
+	
+	@Benchmark
+	public double getPlausibilityBitSet() {
+		return b1.getPlausibility(bitSetQuery);
+	}
+	
+	@Benchmark
+	public MassFunction<Integer> getPignisticTransformation() {
+		return m1.getPignisticTransformation();
+	}
+	
+	@Benchmark
+	public MassFunction<Integer> dynamicUpdate() {
+		return m1.dynamicUpdate(model);
+	}
+	
+}
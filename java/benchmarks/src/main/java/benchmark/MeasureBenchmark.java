@@ -0,0 +1,90 @@
+/**
+ * Oct 18, 2026
+ */
+package benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import mass.exact.MassFunction;
+import mass.measure.DiscordMeasure;
+import mass.measure.LocalConflictMeasure;
+import mass.measure.PignisticEntropyMeasure;
+import mass.measure.StrifeMeasure;
+import mass.measure.UncertaintyMeasures;
+import mass.measure.UncertaintyProfile;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures the uncertainty measures of <code>mass.measure</code>.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MeasureBenchmark {
+
+	@Param({"10", "20", "40"})
+	public int frameSize;
+	
+	@Param({"16", "64", "256"})
+	public int focalCount;
+	
+	private MassFunction<Integer> m;
+	
+	private final DiscordMeasure discord = new DiscordMeasure();
+	
+	private final StrifeMeasure strife = new StrifeMeasure();
+	
+	private final LocalConflictMeasure localConflict = new LocalConflictMeasure();
+	
+	private final PignisticEntropyMeasure pignisticEntropy = new PignisticEntropyMeasure();
+	
+	
+	@Setup
+	public void setUp() {
+		m = BenchmarkData.createMassFunction(frameSize, focalCount, new Random(42));
+	}
+	
+	
+	@Benchmark
+	public double discord() {
+		return discord.measure(m);
+	}
+	
+	@Benchmark
+	public double strife() {
+		return strife.measure(m);
+	}
+	
+	@Benchmark
+	public double localConflict() {
+		return localConflict.measure(m);
+	}
+	
+	@Benchmark
+	public double pignisticEntropy() {
+		return pignisticEntropy.measure(m);
+	}
+	
+	@Benchmark
+	public UncertaintyProfile measureAll() {
+		return UncertaintyMeasures.measureAll(m);
+	}
+	
+}
@@ -0,0 +1,137 @@
+/**
+ * Oct 18, 2026
+ */
+package benchmark;
+
+import hypothesis.Hypothesis;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import mass.exact.MassFunction;
+import mass.sampled.CountedMassFunction;
+import mass.sampled.ISampledTransitionModel;
+import mass.sampled.SampledMassFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures combinations, queries and updates of sampling-based mass functions.
+ * <p>
+ * The sampled mass functions are drawn from the same exact mass functions as in <code>ExactBenchmark</code>,
+ * so results for equal <code>frameSize</code> and <code>focalCount</code> are directly comparable.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SampledBenchmark {
+
+	@Param({"10", "20", "40"})
+	public int frameSize;
+	
+	@Param({"16", "64", "256"})
+	public int focalCount;
+	
+	@Param({"1000", "10000"})
+	public int sampleCount;
+	
+	private SampledMassFunction<Integer> s1;
+	
+	private SampledMassFunction<Integer> s2;
+	
+	private CountedMassFunction<Integer> c1;
+	
+	private CountedMassFunction<Integer> c2;
+	
+	private Hypothesis<Integer> query;
+	
+	private ISampledTransitionModel<Integer, Hypothesis<Integer>, SampledMassFunction<Integer>> model;
+	
+	
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		MassFunction<Integer> m1 = BenchmarkData.createMassFunction(frameSize, focalCount, random);
+		MassFunction<Integer> m2 = BenchmarkData.createMassFunction(frameSize, focalCount, random);
+		s1 = BenchmarkData.toSampledMassFunction(m1, sampleCount, new Random(1));
+		s2 = BenchmarkData.toSampledMassFunction(m2, sampleCount, new Random(2));
+		c1 = new CountedMassFunction<Integer>(sampleCount, new Random(3));
+		c2 = new CountedMassFunction<Integer>(sampleCount, new Random(4));
+		s1.copy(c1);
+		s2.copy(c2);
+		query = BenchmarkData.createQuery(frameSize, random);
+		model = BenchmarkData.createSampledTransitionModel(frameSize, new Random(5));
+	}
+	
+	
+	@Benchmark
+	public SampledMassFunction<Integer> combineConjunctive() {
+		return s1.combineConjunctive(s2);
+	}
+	
+	@Benchmark
+	public SampledMassFunction<Integer> combineDisjunctive() {
+		return s1.combineDisjunctive(s2);
+	}
+	
+	@Benchmark
+	public SampledMassFunction<Integer> combineConjunctiveImportanceSampling() {
+		return s1.combineConjunctiveImportanceSampling(s2);
+	}
+	
+	@Benchmark
+	public CountedMassFunction<Integer> combineConjunctiveCounted() {
+		return c1.combineConjunctive(c2);
+	}
+	
+	@Benchmark
+	public CountedMassFunction<Integer> combineDisjunctiveCounted() {
+		return c1.combineDisjunctive(c2);
+	}
+	
+	@Benchmark
+	public double getBelief() {
+		return s1.getBelief(query);
+	}
+	
+	@Benchmark
+	public double getPlausibility() {
+		return s1.getPlausibility(query);
+	}
+	
+	@Benchmark
+	public double getBeliefCounted() {
+		return c1.getBelief(query);
+	}
+	
+	@Benchmark
+	public double getPlausibilityCounted() {
+		return c1.getPlausibility(query);
+	}
+	
+	@Benchmark
+	public SampledMassFunction<Integer> getPignisticTransformation() {
+		return s1.getPignisticTransformation();
+	}
+	
+	@Benchmark
+	public SampledMassFunction<Integer> dynamicUpdate() {
+		return s1.dynamicUpdate(model);
+	}
+	
+}
@@ -131,10 +131,10 @@ public abstract class AbstractDiscreteHypothesis<S extends Comparable<S>, H exte
 	 */
 	@Override
 	public boolean equals(Object obj) {
-		if (!(obj instanceof IDiscreteHypothesis))
+		if (!(obj instanceof AbstractDiscreteHypothesis))
 			return false;
 		Iterator<?> it1 = iterator();
-		Iterator<?> it2 = ((IDiscreteHypothesis<?, ?>) obj).iterator();
+		Iterator<?> it2 = ((AbstractDiscreteHypothesis<?, ?>) obj).iterator();
 		while (it1.hasNext() && it2.hasNext()) {
 			if (!it1.next().equals(it2.next()))
 				return false;
@@ -142,6 +142,18 @@ public abstract class AbstractDiscreteHypothesis<S extends Comparable<S>, H exte
 		return !it1.hasNext() && !it2.hasNext();
 	}
 	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		// order-dependent like equals; a plain sum would map many small sets of similar singletons to the same value
+		int hash = 1;
+		for (S s : exposeSingletons())
+			hash = 31 * hash + s.hashCode();
+		return hash;
+	}
+	
 	
 	/**
 	 * Adds the singleton to this hypothesis.
@@ -0,0 +1,462 @@
+/**
+ * Oct 18, 2026
+ */
+package hypothesis;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+
+/**
+ * Implements a hypothesis as a bit set over a shared frame of discernment.
+ * <p>
+ * The frame is shared by all hypotheses built against it. Each singleton is represented by the bit
+ * corresponding to its index in the frame, so set operations, comparison and hashing are performed
+ * word-wise on <code>long</code> values instead of on sorted trees.
+ * Singletons are iterated in the order of their frame indices.
+ * Hypotheses built against different frames cannot be combined and are never equal.
+ *
+ */
+public class BitSetHypothesis<S extends Comparable<S>> implements IDiscreteHypothesis<S, BitSetHypothesis<S>> {
+
+	private static final long[] EMPTY = new long[0];
+
+	private final Frame<S> frame;
+
+	private long[] words;
+
+
+	/**
+	 * Creates an empty hypothesis.
+	 *
+	 * @param frame the frame of discernment
+	 */
+	public BitSetHypothesis(Frame<S> frame) {
+		this.frame = frame;
+		this.words = EMPTY;
+	}
+
+	/**
+	 * Creates a hypothesis representing the set <code>singletons</code>.
+	 *
+	 * @param frame the frame of discernment (unknown singletons are interned)
+	 * @param singletons an array of singletons
+	 */
+	@SafeVarargs
+	public BitSetHypothesis(Frame<S> frame, S... singletons) {
+		this(frame);
+		add(singletons);
+	}
+
+	/**
+	 * Creates a hypothesis representing the set <code>singletons</code>.
+	 *
+	 * @param frame the frame of discernment (unknown singletons are interned)
+	 * @param singletons a collection of singletons
+	 */
+	public BitSetHypothesis(Frame<S> frame, Collection<? extends S> singletons) {
+		this(frame);
+		add(singletons);
+	}
+
+	/**
+	 * Creates a hypothesis from its bit representation. Bit <code>i % 64</code> of word <code>i / 64</code> represents the singleton with index <code>i</code>.
+	 *
+	 * @param frame the frame of discernment
+	 * @param words the bit representation (is copied)
+	 */
+	public BitSetHypothesis(Frame<S> frame, long[] words) {
+		this(frame);
+		int n = words.length;
+		while (n > 0 && words[n - 1] == 0)
+			n--;
+		if (n > getWordCount(frame.size()) || (n > 0 && n == getWordCount(frame.size()) && (frame.size() & 63) != 0 && (words[n - 1] >>> frame.size()) != 0))
+			throw new IllegalArgumentException("bit representation exceeds the frame");
+		this.words = new long[n];
+		System.arraycopy(words, 0, this.words, 0, n);
+	}
+
+	/**
+	 * Creates a hypothesis from the bit representation of at most 64 singletons.
+	 *
+	 * @param frame the frame of discernment
+	 * @param word the bit representation
+	 */
+	public BitSetHypothesis(Frame<S> frame, long word) {
+		this(frame, new long[] {word});
+	}
+
+
+	/**
+	 * Returns the frame this hypothesis is built against.
+	 *
+	 * @return The frame of discernment.
+	 */
+	public Frame<S> getFrame() {
+		return frame;
+	}
+
+	/**
+	 * Creates a hypothesis containing all singletons of the frame that are not contained by this hypothesis.
+	 *
+	 * @return The complement of this hypothesis.
+	 */
+	public BitSetHypothesis<S> complement() {
+		int size = frame.size();
+		BitSetHypothesis<S> complement = new BitSetHypothesis<S>(frame);
+		complement.words = new long[getWordCount(size)];
+		for (int i = 0; i < complement.words.length; i++)
+			complement.words[i] = ~word(i);
+		if ((size & 63) != 0)
+			complement.words[complement.words.length - 1] &= (1L << size) - 1;
+		return complement;
+	}
+
+	/**
+	 * Returns a copy of the bit representation of this hypothesis.
+	 *
+	 * @return The bit representation.
+	 */
+	public long[] toLongArray() {
+		return words.clone();
+	}
+
+	/**
+	 * Returns the word with the given index of the bit representation.
+	 *
+	 * @param index a word index
+	 * @return The word with the given index. Returns 0 for words beyond the bit representation.
+	 */
+	public long getWord(int index) {
+		return word(index);
+	}
+
+	/**
+	 * Returns the number of words of the bit representation. Words with higher indices are 0.
+	 *
+	 * @return The number of words.
+	 */
+	public int getWordCount() {
+		return words.length;
+	}
+
+	/**
+	 * Returns the first word of the bit representation, i.e., the complete representation for frames of at most 64 singletons.
+	 *
+	 * @return The first word of the bit representation.
+	 */
+	public long toLong() {
+		return words.length > 0 ? words[0] : 0L;
+	}
+
+	/**
+	 * Returns <code>true</code> if and only if this hypothesis and <code>hypothesis</code> have at least one singleton in common.
+	 * In contrast to <code>!intersect(hypothesis).isEmpty()</code>, no intermediate hypothesis is created.
+	 *
+	 * @param hypothesis another hypothesis
+	 * @return <code>true</code> if and only if the intersection is not empty.
+	 */
+	public boolean intersects(BitSetHypothesis<S> hypothesis) {
+		checkFrame(hypothesis);
+		int n = Math.min(words.length, hypothesis.words.length);
+		for (int i = 0; i < n; i++) {
+			if ((words[i] & hypothesis.words[i]) != 0)
+				return true;
+		}
+		return false;
+	}
+
+
+	/* (non-Javadoc)
+	 * @see hypothesis.IHypothesis#intersect(hypothesis.IHypothesis)
+	 */
+	@Override
+	public BitSetHypothesis<S> intersect(BitSetHypothesis<S> hypothesis) {
+		checkFrame(hypothesis);
+		BitSetHypothesis<S> intersection = new BitSetHypothesis<S>(frame);
+		intersection.words = new long[Math.min(words.length, hypothesis.words.length)];
+		for (int i = 0; i < intersection.words.length; i++)
+			intersection.words[i] = words[i] & hypothesis.words[i];
+		return intersection;
+	}
+
+	/* (non-Javadoc)
+	 * @see hypothesis.IHypothesis#unite(hypothesis.IHypothesis)
+	 */
+	@Override
+	public BitSetHypothesis<S> unite(BitSetHypothesis<S> hypothesis) {
+		checkFrame(hypothesis);
+		BitSetHypothesis<S> union = new BitSetHypothesis<S>(frame);
+		union.words = new long[Math.max(words.length, hypothesis.words.length)];
+		for (int i = 0; i < union.words.length; i++)
+			union.words[i] = word(i) | hypothesis.word(i);
+		return union;
+	}
+
+	/* (non-Javadoc)
+	 * @see hypothesis.IHypothesis#isEmpty()
+	 */
+	@Override
+	public boolean isEmpty() {
+		for (long word : words) {
+			if (word != 0)
+				return false;
+		}
+		return true;
+	}
+
+	/* (non-Javadoc)
+	 * @see hypothesis.IHypothesis#isSuperSetOf(hypothesis.IHypothesis)
+	 */
+	@Override
+	public boolean isSuperSetOf(BitSetHypothesis<S> hypothesis) {
+		checkFrame(hypothesis);
+		for (int i = 0; i < hypothesis.words.length; i++) {
+			if ((hypothesis.words[i] & ~word(i)) != 0)
+				return false;
+		}
+		return true;
+	}
+
+	/* (non-Javadoc)
+	 * @see hypothesis.IDiscreteHypothesis#add(java.util.Collection)
+	 */
+	@Override
+	public void add(Collection<? extends S> singletons) {
+		for (S s : singletons)
+			add(s);
+	}
+
+	/* (non-Javadoc)
+	 * @see hypothesis.IDiscreteHypothesis#remove(java.util.Collection)
+	 */
+	@Override
+	public boolean remove(Collection<? extends S> singletons) {
+		boolean result = false;
+		for (S s : singletons)
+			result |= remove(s);
+		return result;
+	}
+
+	/* (non-Javadoc)
+	 * @see hypothesis.IDiscreteHypothesis#clear()
+	 */
+	@Override
+	public void clear() {
+		for (int i = 0; i < words.length; i++)
+			words[i] = 0;
+	}
+
+	/* (non-Javadoc)
+	 * @see hypothesis.IDiscreteHypothesis#size()
+	 */
+	@Override
+	public int size() {
+		int size = 0;
+		for (long word : words)
+			size += Long.bitCount(word);
+		return size;
+	}
+
+	/* (non-Javadoc)
+	 * @see hypothesis.IDiscreteHypothesis#contains(java.util.Collection)
+	 */
+	@Override
+	public boolean contains(Collection<? extends S> singletons) {
+		for (S s : singletons) {
+			if (!contains(s))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Adds the singleton to this hypothesis.
+	 *
+	 * @param singleton a singleton (is interned if it is not yet part of the frame)
+	 */
+	public void add(S singleton) {
+		int index = frame.intern(singleton);
+		if ((index >>> 6) >= words.length) {
+			long[] grown = new long[(index >>> 6) + 1];
+			System.arraycopy(words, 0, grown, 0, words.length);
+			words = grown;
+		}
+		words[index >>> 6] |= 1L << index;
+	}
+
+	/**
+	 * Adds all singletons to this hypothesis.
+	 *
+	 * @param singletons an array of singletons (are interned if they are not yet part of the frame)
+	 */
+	@SafeVarargs
+	public final void add(S... singletons) {
+		for (S s : singletons)
+			add(s);
+	}
+
+	/**
+	 * Returns <code>true</code> if and only if <code>singleton</code> is contained by this hypothesis.
+	 *
+	 * @param singleton a singleton
+	 * @return <code>true</code> if and only if <code>singleton</code> is contained by this hypothesis.
+	 */
+	public boolean contains(S singleton) {
+		int index = frame.indexOf(singleton);
+		return index >= 0 && (word(index >>> 6) & (1L << index)) != 0;
+	}
+
+	/**
+	 * Removes the singleton from this hypothesis.
+	 *
+	 * @param singleton a singleton
+	 * @return <code>true</code> if and only if the singleton was removed.
+	 */
+	public boolean remove(S singleton) {
+		int index = frame.indexOf(singleton);
+		if (index < 0 || (word(index >>> 6) & (1L << index)) == 0)
+			return false;
+		words[index >>> 6] &= ~(1L << index);
+		return true;
+	}
+
+
+	/* (non-Javadoc)
+	 * @see java.lang.Iterable#iterator()
+	 */
+	@Override
+	public Iterator<S> iterator() {
+		return new Iterator<S>() {
+
+			private int next = nextSetBit(0);
+
+			private int last = -1;
+
+			@Override
+			public boolean hasNext() {
+				return next >= 0;
+			}
+
+			@Override
+			public S next() {
+				if (next < 0)
+					throw new NoSuchElementException();
+				last = next;
+				next = nextSetBit(next + 1);
+				return frame.get(last);
+			}
+
+			@Override
+			public void remove() {
+				if (last < 0)
+					throw new IllegalStateException();
+				words[last >>> 6] &= ~(1L << last);
+				last = -1;
+			}
+
+		};
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Comparable#compareTo(java.lang.Object)
+	 */
+	@Override
+	public int compareTo(BitSetHypothesis<S> o) {
+		// smaller sets first, then by the lowest index not contained by both
+		int sizeDiff = size() - o.size();
+		if (sizeDiff != 0)
+			return sizeDiff;
+		int n = Math.max(words.length, o.words.length);
+		for (int i = 0; i < n; i++) {
+			long diff = word(i) ^ o.word(i);
+			if (diff != 0)
+				return (word(i) & diff & -diff) != 0 ? -1 : 1;
+		}
+		return 0;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		// only hypotheses over the same frame are comparable, which keeps equals consistent with the word-based hashCode
+		if (!(obj instanceof BitSetHypothesis))
+			return false;
+		BitSetHypothesis<?> h = (BitSetHypothesis<?>) obj;
+		if (h.frame != frame)
+			return false;
+		int n = Math.max(words.length, h.words.length);
+		for (int i = 0; i < n; i++) {
+			if (word(i) != h.word(i))
+				return false;
+		}
+		return true;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		long h = 1234;
+		for (int i = words.length; --i >= 0;)
+			h ^= words[i] * (i + 1);
+		return (int) ((h >> 32) ^ h);
+	}
+
+	/* (non-Javadoc)
+	 * @see hypothesis.IHypothesis#clone()
+	 */
+	@Override
+	public BitSetHypothesis<S> clone() {
+		BitSetHypothesis<S> cloned = new BitSetHypothesis<S>(frame);
+		cloned.words = words.length > 0 ? words.clone() : EMPTY;
+		return cloned;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder("[");
+		for (int i = nextSetBit(0); i >= 0; i = nextSetBit(i + 1)) {
+			if (s.length() > 1)
+				s.append(", ");
+			s.append(frame.get(i));
+		}
+		return s.append("]").toString();
+	}
+
+
+	private long word(int index) {
+		return index < words.length ? words[index] : 0L;
+	}
+
+	private int nextSetBit(int from) {
+		int w = from >>> 6;
+		if (w >= words.length)
+			return -1;
+		long word = words[w] & (-1L << from);
+		while (true) {
+			if (word != 0)
+				return (w << 6) + Long.numberOfTrailingZeros(word);
+			if (++w == words.length)
+				return -1;
+			word = words[w];
+		}
+	}
+
+	private void checkFrame(BitSetHypothesis<S> hypothesis) {
+		if (hypothesis.frame != frame)
+			throw new IllegalArgumentException("hypotheses must share the same frame");
+	}
+
+	private static int getWordCount(int frameSize) {
+		return (frameSize + 63) >>> 6;
+	}
+
+}
@@ -0,0 +1,239 @@
+/**
+ * Oct 18, 2026
+ */
+package hypothesis;
+
+import java.util.Arrays;
+
+
+/**
+ * A regular grid over a bounded region of R^n onto which continuous hypotheses can be snapped.
+ * <p>
+ * Along dimension <code>d</code>, the grid has <code>getCellCount(d) + 1</code> lines at <code>getOrigin(d) + k * getCellWidth(d)</code>
+ * for <code>k = 0, ..., getCellCount(d)</code>. A grid-aligned hypothesis is described by the line indices of its lower and upper bound in
+ * every dimension. Snapping a hypothesis moves its lower bounds down and its upper bounds up to the nearest lines, so the snapped hypothesis
+ * contains the original one as far as it lies inside the grid region. Bounds outside the region are clamped to it.
+ * <p>
+ * The line indices of a grid-aligned hypothesis can be packed into a single <code>long</code> key, so the grid must not have more lines than
+ * fit into 64 bits for both bounds of all dimensions.
+ *
+ */
+public class ContinuousGrid {
+
+	private final double[] origins, cellWidths;
+
+	private final int[] cellCounts;
+
+	// number of bits of a line index in each dimension
+	private final int[] indexBits;
+
+
+	/**
+	 * Creates a one-dimensional grid.
+	 *
+	 * @param origin the position of the first line
+	 * @param cellWidth the distance between neighboring lines
+	 * @param cellCount the number of cells
+	 */
+	public ContinuousGrid(double origin, double cellWidth, int cellCount) {
+		this(new double[] {origin}, new double[] {cellWidth}, new int[] {cellCount});
+	}
+
+	/**
+	 * Creates an n-dimensional grid from the lines that are specified for each dimension.
+	 *
+	 * @param origins the positions of the first line for each dimension
+	 * @param cellWidths the distances between neighboring lines for each dimension
+	 * @param cellCounts the numbers of cells for each dimension
+	 */
+	public ContinuousGrid(double[] origins, double[] cellWidths, int[] cellCounts) {
+		if (origins.length != cellWidths.length || origins.length != cellCounts.length)
+			throw new IllegalArgumentException("number of origins, cell widths and cell counts must be equal");
+		if (origins.length == 0)
+			throw new IllegalArgumentException("no dimensions specified");
+		this.origins = origins.clone();
+		this.cellWidths = cellWidths.clone();
+		this.cellCounts = cellCounts.clone();
+		indexBits = new int[origins.length];
+		int totalBits = 0;
+		for (int d = 0; d < origins.length; d++) {
+			if (Double.isNaN(origins[d]) || Double.isInfinite(origins[d]))
+				throw new IllegalArgumentException("origins must be finite");
+			if (!(cellWidths[d] > 0) || Double.isInfinite(cellWidths[d]))
+				throw new IllegalArgumentException("cell widths must be positive and finite");
+			if (cellCounts[d] < 1)
+				throw new IllegalArgumentException("at least one cell per dimension is required");
+			indexBits[d] = 32 - Integer.numberOfLeadingZeros(cellCounts[d]);
+			totalBits += 2 * indexBits[d];
+		}
+		if (totalBits > 64)
+			throw new IllegalArgumentException("line indices of all dimensions must fit into 64 bits");
+	}
+
+
+	public int getDimensions() {
+		return origins.length;
+	}
+
+	public double getOrigin(int dim) {
+		return origins[dim];
+	}
+
+	public double getCellWidth(int dim) {
+		return cellWidths[dim];
+	}
+
+	public int getCellCount(int dim) {
+		return cellCounts[dim];
+	}
+
+	/**
+	 * Returns the number of bits of a line index of dimension <code>dim</code> in a packed key.
+	 *
+	 * @param dim a dimension
+	 * @return The number of bits.
+	 */
+	public int getIndexBits(int dim) {
+		return indexBits[dim];
+	}
+
+	/**
+	 * Returns the position of the line with index <code>index</code> of dimension <code>dim</code>.
+	 *
+	 * @param dim a dimension
+	 * @param index a line index
+	 * @return The position of the line.
+	 */
+	public double toValue(int dim, int index) {
+		return origins[dim] + index * cellWidths[dim];
+	}
+
+	/**
+	 * Returns the index of the last line at or below <code>value</code>.
+	 *
+	 * @param dim a dimension
+	 * @param value a position
+	 * @return The line index, -1 if <code>value</code> lies below the first line.
+	 */
+	public int floorIndex(int dim, double value) {
+		int index = clamp(Math.floor((value - origins[dim]) / cellWidths[dim]), -1, cellCounts[dim]);
+		// correct rounding errors of the division so that the result is consistent with toValue
+		while (index < cellCounts[dim] && toValue(dim, index + 1) <= value)
+			index++;
+		while (index >= 0 && toValue(dim, index) > value)
+			index--;
+		return index;
+	}
+
+	/**
+	 * Returns the index of the first line at or above <code>value</code>.
+	 *
+	 * @param dim a dimension
+	 * @param value a position
+	 * @return The line index, <code>getCellCount(dim) + 1</code> if <code>value</code> lies above the last line.
+	 */
+	public int ceilIndex(int dim, double value) {
+		int index = clamp(Math.ceil((value - origins[dim]) / cellWidths[dim]), 0, cellCounts[dim] + 1);
+		while (index > 0 && toValue(dim, index - 1) >= value)
+			index--;
+		while (index <= cellCounts[dim] && toValue(dim, index) < value)
+			index++;
+		return index;
+	}
+
+	/**
+	 * Returns the smallest grid-aligned hypothesis that contains <code>hypothesis</code>, clamped to the grid region.
+	 *
+	 * @param hypothesis a non-empty hypothesis with <code>getDimensions()</code> dimensions
+	 * @return The snapped hypothesis.
+	 */
+	public ContinuousHypothesis snap(ContinuousHypothesis hypothesis) {
+		checkDimensions(hypothesis);
+		ContinuousHypothesis snapped = new ContinuousHypothesis(origins.length);
+		double[] lower = snapped.exposeLowerBounds(), upper = snapped.exposeUpperBounds();
+		for (int d = 0; d < origins.length; d++) {
+			lower[d] = toValue(d, Math.max(floorIndex(d, hypothesis.getLowerBound(d)), 0));
+			upper[d] = toValue(d, Math.min(ceilIndex(d, hypothesis.getUpperBound(d)), cellCounts[d]));
+		}
+		return snapped;
+	}
+
+	/**
+	 * Packs the line indices of a grid-aligned hypothesis into a key. Dimensions are packed from the most significant bits on, the lower
+	 * bound before the upper bound.
+	 *
+	 * @param lowerIndices the line indices of the lower bounds for each dimension
+	 * @param upperIndices the line indices of the upper bounds for each dimension
+	 * @return The key.
+	 */
+	public long encode(int[] lowerIndices, int[] upperIndices) {
+		long key = 0;
+		for (int d = 0; d < origins.length; d++)
+			key = (key << (2 * indexBits[d])) | ((long) lowerIndices[d] << indexBits[d]) | upperIndices[d];
+		return key;
+	}
+
+	/**
+	 * Creates the grid-aligned hypothesis that is represented by <code>key</code>.
+	 *
+	 * @param key a key created by <code>encode</code>
+	 * @return The hypothesis.
+	 */
+	public ContinuousHypothesis decode(long key) {
+		ContinuousHypothesis hypothesis = new ContinuousHypothesis(origins.length);
+		double[] lower = hypothesis.exposeLowerBounds(), upper = hypothesis.exposeUpperBounds();
+		for (int d = origins.length - 1; d >= 0; d--) {
+			long mask = (1L << indexBits[d]) - 1;
+			upper[d] = toValue(d, (int) (key & mask));
+			key >>>= indexBits[d];
+			lower[d] = toValue(d, (int) (key & mask));
+			key >>>= indexBits[d];
+		}
+		return hypothesis;
+	}
+
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof ContinuousGrid))
+			return false;
+		ContinuousGrid grid = (ContinuousGrid) obj;
+		return Arrays.equals(origins, grid.origins) && Arrays.equals(cellWidths, grid.cellWidths) && Arrays.equals(cellCounts, grid.cellCounts);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * (31 * Arrays.hashCode(origins) + Arrays.hashCode(cellWidths)) + Arrays.hashCode(cellCounts);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder();
+		for (int d = 0; d < origins.length; d++) {
+			if (d > 0)
+				s.append(";");
+			s.append(origins[d] + "+" + cellCounts[d] + "*" + cellWidths[d]);
+		}
+		return s.toString();
+	}
+
+
+	private void checkDimensions(ContinuousHypothesis hypothesis) {
+		if (hypothesis.getDimensions() != origins.length)
+			throw new IllegalArgumentException("dimensions must be equal");
+	}
+
+	private static int clamp(double value, int min, int max) {
+		return value < min ? min : value > max ? max : (int) value;
+	}
+
+}
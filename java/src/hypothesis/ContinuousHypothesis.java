@@ -8,13 +8,14 @@ package hypothesis;
  * Represents a hypothesis in the continuous frame of discernment R^n (real numbers) as a hyper-cuboid.
  * 
  * Note that this representation is generally not closed for the union operation.
+ * Hypotheses are immutable, so copies share their bounds.
  * 
  * @author Thomas Reineking
  *
  */
 public class ContinuousHypothesis implements IHypothesis<ContinuousHypothesis> {
 
-	private double[] lowerBounds, upperBounds;	// both inclusive
+	private final double[] lowerBounds, upperBounds;	// both inclusive
 	
 	
 	/**
@@ -51,6 +52,22 @@ public class ContinuousHypothesis implements IHypothesis<ContinuousHypothesis> {
 	}
 	
 	
+	/**
+	 * Creates a hypothesis with zeroed bounds that the caller fills in through the exposed arrays.
+	 * 
+	 * @param dimensions the number of dimensions
+	 */
+	ContinuousHypothesis(int dimensions) {
+		lowerBounds = new double[dimensions];
+		upperBounds = new double[dimensions];
+	}
+	
+	private ContinuousHypothesis(ContinuousHypothesis hypothesis) {
+		lowerBounds = hypothesis.lowerBounds;
+		upperBounds = hypothesis.upperBounds;
+	}
+	
+	
 	public int getDimensions() {
 		return lowerBounds.length;
 	}
@@ -89,19 +106,34 @@ public class ContinuousHypothesis implements IHypothesis<ContinuousHypothesis> {
 		return true;
 	}
 
+	/**
+	 * Returns <code>true</code> if and only if this hypothesis and <code>hypothesis</code> overlap.
+	 * In contrast to <code>!intersect(hypothesis).isEmpty()</code>, no intermediate hypothesis is created.
+	 * 
+	 * @param hypothesis another hypothesis
+	 * @return <code>true</code> if and only if the intersection is not empty.
+	 */
+	public boolean intersects(ContinuousHypothesis hypothesis) {
+		checkDimensions(this, hypothesis);
+		for (int i = 0; i < lowerBounds.length; i++) {
+			if (Math.min(upperBounds[i], hypothesis.upperBounds[i]) < Math.max(lowerBounds[i], hypothesis.lowerBounds[i]))
+				return false;
+		}
+		return true;
+	}
+	
 	/* (non-Javadoc)
 	 * @see net.sourceforge.jds.hypothesis.IHypothesis#intersect(net.sourceforge.jds.hypothesis.IHypothesis)
 	 */
 	@Override
 	public ContinuousHypothesis intersect(ContinuousHypothesis hypothesis) {
 		checkDimensions(this, hypothesis);
-		double[] intLowerBounds = new double[lowerBounds.length];
-		double[] intUpperBounds = new double[upperBounds.length];
+		ContinuousHypothesis intersection = new ContinuousHypothesis(lowerBounds.length);
 		for (int i = 0; i < lowerBounds.length; i++) {
-			intLowerBounds[i] = Math.max(lowerBounds[i], hypothesis.lowerBounds[i]);
-			intUpperBounds[i] = Math.min(upperBounds[i], hypothesis.upperBounds[i]);
+			intersection.lowerBounds[i] = Math.max(lowerBounds[i], hypothesis.lowerBounds[i]);
+			intersection.upperBounds[i] = Math.min(upperBounds[i], hypothesis.upperBounds[i]);
 		}
-		return new ContinuousHypothesis(intLowerBounds, intUpperBounds);
+		return intersection;
 	}
 	
 	
@@ -111,13 +143,12 @@ public class ContinuousHypothesis implements IHypothesis<ContinuousHypothesis> {
 	@Override
 	public ContinuousHypothesis unite(ContinuousHypothesis hypothesis) {
 		checkDimensions(this, hypothesis);
-		double[] unitedLowerBounds = new double[lowerBounds.length];
-		double[] unitedUpperBounds = new double[upperBounds.length];
+		ContinuousHypothesis union = new ContinuousHypothesis(lowerBounds.length);
 		for (int i = 0; i < lowerBounds.length; i++) {
-			unitedLowerBounds[i] = Math.min(lowerBounds[i], hypothesis.lowerBounds[i]);
-			unitedUpperBounds[i] = Math.max(upperBounds[i], hypothesis.upperBounds[i]);
+			union.lowerBounds[i] = Math.min(lowerBounds[i], hypothesis.lowerBounds[i]);
+			union.upperBounds[i] = Math.max(upperBounds[i], hypothesis.upperBounds[i]);
 		}
-		return new ContinuousHypothesis(unitedLowerBounds, unitedUpperBounds);
+		return union;
 	}
 
 	/* (non-Javadoc)
@@ -142,12 +173,21 @@ public class ContinuousHypothesis implements IHypothesis<ContinuousHypothesis> {
 		return compareTo((ContinuousHypothesis) obj) == 0;
 	}
 	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * hashArray(lowerBounds) + hashArray(upperBounds);
+	}
+	
 	/* (non-Javadoc)
 	 * @see java.lang.Object#clone()
 	 */
 	@Override
 	public ContinuousHypothesis clone() {
-		return new ContinuousHypothesis(lowerBounds, upperBounds);
+		// the bounds are never modified, so they can be shared
+		return new ContinuousHypothesis(this);
 	}
 	
 	/* (non-Javadoc)
@@ -165,6 +205,20 @@ public class ContinuousHypothesis implements IHypothesis<ContinuousHypothesis> {
 	}
 	
 	
+	/**
+	 * Returns the lower bounds. The array must not be modified.
+	 */
+	double[] exposeLowerBounds() {
+		return lowerBounds;
+	}
+	
+	/**
+	 * Returns the upper bounds. The array must not be modified.
+	 */
+	double[] exposeUpperBounds() {
+		return upperBounds;
+	}
+	
 	private static int compareArrays(double[] a1, double[] a2) {
 		int sizeDiff = a1.length - a2.length;
 		if (sizeDiff != 0)
@@ -179,6 +233,15 @@ public class ContinuousHypothesis implements IHypothesis<ContinuousHypothesis> {
 		return 0;
 	}
 	
+	private static int hashArray(double[] a) {
+		int hash = 1;
+		for (double d : a) {
+			long bits = Double.doubleToLongBits(d + 0.0);	// maps -0.0 to 0.0 just like compareArrays
+			hash = 31 * hash + (int) (bits ^ (bits >>> 32));
+		}
+		return hash;
+	}
+	
 	private static void checkDimensions(ContinuousHypothesis h1, ContinuousHypothesis h2) {
 		if (h1.getDimensions() != h2.getDimensions())
 			throw new RuntimeException("dimensions must be equal");
@@ -0,0 +1,356 @@
+/**
+ * Oct 18, 2026
+ */
+package hypothesis;
+
+
+/**
+ * Stores a set of distinct continuous hypotheses of equal dimensionality in two flat arrays.
+ * <p>
+ * The bounds of the hypothesis with index <code>i</code> occupy the entries <code>i * d</code> to <code>i * d + d - 1</code> of the lower and
+ * upper bound arrays, where <code>d</code> is the number of dimensions. Hypotheses are identified by their index, which does not change once
+ * they have been added. The kernels compare and combine hypotheses of two stores directly on these arrays and write results into
+ * caller-provided buffers, so iterating over pairs of hypotheses does not allocate any objects.
+ * <p>
+ * Adding a hypothesis that is equal to a contained one returns the index of the contained one. Like <code>ContinuousHypothesis</code>,
+ * bounds that only differ in the sign of zero are considered equal.
+ *
+ */
+public class ContinuousHypothesisStore {
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private final int dimensions;
+
+	private double[] lowerBounds, upperBounds;
+
+	private int size;
+
+	// open addressing table of index + 1, 0 marks a free slot
+	private int[] table;
+
+
+	/**
+	 * Creates an empty store.
+	 *
+	 * @param dimensions the number of dimensions of all stored hypotheses
+	 */
+	public ContinuousHypothesisStore(int dimensions) {
+		this(dimensions, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty store.
+	 *
+	 * @param dimensions the number of dimensions of all stored hypotheses
+	 * @param capacity the number of hypotheses that can be stored without resizing
+	 */
+	public ContinuousHypothesisStore(int dimensions, int capacity) {
+		if (dimensions < 1)
+			throw new IllegalArgumentException("at least one dimension is required");
+		this.dimensions = dimensions;
+		capacity = Math.max(capacity, 1);
+		lowerBounds = new double[capacity * dimensions];
+		upperBounds = new double[capacity * dimensions];
+		table = new int[tableSize(capacity)];
+	}
+
+
+	public int getDimensions() {
+		return dimensions;
+	}
+
+	/**
+	 * Returns the number of stored hypotheses.
+	 *
+	 * @return The number of hypotheses.
+	 */
+	public int size() {
+		return size;
+	}
+
+	public double getLowerBound(int index, int dim) {
+		return lowerBounds[index * dimensions + dim];
+	}
+
+	public double getUpperBound(int index, int dim) {
+		return upperBounds[index * dimensions + dim];
+	}
+
+	/**
+	 * Creates a hypothesis with the bounds of the hypothesis with index <code>index</code>.
+	 *
+	 * @param index the index of a stored hypothesis
+	 * @return The hypothesis.
+	 */
+	public ContinuousHypothesis get(int index) {
+		checkIndex(index);
+		ContinuousHypothesis hypothesis = new ContinuousHypothesis(dimensions);
+		System.arraycopy(lowerBounds, index * dimensions, hypothesis.exposeLowerBounds(), 0, dimensions);
+		System.arraycopy(upperBounds, index * dimensions, hypothesis.exposeUpperBounds(), 0, dimensions);
+		return hypothesis;
+	}
+
+	/**
+	 * Adds <code>hypothesis</code> unless an equal hypothesis is already contained.
+	 *
+	 * @param hypothesis a hypothesis with <code>getDimensions()</code> dimensions
+	 * @return The index of the hypothesis.
+	 */
+	public int add(ContinuousHypothesis hypothesis) {
+		if (hypothesis.getDimensions() != dimensions)
+			throw new IllegalArgumentException("dimensions must be equal");
+		return add(hypothesis.exposeLowerBounds(), hypothesis.exposeUpperBounds());
+	}
+
+	/**
+	 * Adds the hypothesis with the given bounds unless an equal hypothesis is already contained. The arrays are copied.
+	 *
+	 * @param lowerBounds the lower bounds of the hypothesis for each dimension
+	 * @param upperBounds the upper bounds of the hypothesis for each dimension
+	 * @return The index of the hypothesis.
+	 */
+	public int add(double[] lowerBounds, double[] upperBounds) {
+		int hash = hash(lowerBounds, upperBounds, 0);
+		int mask = table.length - 1;
+		for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+			int entry = table[slot];
+			if (entry == 0)
+				break;
+			if (equals(entry - 1, lowerBounds, upperBounds))
+				return entry - 1;
+		}
+		if (size == this.lowerBounds.length / dimensions)
+			grow();
+		System.arraycopy(lowerBounds, 0, this.lowerBounds, size * dimensions, dimensions);
+		System.arraycopy(upperBounds, 0, this.upperBounds, size * dimensions, dimensions);
+		insert(size, hash);
+		return size++;
+	}
+
+	/**
+	 * Returns the index of the hypothesis equal to <code>hypothesis</code>.
+	 *
+	 * @param hypothesis a hypothesis
+	 * @return The index of the equal hypothesis or -1 if no such hypothesis is contained.
+	 */
+	public int indexOf(ContinuousHypothesis hypothesis) {
+		if (hypothesis.getDimensions() != dimensions)
+			return -1;
+		double[] lower = hypothesis.exposeLowerBounds(), upper = hypothesis.exposeUpperBounds();
+		int mask = table.length - 1;
+		for (int slot = hash(lower, upper, 0) & mask; ; slot = (slot + 1) & mask) {
+			int entry = table[slot];
+			if (entry == 0)
+				return -1;
+			if (equals(entry - 1, lower, upper))
+				return entry - 1;
+		}
+	}
+
+	/**
+	 * Removes all hypotheses.
+	 */
+	public void clear() {
+		for (int i = 0; i < table.length; i++)
+			table[i] = 0;
+		size = 0;
+	}
+
+
+	/**
+	 * Returns <code>true</code> if and only if the hypothesis with index <code>index</code> is empty.
+	 *
+	 * @param index the index of a stored hypothesis
+	 * @return <code>true</code> if and only if the hypothesis is empty.
+	 */
+	public boolean isEmpty(int index) {
+		int offset = index * dimensions;
+		for (int d = 0; d < dimensions; d++) {
+			if (upperBounds[offset + d] < lowerBounds[offset + d])
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns <code>true</code> if and only if the hypothesis with index <code>index</code> and the hypothesis with index <code>otherIndex</code>
+	 * of <code>other</code> overlap.
+	 *
+	 * @param index the index of a hypothesis of this store
+	 * @param other another store with the same number of dimensions
+	 * @param otherIndex the index of a hypothesis of <code>other</code>
+	 * @return <code>true</code> if and only if the intersection of both hypotheses is not empty.
+	 */
+	public boolean intersects(int index, ContinuousHypothesisStore other, int otherIndex) {
+		int o1 = index * dimensions, o2 = otherIndex * dimensions;
+		for (int d = 0; d < dimensions; d++) {
+			if (Math.min(upperBounds[o1 + d], other.upperBounds[o2 + d]) < Math.max(lowerBounds[o1 + d], other.lowerBounds[o2 + d]))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns <code>true</code> if and only if the hypothesis with index <code>index</code> contains the hypothesis with index
+	 * <code>otherIndex</code> of <code>other</code>.
+	 *
+	 * @param index the index of a hypothesis of this store
+	 * @param other another store with the same number of dimensions
+	 * @param otherIndex the index of a hypothesis of <code>other</code>
+	 * @return <code>true</code> if and only if the first hypothesis is a superset of the second one.
+	 */
+	public boolean isSuperSetOf(int index, ContinuousHypothesisStore other, int otherIndex) {
+		int o1 = index * dimensions, o2 = otherIndex * dimensions;
+		for (int d = 0; d < dimensions; d++) {
+			if (lowerBounds[o1 + d] > other.lowerBounds[o2 + d] || upperBounds[o1 + d] < other.upperBounds[o2 + d])
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns <code>true</code> if and only if the hypothesis with index <code>index</code> contains <code>hypothesis</code>.
+	 *
+	 * @param index the index of a stored hypothesis
+	 * @param hypothesis a hypothesis with the same number of dimensions
+	 * @return <code>true</code> if and only if the stored hypothesis is a superset of <code>hypothesis</code>.
+	 */
+	public boolean isSuperSetOf(int index, ContinuousHypothesis hypothesis) {
+		double[] lower = hypothesis.exposeLowerBounds(), upper = hypothesis.exposeUpperBounds();
+		int offset = index * dimensions;
+		for (int d = 0; d < dimensions; d++) {
+			if (lowerBounds[offset + d] > lower[d] || upperBounds[offset + d] < upper[d])
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns <code>true</code> if and only if <code>hypothesis</code> contains the hypothesis with index <code>index</code>.
+	 *
+	 * @param index the index of a stored hypothesis
+	 * @param hypothesis a hypothesis with the same number of dimensions
+	 * @return <code>true</code> if and only if the stored hypothesis is a subset of <code>hypothesis</code>.
+	 */
+	public boolean isSubSetOf(int index, ContinuousHypothesis hypothesis) {
+		double[] lower = hypothesis.exposeLowerBounds(), upper = hypothesis.exposeUpperBounds();
+		int offset = index * dimensions;
+		for (int d = 0; d < dimensions; d++) {
+			if (lower[d] > lowerBounds[offset + d] || upper[d] < upperBounds[offset + d])
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Writes the intersection of the hypothesis with index <code>index</code> and the hypothesis with index <code>otherIndex</code> of
+	 * <code>other</code> into the given buffers.
+	 *
+	 * @param index the index of a hypothesis of this store
+	 * @param other another store with the same number of dimensions
+	 * @param otherIndex the index of a hypothesis of <code>other</code>
+	 * @param lowerBounds receives the lower bounds of the intersection
+	 * @param upperBounds receives the upper bounds of the intersection
+	 * @return <code>false</code> if the intersection is empty, in which case the buffers may be partially written.
+	 */
+	public boolean intersect(int index, ContinuousHypothesisStore other, int otherIndex, double[] lowerBounds, double[] upperBounds) {
+		int o1 = index * dimensions, o2 = otherIndex * dimensions;
+		for (int d = 0; d < dimensions; d++) {
+			double lower = Math.max(this.lowerBounds[o1 + d], other.lowerBounds[o2 + d]);
+			double upper = Math.min(this.upperBounds[o1 + d], other.upperBounds[o2 + d]);
+			if (upper < lower)
+				return false;
+			lowerBounds[d] = lower;
+			upperBounds[d] = upper;
+		}
+		return true;
+	}
+
+	/**
+	 * Writes the union of the hypothesis with index <code>index</code> and the hypothesis with index <code>otherIndex</code> of
+	 * <code>other</code> into the given buffers.
+	 *
+	 * @param index the index of a hypothesis of this store
+	 * @param other another store with the same number of dimensions
+	 * @param otherIndex the index of a hypothesis of <code>other</code>
+	 * @param lowerBounds receives the lower bounds of the union
+	 * @param upperBounds receives the upper bounds of the union
+	 */
+	public void unite(int index, ContinuousHypothesisStore other, int otherIndex, double[] lowerBounds, double[] upperBounds) {
+		int o1 = index * dimensions, o2 = otherIndex * dimensions;
+		for (int d = 0; d < dimensions; d++) {
+			lowerBounds[d] = Math.min(this.lowerBounds[o1 + d], other.lowerBounds[o2 + d]);
+			upperBounds[d] = Math.max(this.upperBounds[o1 + d], other.upperBounds[o2 + d]);
+		}
+	}
+
+
+	/**
+	 * Returns the flat lower bound array. The array must not be modified.
+	 */
+	double[] exposeLowerBounds() {
+		return lowerBounds;
+	}
+	
+	/**
+	 * Returns the flat upper bound array. The array must not be modified.
+	 */
+	double[] exposeUpperBounds() {
+		return upperBounds;
+	}
+	
+	private boolean equals(int index, double[] lower, double[] upper) {
+		int offset = index * dimensions;
+		for (int d = 0; d < dimensions; d++) {
+			// == treats 0.0 and -0.0 as equal
+			if (lowerBounds[offset + d] != lower[d] || upperBounds[offset + d] != upper[d])
+				return false;
+		}
+		return true;
+	}
+
+	private int hash(double[] lower, double[] upper, int offset) {
+		int hash = 1;
+		for (int d = offset; d < offset + dimensions; d++) {
+			long bits = Double.doubleToLongBits(lower[d] + 0.0) * 31 + Double.doubleToLongBits(upper[d] + 0.0);
+			hash = 31 * hash + (int) (bits ^ (bits >>> 32));
+		}
+		// spread the bits since the table size is a power of two
+		return hash ^ (hash >>> 16);
+	}
+
+	private void insert(int index, int hash) {
+		int mask = table.length - 1;
+		int slot = hash & mask;
+		while (table[slot] != 0)
+			slot = (slot + 1) & mask;
+		table[slot] = index + 1;
+	}
+
+	private void grow() {
+		int capacity = 2 * (lowerBounds.length / dimensions);
+		double[] lower = new double[capacity * dimensions], upper = new double[capacity * dimensions];
+		System.arraycopy(lowerBounds, 0, lower, 0, size * dimensions);
+		System.arraycopy(upperBounds, 0, upper, 0, size * dimensions);
+		lowerBounds = lower;
+		upperBounds = upper;
+		table = new int[tableSize(capacity)];
+		for (int i = 0; i < size; i++)
+			insert(i, hash(lowerBounds, upperBounds, i * dimensions));
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("index " + index + " out of range");
+	}
+
+	private static int tableSize(int capacity) {
+		// keep the load factor at most 0.5
+		int tableSize = 2;
+		while (tableSize < 2 * capacity)
+			tableSize <<= 1;
+		return tableSize;
+	}
+
+}
@@ -0,0 +1,225 @@
+/**
+ * Oct 18, 2026
+ */
+package hypothesis;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+
+/**
+ * A static R-tree over the hypotheses of a <code>ContinuousHypothesisStore</code> for finding all hypotheses that overlap a query box.
+ * <p>
+ * The tree is bulk loaded by sort-tile-recursive (STR) packing: the hypotheses are sorted by their centers along the first dimension, cut into
+ * slabs, each slab is sorted along the next dimension and so on, until runs of <code>NODE_CAPACITY</code> hypotheses form the leaves. Inner nodes
+ * group consecutive nodes of the level below. Node bounds are kept in flat arrays like the bounds of the store.
+ * <p>
+ * The tree refers to the store it was built from and must be rebuilt if hypotheses are added to the store. Empty hypotheses are not indexed,
+ * since they do not overlap anything.
+ *
+ */
+public class ContinuousHypothesisTree {
+
+	/**
+	 * The maximal number of children of a node.
+	 */
+	public static final int NODE_CAPACITY = 16;
+
+	private static final int[] NO_HITS = new int[0];
+
+	private final ContinuousHypothesisStore store;
+
+	private final int dimensions;
+
+	// store indices of the indexed hypotheses in leaf order
+	private final int[] entries;
+
+	// number of leaf nodes; nodes are stored level by level, so the root is the last node
+	private final int leafCount;
+
+	private final int nodeCount;
+
+	private final int height;
+
+	// children of a leaf are positions in entries, children of an inner node are nodes
+	private final int[] childStart, childEnd;
+
+	private final double[] nodeLowerBounds, nodeUpperBounds;
+
+
+	/**
+	 * Builds a tree over all non-empty hypotheses of <code>store</code>.
+	 *
+	 * @param store the store containing the indexed hypotheses
+	 */
+	public ContinuousHypothesisTree(ContinuousHypothesisStore store) {
+		this.store = store;
+		this.dimensions = store.getDimensions();
+		Integer[] order = new Integer[store.size()];
+		int n = 0;
+		for (int i = 0; i < store.size(); i++) {
+			if (!store.isEmpty(i))
+				order[n++] = i;
+		}
+		pack(order, 0, n, 0);
+		entries = new int[n];
+		for (int i = 0; i < n; i++)
+			entries[i] = order[i];
+
+		// count the nodes of all levels
+		int levelSize = (n + NODE_CAPACITY - 1) / NODE_CAPACITY;
+		leafCount = levelSize;
+		int nodes = levelSize, levels = n > 0 ? 1 : 0;
+		while (levelSize > 1) {
+			levelSize = (levelSize + NODE_CAPACITY - 1) / NODE_CAPACITY;
+			nodes += levelSize;
+			levels++;
+		}
+		nodeCount = nodes;
+		height = levels;
+		childStart = new int[nodes];
+		childEnd = new int[nodes];
+		nodeLowerBounds = new double[nodes * dimensions];
+		nodeUpperBounds = new double[nodes * dimensions];
+
+		double[] lower = store.exposeLowerBounds(), upper = store.exposeUpperBounds();
+		for (int node = 0; node < leafCount; node++) {
+			childStart[node] = node * NODE_CAPACITY;
+			childEnd[node] = Math.min(n, (node + 1) * NODE_CAPACITY);
+			for (int c = childStart[node]; c < childEnd[node]; c++)
+				extend(node, lower, upper, entries[c] * dimensions, c == node * NODE_CAPACITY);
+		}
+		// inner levels group consecutive nodes of the level below
+		int levelStart = 0, levelEnd = leafCount, node = leafCount;
+		while (levelEnd - levelStart > 1) {
+			for (int first = levelStart; first < levelEnd; first += NODE_CAPACITY, node++) {
+				childStart[node] = first;
+				childEnd[node] = Math.min(levelEnd, first + NODE_CAPACITY);
+				for (int c = first; c < childEnd[node]; c++)
+					extend(node, nodeLowerBounds, nodeUpperBounds, c * dimensions, c == first);
+			}
+			levelStart = levelEnd;
+			levelEnd = node;
+		}
+	}
+
+
+	/**
+	 * Returns the store this tree was built from.
+	 *
+	 * @return The store.
+	 */
+	public ContinuousHypothesisStore getStore() {
+		return store;
+	}
+
+	/**
+	 * Returns the store indices of all hypotheses that overlap <code>hypothesis</code>.
+	 *
+	 * @param hypothesis a query hypothesis with the same number of dimensions as the store
+	 * @return The indices of the overlapping hypotheses in ascending order.
+	 */
+	public int[] getIntersecting(ContinuousHypothesis hypothesis) {
+		if (hypothesis.getDimensions() != dimensions)
+			throw new IllegalArgumentException("dimensions must be equal");
+		return getIntersecting(hypothesis.exposeLowerBounds(), hypothesis.exposeUpperBounds(), 0);
+	}
+
+	/**
+	 * Returns the store indices of all hypotheses that overlap the hypothesis with index <code>index</code> of <code>queries</code>.
+	 *
+	 * @param queries a store with the same number of dimensions as the indexed store
+	 * @param index the index of the query hypothesis in <code>queries</code>
+	 * @return The indices of the overlapping hypotheses in ascending order.
+	 */
+	public int[] getIntersecting(ContinuousHypothesisStore queries, int index) {
+		if (queries.getDimensions() != dimensions)
+			throw new IllegalArgumentException("dimensions must be equal");
+		return getIntersecting(queries.exposeLowerBounds(), queries.exposeUpperBounds(), index * dimensions);
+	}
+
+
+	private int[] getIntersecting(double[] queryLower, double[] queryUpper, int offset) {
+		if (entries.length == 0)
+			return NO_HITS;
+		int[] hits = new int[8];
+		int hitCount = 0;
+		int[] stack = new int[height * NODE_CAPACITY + 1];
+		int top = 0;
+		stack[top++] = nodeCount - 1;
+		double[] lower = store.exposeLowerBounds(), upper = store.exposeUpperBounds();
+		while (top > 0) {
+			int node = stack[--top];
+			if (!overlaps(nodeLowerBounds, nodeUpperBounds, node * dimensions, queryLower, queryUpper, offset))
+				continue;
+			if (node < leafCount) {
+				for (int c = childStart[node]; c < childEnd[node]; c++) {
+					int entry = entries[c];
+					if (overlaps(lower, upper, entry * dimensions, queryLower, queryUpper, offset)) {
+						if (hitCount == hits.length)
+							hits = Arrays.copyOf(hits, hitCount << 1);
+						hits[hitCount++] = entry;
+					}
+				}
+			}
+			else {
+				for (int c = childStart[node]; c < childEnd[node]; c++)
+					stack[top++] = c;
+			}
+		}
+		// ascending indices let callers visit hits in the same order as a scan of the store
+		Arrays.sort(hits, 0, hitCount);
+		return Arrays.copyOf(hits, hitCount);
+	}
+
+	private boolean overlaps(double[] lower, double[] upper, int o1, double[] queryLower, double[] queryUpper, int o2) {
+		for (int d = 0; d < dimensions; d++) {
+			if (Math.min(upper[o1 + d], queryUpper[o2 + d]) < Math.max(lower[o1 + d], queryLower[o2 + d]))
+				return false;
+		}
+		return true;
+	}
+
+	private void extend(int node, double[] lower, double[] upper, int offset, boolean first) {
+		int o = node * dimensions;
+		for (int d = 0; d < dimensions; d++) {
+			if (first) {
+				nodeLowerBounds[o + d] = lower[offset + d];
+				nodeUpperBounds[o + d] = upper[offset + d];
+			}
+			else {
+				nodeLowerBounds[o + d] = Math.min(nodeLowerBounds[o + d], lower[offset + d]);
+				nodeUpperBounds[o + d] = Math.max(nodeUpperBounds[o + d], upper[offset + d]);
+			}
+		}
+	}
+
+	/**
+	 * Sorts <code>order[from:to]</code> into STR leaf order, starting with dimension <code>dim</code>.
+	 */
+	private void pack(Integer[] order, int from, int to, final int dim) {
+		int n = to - from;
+		if (n <= NODE_CAPACITY)
+			return;
+		Arrays.sort(order, from, to, new Comparator<Integer>() {
+
+			@Override
+			public int compare(Integer o1, Integer o2) {
+				return Double.compare(center(o1, dim), center(o2, dim));
+			}
+
+		});
+		if (dim == dimensions - 1)
+			return;
+		int pages = (n + NODE_CAPACITY - 1) / NODE_CAPACITY;
+		int slabs = (int) Math.ceil(Math.pow(pages, 1.0 / (dimensions - dim)));
+		int slabSize = NODE_CAPACITY * ((pages + slabs - 1) / slabs);
+		for (int start = from; start < to; start += slabSize)
+			pack(order, start, Math.min(to, start + slabSize), dim + 1);
+	}
+
+	private double center(int index, int dim) {
+		return 0.5 * (store.getLowerBound(index, dim) + store.getUpperBound(index, dim));
+	}
+
+}
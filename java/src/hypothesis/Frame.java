@@ -0,0 +1,206 @@
+/**
+ * Oct 18, 2026
+ */
+package hypothesis;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Represents a shared frame of discernment that assigns each singleton a stable index.
+ * <p>
+ * Indices are dense and assigned in the order in which singletons are interned, starting with 0.
+ * Once assigned, the index of a singleton never changes, so hypotheses and mass functions built against
+ * the same frame can perform set algebra, comparison and hashing on these indices alone.
+ * Frames may grow after hypotheses have been created; interning is thread-safe.
+ *
+ */
+public class Frame<S extends Comparable<S>> implements Iterable<S> {
+
+	private final ConcurrentHashMap<S, Integer> indices = new ConcurrentHashMap<S, Integer>();
+
+	private volatile Object[] singletons = new Object[16];
+
+	private volatile int size;
+
+
+	/**
+	 * Creates an empty frame.
+	 */
+	public Frame() {
+		// empty
+	}
+
+	/**
+	 * Creates a frame containing <code>singletons</code>. Indices are assigned in iteration order.
+	 *
+	 * @param singletons a collection of singletons
+	 */
+	public Frame(Collection<? extends S> singletons) {
+		for (S s : singletons)
+			intern(s);
+	}
+
+	/**
+	 * Creates a frame containing <code>singletons</code>. Indices are assigned in array order.
+	 *
+	 * @param singletons an array of singletons
+	 */
+	@SafeVarargs
+	public Frame(S... singletons) {
+		for (S s : singletons)
+			intern(s);
+	}
+
+
+	/**
+	 * Returns the index of <code>singleton</code>, assigning the next free index if the singleton is not yet part of this frame.
+	 *
+	 * @param singleton a singleton
+	 * @return The index of <code>singleton</code>.
+	 */
+	public int intern(S singleton) {
+		Integer index = indices.get(singleton);
+		if (index != null)
+			return index;
+		synchronized (this) {
+			index = indices.get(singleton);
+			if (index != null)
+				return index;
+			if (size == singletons.length)
+				singletons = Arrays.copyOf(singletons, size << 1);
+			index = size;
+			singletons[index] = singleton;
+			size = index + 1;
+			indices.put(singleton, index);
+			return index;
+		}
+	}
+
+	/**
+	 * Returns the index of <code>singleton</code>.
+	 *
+	 * @param singleton a singleton
+	 * @return The index of <code>singleton</code>. Returns -1 if <code>singleton</code> is not part of this frame.
+	 */
+	public int indexOf(Object singleton) {
+		Integer index = singleton != null ? indices.get(singleton) : null;
+		return index != null ? index : -1;
+	}
+
+	/**
+	 * Returns <code>true</code> if and only if <code>singleton</code> is part of this frame.
+	 *
+	 * @param singleton a singleton
+	 * @return <code>true</code> if and only if <code>singleton</code> has been interned.
+	 */
+	public boolean contains(Object singleton) {
+		return indexOf(singleton) >= 0;
+	}
+
+	/**
+	 * Returns the singleton with the given index.
+	 *
+	 * @param index an index in the range <code>[0, size())</code>
+	 * @return The singleton with the given index.
+	 */
+	@SuppressWarnings("unchecked")
+	public S get(int index) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("index " + index + " is not part of the frame");
+		return (S) singletons[index];
+	}
+
+	/**
+	 * Returns the number of singletons that are part of this frame.
+	 *
+	 * @return The number of singletons.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Iterable#iterator()
+	 */
+	@Override
+	public Iterator<S> iterator() {
+		return new Iterator<S>() {
+
+			private final int end = size;
+
+			private int next = 0;
+
+			@Override
+			public boolean hasNext() {
+				return next < end;
+			}
+
+			@Override
+			public S next() {
+				if (next >= end)
+					throw new NoSuchElementException();
+				return get(next++);
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException("singletons cannot be removed from a frame");
+			}
+
+		};
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder("[");
+		for (int i = 0; i < size; i++) {
+			if (i > 0)
+				s.append(", ");
+			s.append(get(i));
+		}
+		return s.append("]").toString();
+	}
+
+
+	/**
+	 * Creates a hypothesis over this frame representing the set <code>singletons</code>. Unknown singletons are interned.
+	 *
+	 * @param singletons an array of singletons
+	 * @return The created hypothesis.
+	 */
+	@SafeVarargs
+	public final BitSetHypothesis<S> createHypothesis(S... singletons) {
+		BitSetHypothesis<S> hypothesis = new BitSetHypothesis<S>(this);
+		for (S s : singletons)
+			hypothesis.add(s);
+		return hypothesis;
+	}
+
+	/**
+	 * Creates a hypothesis over this frame representing the set <code>singletons</code>. Unknown singletons are interned.
+	 *
+	 * @param singletons a collection of singletons
+	 * @return The created hypothesis.
+	 */
+	public BitSetHypothesis<S> createHypothesis(Collection<? extends S> singletons) {
+		return new BitSetHypothesis<S>(this, singletons);
+	}
+
+	/**
+	 * Creates a hypothesis containing all singletons that are currently part of this frame.
+	 *
+	 * @return The hypothesis representing the whole frame of discernment.
+	 */
+	public BitSetHypothesis<S> createFrameOfDiscernment() {
+		return new BitSetHypothesis<S>(this).complement();
+	}
+
+}
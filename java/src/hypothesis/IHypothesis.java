@@ -8,7 +8,7 @@ package hypothesis;
  * <p>
  * The interface uses self-bounding which is why implementing classes must provide parameterizations for <code>H</code>.
  * <p> 
- * Implementing classes should override <code>equals</code>.
+ * Implementing classes should override <code>equals</code> and <code>hashCode</code>.
  * 
  * @author Thomas Reineking
  *
@@ -54,6 +54,14 @@ public class JointHypothesis<A extends IHypothesis<A>, B extends IHypothesis<B>>
 		return h1.equals(j.h1) && h2.equals(j.h2);
 	}
 	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * h1.hashCode() + h2.hashCode();
+	}
+	
 	/* (non-Javadoc)
 	 * @see net.sourceforge.jds.hypothesis.IHypothesis#isEmpty()
 	 */
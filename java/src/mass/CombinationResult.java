@@ -0,0 +1,60 @@
+/**
+ * Oct 18, 2026
+ */
+package mass;
+
+/**
+ * Holds the result of combining several mass functions together with the conflicting mass that was assigned to the empty set.
+ * 
+ * @see Combinations#combineAll(java.util.Collection, boolean)
+ */
+public class CombinationResult<M extends IMassFunction<?, M>> {
+
+	private final M combination;
+	
+	private final double conflict;
+	
+	
+	public CombinationResult(M combination, double conflict) {
+		this.combination = combination;
+		this.conflict = conflict;
+	}
+	
+	
+	/**
+	 * Returns the combined mass function.
+	 * 
+	 * @return The combined mass function.
+	 */
+	public M getCombination() {
+		return combination;
+	}
+	
+	/**
+	 * Returns the mass that the unnormalized combination assigned to the empty set.
+	 * 
+	 * @return The conflicting mass in the interval [0,1] (for normalized operands).
+	 */
+	public double getConflict() {
+		return conflict;
+	}
+	
+	/**
+	 * Returns the weight of conflict, i.e., the logarithm of the normalization constant of Dempster's rule.
+	 * 
+	 * @return The weight of conflict.
+	 * @see IMassFunction#getWeightOfConflict(IMassFunction)
+	 */
+	public double getWeightOfConflict() {
+		return -Math.log(1.0 - conflict);
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return combination + " (conflict: " + conflict + ")";
+	}
+	
+}
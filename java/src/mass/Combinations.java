@@ -0,0 +1,98 @@
+/**
+ * Oct 18, 2026
+ */
+package mass;
+
+import hypothesis.IHypothesis;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+
+/**
+ * Static utility methods for combining many mass functions at once.
+ * 
+ */
+public class Combinations {
+
+	private Combinations() {
+		// static methods only
+	}
+	
+	
+	/**
+	 * Conjunctively combines all mass functions of <code>masses</code>.
+	 * <p>
+	 * Intermediate results are never normalized, and the two operands with the fewest hypotheses are always combined first,
+	 * which keeps the number of hypotheses of intermediate results small. Since the conjunctive rule is commutative and associative,
+	 * the result does not depend on this order. The conflicting mass is obtained from the difference between the product of
+	 * all input mass sums and the mass sum of the unnormalized result, i.e., no separate pass is required.
+	 * 
+	 * @param masses a non-empty collection of mass functions (is not modified)
+	 * @param normalize perform a normalization of the final result
+	 * @return The combined mass function together with the conflicting mass.
+	 */
+	public static <H extends IHypothesis<H>, M extends IMassFunction<H, M>> CombinationResult<M> combineAll(Collection<? extends M> masses, boolean normalize) {
+		if (masses.isEmpty())
+			throw new IllegalArgumentException("at least one mass function is required");
+		PriorityQueue<Operand<M>> queue = new PriorityQueue<Operand<M>>(masses.size(), new Comparator<Operand<M>>() {
+			
+			@Override
+			public int compare(Operand<M> o1, Operand<M> o2) {
+				if (o1.size != o2.size)
+					return o1.size < o2.size ? -1 : 1;
+				return o1.order < o2.order ? -1 : (o1.order > o2.order ? 1 : 0);
+			}
+			
+		});
+		double totalMass = 1.0;
+		long order = 0;
+		for (M m : masses) {
+			totalMass *= m.getMassSum();
+			queue.add(new Operand<M>(m, order++));
+		}
+		M combination;
+		if (queue.size() == 1)
+			combination = queue.poll().m.clone();
+		else {
+			while (true) {
+				M m1 = queue.poll().m;
+				M m2 = queue.poll().m;
+				combination = m1.combineConjunctive(m2, false);
+				if (queue.isEmpty())
+					break;
+				queue.add(new Operand<M>(combination, order++));
+			}
+		}
+		double conflict = totalMass - combination.getMassSum();
+		if (normalize)
+			combination.normalize();
+		return new CombinationResult<M>(combination, conflict);
+	}
+	
+	
+	private static int countHypotheses(Iterable<?> m) {
+		int count = 0;
+		for (Iterator<?> it = m.iterator(); it.hasNext(); it.next())
+			count++;
+		return count;
+	}
+	
+	private static class Operand<M extends IMassFunction<?, M>> {
+		
+		final M m;
+		
+		final int size;
+		
+		final long order;
+		
+		Operand(M m, long order) {
+			this.m = m;
+			this.size = countHypotheses(m);
+			this.order = order;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,67 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.codec;
+
+import hypothesis.ContinuousHypothesis;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+
+/**
+ * Hypothesis codec for continuous hypotheses.
+ * <p>
+ * The dictionary is the number of dimensions, which all written hypotheses must share. Hypotheses are written as their raw lower and upper bounds.
+ *
+ */
+public class ContinuousHypothesisCodec implements IHypothesisCodec<ContinuousHypothesis> {
+
+	private int dimensions;
+	
+	
+	/* (non-Javadoc)
+	 * @see mass.codec.IHypothesisCodec#writeDictionary(java.lang.Iterable, java.nio.ByteBuffer)
+	 */
+	@Override
+	public void writeDictionary(Iterable<? extends ContinuousHypothesis> hypotheses, ByteBuffer buffer) {
+		Iterator<? extends ContinuousHypothesis> it = hypotheses.iterator();
+		dimensions = it.hasNext() ? it.next().getDimensions() : 0;
+		VarInts.writeUnsignedInt(buffer, dimensions);
+	}
+	
+	/* (non-Javadoc)
+	 * @see mass.codec.IHypothesisCodec#write(hypothesis.IHypothesis, java.nio.ByteBuffer)
+	 */
+	@Override
+	public void write(ContinuousHypothesis hypothesis, ByteBuffer buffer) {
+		if (hypothesis.getDimensions() != dimensions)
+			throw new IllegalArgumentException("hypothesis has " + hypothesis.getDimensions() + " dimensions instead of " + dimensions);
+		for (int d = 0; d < dimensions; d++) {
+			buffer.putDouble(hypothesis.getLowerBound(d));
+			buffer.putDouble(hypothesis.getUpperBound(d));
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see mass.codec.IHypothesisCodec#readDictionary(java.nio.ByteBuffer)
+	 */
+	@Override
+	public void readDictionary(ByteBuffer buffer) {
+		dimensions = VarInts.readUnsignedInt(buffer);
+	}
+	
+	/* (non-Javadoc)
+	 * @see mass.codec.IHypothesisCodec#read(java.nio.ByteBuffer)
+	 */
+	@Override
+	public ContinuousHypothesis read(ByteBuffer buffer) {
+		double[] lowerBounds = new double[dimensions];
+		double[] upperBounds = new double[dimensions];
+		for (int d = 0; d < dimensions; d++) {
+			lowerBounds[d] = buffer.getDouble();
+			upperBounds[d] = buffer.getDouble();
+		}
+		return new ContinuousHypothesis(lowerBounds, upperBounds);
+	}
+	
+}
@@ -0,0 +1,138 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.codec;
+
+import hypothesis.Hypothesis;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+
+/**
+ * Hypothesis codec for discrete hypotheses.
+ * <p>
+ * The dictionary is the frame of discernment, i.e., the sorted union of all written hypotheses. Hypotheses are written as bitmasks
+ * if the frame has at most 64 singletons and as lists of delta encoded frame indices otherwise.
+ *
+ */
+public class DiscreteHypothesisCodec<S extends Comparable<S>> implements IHypothesisCodec<Hypothesis<S>> {
+
+	/**
+	 * The maximal frame size for which hypotheses are written as bitmasks.
+	 */
+	public static final int MAX_BITMASK_FRAME_SIZE = 64;
+	
+	private final ISingletonCodec<S> singletonCodec;
+	
+	private final HashMap<S, Integer> indices = new HashMap<S, Integer>();
+	
+	private final ArrayList<S> frame = new ArrayList<S>();
+	
+	
+	public DiscreteHypothesisCodec(ISingletonCodec<S> singletonCodec) {
+		this.singletonCodec = singletonCodec;
+	}
+	
+	
+	/* (non-Javadoc)
+	 * @see mass.codec.IHypothesisCodec#writeDictionary(java.lang.Iterable, java.nio.ByteBuffer)
+	 */
+	@Override
+	public void writeDictionary(Iterable<? extends Hypothesis<S>> hypotheses, ByteBuffer buffer) {
+		// collect the distinct singletons in the reused frame and index map, then sort them
+		frame.clear();
+		indices.clear();
+		for (Hypothesis<S> h : hypotheses) {
+			for (S s : h) {
+				if (!indices.containsKey(s)) {
+					indices.put(s, frame.size());
+					frame.add(s);
+				}
+			}
+		}
+		Collections.sort(frame);
+		VarInts.writeUnsignedInt(buffer, frame.size());
+		for (int i = 0; i < frame.size(); i++) {
+			S s = frame.get(i);
+			indices.put(s, i);
+			singletonCodec.write(s, buffer);
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see mass.codec.IHypothesisCodec#write(hypothesis.IHypothesis, java.nio.ByteBuffer)
+	 */
+	@Override
+	public void write(Hypothesis<S> hypothesis, ByteBuffer buffer) {
+		if (frame.size() <= MAX_BITMASK_FRAME_SIZE) {
+			long mask = 0;
+			for (S s : hypothesis)
+				mask |= 1L << indexOf(s);
+			VarInts.writeUnsignedLong(buffer, mask);
+		}
+		else {
+			// singletons are iterated in ascending order, so the indices are ascending as well
+			VarInts.writeUnsignedInt(buffer, hypothesis.size());
+			int previous = -1;
+			for (S s : hypothesis) {
+				int index = indexOf(s);
+				VarInts.writeUnsignedInt(buffer, index - previous - 1);
+				previous = index;
+			}
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see mass.codec.IHypothesisCodec#readDictionary(java.nio.ByteBuffer)
+	 */
+	@Override
+	public void readDictionary(ByteBuffer buffer) {
+		frame.clear();
+		indices.clear();
+		int size = VarInts.readUnsignedInt(buffer);
+		frame.ensureCapacity(size);
+		for (int i = 0; i < size; i++)
+			frame.add(singletonCodec.read(buffer));
+	}
+	
+	/* (non-Javadoc)
+	 * @see mass.codec.IHypothesisCodec#read(java.nio.ByteBuffer)
+	 */
+	@Override
+	public Hypothesis<S> read(ByteBuffer buffer) {
+		Hypothesis<S> hypothesis = new Hypothesis<S>();
+		if (frame.size() <= MAX_BITMASK_FRAME_SIZE) {
+			long mask = VarInts.readUnsignedLong(buffer);
+			while (mask != 0) {
+				hypothesis.add(singleton(Long.numberOfTrailingZeros(mask)));
+				mask &= mask - 1;
+			}
+		}
+		else {
+			int size = VarInts.readUnsignedInt(buffer);
+			int index = -1;
+			for (int i = 0; i < size; i++) {
+				index += VarInts.readUnsignedInt(buffer) + 1;
+				hypothesis.add(singleton(index));
+			}
+		}
+		return hypothesis;
+	}
+	
+	
+	private int indexOf(S singleton) {
+		Integer index = indices.get(singleton);
+		if (index == null)
+			throw new IllegalArgumentException("singleton " + singleton + " is not part of the dictionary");
+		return index;
+	}
+	
+	private S singleton(int index) {
+		if (index >= frame.size())
+			throw new IllegalArgumentException("frame index " + index + " out of range");
+		return frame.get(index);
+	}
+	
+}
@@ -0,0 +1,51 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.codec;
+
+import hypothesis.IHypothesis;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Interface for reading and writing the hypotheses of a mass function.
+ * <p>
+ * Before the hypotheses of a mass function are written, the codec is given the chance to write a dictionary that is shared by all of them,
+ * e.g., the frame of discernment. Codecs keep the current dictionary as state, so an instance must not be used by several threads at once.
+ * 
+ * @see MassFunctionCodec
+ */
+public interface IHypothesisCodec<H extends IHypothesis<H>> {
+
+	/**
+	 * Writes the dictionary for <code>hypotheses</code> and prepares writing them.
+	 * 
+	 * @param hypotheses all hypotheses that are written subsequently
+	 * @param buffer the destination
+	 */
+	public void writeDictionary(Iterable<? extends H> hypotheses, ByteBuffer buffer);
+	
+	/**
+	 * Writes a hypothesis that was passed to the last call of <code>writeDictionary</code>.
+	 * 
+	 * @param hypothesis a hypothesis
+	 * @param buffer the destination
+	 */
+	public void write(H hypothesis, ByteBuffer buffer);
+	
+	/**
+	 * Reads a dictionary written by <code>writeDictionary</code> and prepares reading the subsequent hypotheses.
+	 * 
+	 * @param buffer the source
+	 */
+	public void readDictionary(ByteBuffer buffer);
+	
+	/**
+	 * Reads a hypothesis written by <code>write</code>.
+	 * 
+	 * @param buffer the source
+	 * @return The hypothesis.
+	 */
+	public H read(ByteBuffer buffer);
+	
+}
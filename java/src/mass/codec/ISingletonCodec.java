@@ -0,0 +1,31 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Interface for reading and writing the singletons of a discrete frame of discernment.
+ * 
+ * @see SingletonCodecs
+ */
+public interface ISingletonCodec<S> {
+
+	/**
+	 * Writes <code>singleton</code> to <code>buffer</code>.
+	 * 
+	 * @param singleton a singleton
+	 * @param buffer the destination
+	 */
+	public void write(S singleton, ByteBuffer buffer);
+	
+	/**
+	 * Reads a singleton written by <code>write</code>.
+	 * 
+	 * @param buffer the source
+	 * @return The singleton.
+	 */
+	public S read(ByteBuffer buffer);
+	
+}
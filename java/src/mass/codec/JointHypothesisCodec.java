@@ -0,0 +1,103 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.codec;
+
+import hypothesis.IHypothesis;
+import hypothesis.JointHypothesis;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+
+/**
+ * Hypothesis codec for joint hypotheses that delegates both components to separate codecs.
+ *
+ */
+public class JointHypothesisCodec<A extends IHypothesis<A>, B extends IHypothesis<B>> implements IHypothesisCodec<JointHypothesis<A, B>> {
+
+	private final IHypothesisCodec<A> codec1;
+	
+	private final IHypothesisCodec<B> codec2;
+	
+	
+	public JointHypothesisCodec(IHypothesisCodec<A> codec1, IHypothesisCodec<B> codec2) {
+		this.codec1 = codec1;
+		this.codec2 = codec2;
+	}
+	
+	
+	/* (non-Javadoc)
+	 * @see mass.codec.IHypothesisCodec#writeDictionary(java.lang.Iterable, java.nio.ByteBuffer)
+	 */
+	@Override
+	public void writeDictionary(final Iterable<? extends JointHypothesis<A, B>> hypotheses, ByteBuffer buffer) {
+		codec1.writeDictionary(new Iterable<A>() {
+			@Override
+			public Iterator<A> iterator() {
+				final Iterator<? extends JointHypothesis<A, B>> it = hypotheses.iterator();
+				return new Iterator<A>() {
+					@Override
+					public boolean hasNext() {
+						return it.hasNext();
+					}
+					@Override
+					public A next() {
+						return it.next().h1;
+					}
+					@Override
+					public void remove() {
+						throw new UnsupportedOperationException();
+					}
+				};
+			}
+		}, buffer);
+		codec2.writeDictionary(new Iterable<B>() {
+			@Override
+			public Iterator<B> iterator() {
+				final Iterator<? extends JointHypothesis<A, B>> it = hypotheses.iterator();
+				return new Iterator<B>() {
+					@Override
+					public boolean hasNext() {
+						return it.hasNext();
+					}
+					@Override
+					public B next() {
+						return it.next().h2;
+					}
+					@Override
+					public void remove() {
+						throw new UnsupportedOperationException();
+					}
+				};
+			}
+		}, buffer);
+	}
+	
+	/* (non-Javadoc)
+	 * @see mass.codec.IHypothesisCodec#write(hypothesis.IHypothesis, java.nio.ByteBuffer)
+	 */
+	@Override
+	public void write(JointHypothesis<A, B> hypothesis, ByteBuffer buffer) {
+		codec1.write(hypothesis.h1, buffer);
+		codec2.write(hypothesis.h2, buffer);
+	}
+	
+	/* (non-Javadoc)
+	 * @see mass.codec.IHypothesisCodec#readDictionary(java.nio.ByteBuffer)
+	 */
+	@Override
+	public void readDictionary(ByteBuffer buffer) {
+		codec1.readDictionary(buffer);
+		codec2.readDictionary(buffer);
+	}
+	
+	/* (non-Javadoc)
+	 * @see mass.codec.IHypothesisCodec#read(java.nio.ByteBuffer)
+	 */
+	@Override
+	public JointHypothesis<A, B> read(ByteBuffer buffer) {
+		A h1 = codec1.read(buffer);
+		return new JointHypothesis<A, B>(h1, codec2.read(buffer));
+	}
+	
+}
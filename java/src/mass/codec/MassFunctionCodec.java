@@ -0,0 +1,352 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.codec;
+
+import hypothesis.ContinuousHypothesis;
+import hypothesis.Hypothesis;
+import hypothesis.IHypothesis;
+import hypothesis.JointHypothesis;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+import mass.IMassFunction;
+import mass.sampled.AbstractCountedMassFunction;
+import mass.sampled.AbstractSampledMassFunction;
+import util.ObjectDoubleHashMap;
+
+/**
+ * Reads and writes mass functions in a compact, versioned binary format.
+ * <p>
+ * A record starts with the magic number <code>MAGIC</code>, the format version and the record kind. Exact mass functions are written as the
+ * dictionary of the hypothesis codec, the number of focal sets as a raw <code>int</code> and every focal set followed by its mass as a raw
+ * <code>double</code>. Sampled and counted mass functions are written as the sample count, the dictionary, the number of distinct focal sets
+ * and every focal set followed by its variable-length sample count.
+ * <p>
+ * When many mass functions over the same frame are written, e.g., in a checkpoint, <code>writeSharedDictionary</code> writes the dictionary
+ * once as a separate record. Subsequent records then omit their dictionary until <code>clearSharedDictionary</code> is called, and readers
+ * apply the last dictionary record they have read. Records of version 1 can still be read.
+ * <p>
+ * Records can be read into any mass function over the same hypothesis type, e.g., a sampled record into an exact mass function.
+ * Like hypothesis codecs, instances are not thread-safe.
+ *
+ */
+public class MassFunctionCodec<H extends IHypothesis<H>> {
+
+	/**
+	 * The magic number at the start of every record ("DSMF").
+	 */
+	public static final int MAGIC = 0x44534D46;
+
+	/**
+	 * The current format version.
+	 */
+	public static final byte VERSION = 2;
+
+	private static final byte KIND_EXACT = 1;
+
+	private static final byte KIND_SAMPLED = 2;
+
+	private static final byte KIND_DICTIONARY = 3;
+
+	// flag of the record kind that marks records referring to the last dictionary record instead of containing a dictionary
+	private static final byte SHARED_DICTIONARY = 0x10;
+
+	private static final int INITIAL_CHANNEL_BUFFER_SIZE = 4096;
+
+	private final IHypothesisCodec<H> hypothesisCodec;
+
+	private ByteBuffer channelBuffer = ByteBuffer.allocate(INITIAL_CHANNEL_BUFFER_SIZE);
+
+	// distinct hypotheses of a sampled mass function being written, reused across records
+	private final ObjectDoubleHashMap<H> sampleCounts = new ObjectDoubleHashMap<H>();
+
+	private boolean sharedDictionary;
+
+
+	public MassFunctionCodec(IHypothesisCodec<H> hypothesisCodec) {
+		this.hypothesisCodec = hypothesisCodec;
+	}
+
+
+	/**
+	 * Creates a codec for discrete mass functions, e.g., <code>MassFunction</code> or <code>SampledMassFunction</code>.
+	 *
+	 * @param singletonCodec the codec for the singletons of the frame
+	 * @return The codec.
+	 */
+	public static <S extends Comparable<S>> MassFunctionCodec<Hypothesis<S>> forDiscrete(ISingletonCodec<S> singletonCodec) {
+		return new MassFunctionCodec<Hypothesis<S>>(new DiscreteHypothesisCodec<S>(singletonCodec));
+	}
+
+	/**
+	 * Creates a codec for continuous mass functions, e.g., <code>ContinuousMassFunction</code> or <code>ContinuousSampledMassFunction</code>.
+	 *
+	 * @return The codec.
+	 */
+	public static MassFunctionCodec<ContinuousHypothesis> forContinuous() {
+		return new MassFunctionCodec<ContinuousHypothesis>(new ContinuousHypothesisCodec());
+	}
+
+	/**
+	 * Creates a codec for joint mass functions, e.g., <code>JointMassFunction</code> or <code>JointSampledMassFunction</code>.
+	 *
+	 * @param codec1 the codec for the left hypotheses
+	 * @param codec2 the codec for the right hypotheses
+	 * @return The codec.
+	 */
+	public static <A extends IHypothesis<A>, B extends IHypothesis<B>> MassFunctionCodec<JointHypothesis<A, B>> forJoint(IHypothesisCodec<A> codec1, IHypothesisCodec<B> codec2) {
+		return new MassFunctionCodec<JointHypothesis<A, B>>(new JointHypothesisCodec<A, B>(codec1, codec2));
+	}
+
+
+	/**
+	 * Writes a dictionary record for <code>hypotheses</code>, e.g., a singleton collection of the frame of discernment. Subsequent records
+	 * written by this codec refer to this dictionary instead of writing their own, so a stream of many mass functions over the same frame
+	 * encodes the frame only once. All hypotheses written afterwards must be covered by the dictionary.
+	 *
+	 * @param hypotheses all hypotheses that are written subsequently
+	 * @param buffer the destination
+	 * @throws BufferOverflowException if the record does not fit into <code>buffer</code>
+	 * @see #clearSharedDictionary()
+	 */
+	public void writeSharedDictionary(Iterable<? extends H> hypotheses, ByteBuffer buffer) {
+		buffer.putInt(MAGIC);
+		buffer.put(VERSION);
+		buffer.put(KIND_DICTIONARY);
+		hypothesisCodec.writeDictionary(hypotheses, buffer);
+		sharedDictionary = true;
+	}
+
+	/**
+	 * Writes a dictionary record for <code>hypotheses</code> to <code>channel</code>, preceded by its length.
+	 *
+	 * @param hypotheses all hypotheses that are written subsequently
+	 * @param channel the destination
+	 * @throws IOException if writing to <code>channel</code> fails
+	 * @see #writeSharedDictionary(Iterable, ByteBuffer)
+	 */
+	public void writeSharedDictionary(Iterable<? extends H> hypotheses, WritableByteChannel channel) throws IOException {
+		write(null, hypotheses, channel);
+	}
+
+	/**
+	 * Makes subsequent records written by this codec contain their own dictionary again.
+	 */
+	public void clearSharedDictionary() {
+		sharedDictionary = false;
+	}
+
+	/**
+	 * Writes <code>m</code> at the current position of <code>buffer</code>.
+	 *
+	 * @param m a mass function
+	 * @param buffer the destination
+	 * @throws BufferOverflowException if the record does not fit into <code>buffer</code>
+	 */
+	public void write(IMassFunction<H, ?> m, ByteBuffer buffer) {
+		buffer.putInt(MAGIC);
+		buffer.put(VERSION);
+		byte shared = sharedDictionary ? SHARED_DICTIONARY : 0;
+		if (m instanceof AbstractSampledMassFunction) {
+			AbstractSampledMassFunction<H, ?> sampled = (AbstractSampledMassFunction<H, ?>) m;
+			buffer.put((byte) (KIND_SAMPLED | shared));
+			VarInts.writeUnsignedInt(buffer, sampled.getSampleCount());
+			sampleCounts.clear();
+			sampled.addSampleCounts(sampleCounts);
+			if (!sharedDictionary)
+				hypothesisCodec.writeDictionary(sampleCounts, buffer);
+			VarInts.writeUnsignedInt(buffer, sampleCounts.size());
+			for (int i = 0; i < sampleCounts.capacity(); i++) {
+				if (sampleCounts.isUsed(i)) {
+					hypothesisCodec.write(sampleCounts.keyAt(i), buffer);
+					VarInts.writeUnsignedInt(buffer, (int) sampleCounts.valueAt(i));
+				}
+			}
+		}
+		else if (m instanceof AbstractCountedMassFunction) {
+			AbstractCountedMassFunction<H, ?> counted = (AbstractCountedMassFunction<H, ?>) m;
+			buffer.put((byte) (KIND_SAMPLED | shared));
+			VarInts.writeUnsignedInt(buffer, counted.getSampleCount());
+			if (!sharedDictionary)
+				hypothesisCodec.writeDictionary(counted, buffer);
+			VarInts.writeUnsignedInt(buffer, counted.getDistinctCount());
+			for (H h : counted) {
+				hypothesisCodec.write(h, buffer);
+				VarInts.writeUnsignedInt(buffer, counted.getCount(h));
+			}
+		}
+		else {
+			buffer.put((byte) (KIND_EXACT | shared));
+			if (!sharedDictionary)
+				hypothesisCodec.writeDictionary(m, buffer);
+			// the focal set count is written in a fixed width and filled in afterwards, so the focal sets are iterated once
+			int sizePosition = buffer.position();
+			buffer.putInt(0);
+			int size = 0;
+			for (H h : m) {
+				hypothesisCodec.write(h, buffer);
+				buffer.putDouble(m.getMass(h));
+				size++;
+			}
+			buffer.putInt(sizePosition, size);
+		}
+	}
+
+	/**
+	 * Reads a record from the current position of <code>buffer</code> into <code>dest</code>, replacing its previous focal sets.
+	 * Sampled records are added as samples if <code>dest</code> is sampled or counted and as masses relative to the written sample count otherwise.
+	 * Dictionary records are read as well and used by the subsequent records that refer to them.
+	 *
+	 * @param buffer the source
+	 * @param dest the mass function receiving the focal sets
+	 * @throws IllegalArgumentException if the buffer does not contain a record of a supported version or a record refers to a missing dictionary
+	 */
+	public void read(ByteBuffer buffer, IMassFunction<H, ?> dest) {
+		while (!readRecord(buffer, dest));
+	}
+
+	/**
+	 * Writes <code>m</code> to <code>channel</code> as a record preceded by its length.
+	 *
+	 * @param m a mass function
+	 * @param channel the destination
+	 * @throws IOException if writing to <code>channel</code> fails
+	 */
+	public void write(IMassFunction<H, ?> m, WritableByteChannel channel) throws IOException {
+		write(m, null, channel);
+	}
+
+	/**
+	 * Reads the next record written by <code>write(IMassFunction, WritableByteChannel)</code> from <code>channel</code> into <code>dest</code>.
+	 * Dictionary records written by <code>writeSharedDictionary(Iterable, WritableByteChannel)</code> are read as well.
+	 *
+	 * @param channel the source
+	 * @param dest the mass function receiving the focal sets
+	 * @return <code>false</code> if the channel was already at its end, <code>true</code> otherwise.
+	 * @throws IOException if reading from <code>channel</code> fails or ends within a record
+	 */
+	public boolean read(ReadableByteChannel channel, IMassFunction<H, ?> dest) throws IOException {
+		boolean read = false;
+		while (!read) {
+			channelBuffer.clear();
+			channelBuffer.limit(4);
+			if (!readFully(channel, channelBuffer, true))
+				return false;
+			int length = channelBuffer.getInt(0);
+			if (length < 0)
+				throw new IOException("invalid record length " + length);
+			if (length > channelBuffer.capacity())
+				channelBuffer = ByteBuffer.allocate(Math.max(length, channelBuffer.capacity() * 2));
+			channelBuffer.clear();
+			channelBuffer.limit(length);
+			readFully(channel, channelBuffer, false);
+			channelBuffer.flip();
+			read = readRecord(channelBuffer, dest);
+			if (channelBuffer.hasRemaining())
+				throw new IOException("record has " + channelBuffer.remaining() + " trailing bytes");
+		}
+		return true;
+	}
+
+
+	/**
+	 * Reads a single record.
+	 *
+	 * @return <code>true</code> if a mass function was read into <code>dest</code>, <code>false</code> if a dictionary record was read.
+	 */
+	private boolean readRecord(ByteBuffer buffer, IMassFunction<H, ?> dest) {
+		if (buffer.getInt() != MAGIC)
+			throw new IllegalArgumentException("not a mass function record");
+		byte version = buffer.get();
+		if (version != 1 && version != VERSION)
+			throw new IllegalArgumentException("unsupported format version " + version);
+		byte kind = buffer.get();
+		if (kind == KIND_DICTIONARY && version == VERSION) {
+			hypothesisCodec.readDictionary(buffer);
+			sharedDictionary = true;
+			return false;
+		}
+		if ((kind & SHARED_DICTIONARY) != 0 && version == VERSION) {
+			if (!sharedDictionary)
+				throw new IllegalArgumentException("record refers to a shared dictionary that has not been read");
+			kind &= ~SHARED_DICTIONARY;
+		}
+		else if (kind == KIND_EXACT || kind == KIND_SAMPLED)
+			sharedDictionary = false;
+		dest.clear();
+		if (kind == KIND_EXACT) {
+			if (!sharedDictionary)
+				hypothesisCodec.readDictionary(buffer);
+			// version 1 wrote the focal set count as a variable-length integer
+			int size = version == 1 ? VarInts.readUnsignedInt(buffer) : buffer.getInt();
+			for (int i = 0; i < size; i++) {
+				H h = hypothesisCodec.read(buffer);
+				dest.add(h, buffer.getDouble());
+			}
+		}
+		else if (kind == KIND_SAMPLED) {
+			int sampleCount = VarInts.readUnsignedInt(buffer);
+			if (!sharedDictionary)
+				hypothesisCodec.readDictionary(buffer);
+			int size = VarInts.readUnsignedInt(buffer);
+			for (int i = 0; i < size; i++) {
+				H h = hypothesisCodec.read(buffer);
+				int count = VarInts.readUnsignedInt(buffer);
+				if (dest instanceof AbstractSampledMassFunction) {
+					AbstractSampledMassFunction<H, ?> sampled = (AbstractSampledMassFunction<H, ?>) dest;
+					for (int j = 0; j < count; j++)
+						sampled.add(h);
+				}
+				else if (dest instanceof AbstractCountedMassFunction)
+					((AbstractCountedMassFunction<H, ?>) dest).addSamples(h, count);
+				else
+					dest.add(h, ((double) count) / sampleCount);
+			}
+		}
+		else
+			throw new IllegalArgumentException("unknown record kind " + kind);
+		return true;
+	}
+
+	/**
+	 * Writes either <code>m</code> or, if it is <code>null</code>, a dictionary record for <code>dictionary</code> preceded by its length.
+	 */
+	private void write(IMassFunction<H, ?> m, Iterable<? extends H> dictionary, WritableByteChannel channel) throws IOException {
+		while (true) {
+			channelBuffer.clear();
+			channelBuffer.position(4);
+			try {
+				if (m != null)
+					write(m, channelBuffer);
+				else
+					writeSharedDictionary(dictionary, channelBuffer);
+				break;
+			}
+			catch (BufferOverflowException e) {
+				channelBuffer = ByteBuffer.allocate(channelBuffer.capacity() * 2);
+			}
+		}
+		channelBuffer.flip();
+		channelBuffer.putInt(0, channelBuffer.limit() - 4);
+		while (channelBuffer.hasRemaining())
+			channel.write(channelBuffer);
+	}
+
+	private static boolean readFully(ReadableByteChannel channel, ByteBuffer buffer, boolean endAllowed) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer) < 0) {
+				if (endAllowed && buffer.position() == 0)
+					return false;
+				throw new EOFException("channel ended within a record");
+			}
+		}
+		return true;
+	}
+
+}
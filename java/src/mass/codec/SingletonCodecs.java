@@ -0,0 +1,77 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * Provides singleton codecs for common singleton types.
+ *
+ */
+public final class SingletonCodecs {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+	
+	/**
+	 * Writes <code>Integer</code> singletons as zigzag encoded variable-length integers.
+	 */
+	public static final ISingletonCodec<Integer> INTEGER = new ISingletonCodec<Integer>() {
+		
+		@Override
+		public void write(Integer singleton, ByteBuffer buffer) {
+			VarInts.writeSignedLong(buffer, singleton);
+		}
+		
+		@Override
+		public Integer read(ByteBuffer buffer) {
+			return (int) VarInts.readSignedLong(buffer);
+		}
+		
+	};
+	
+	/**
+	 * Writes <code>Long</code> singletons as zigzag encoded variable-length integers.
+	 */
+	public static final ISingletonCodec<Long> LONG = new ISingletonCodec<Long>() {
+		
+		@Override
+		public void write(Long singleton, ByteBuffer buffer) {
+			VarInts.writeSignedLong(buffer, singleton);
+		}
+		
+		@Override
+		public Long read(ByteBuffer buffer) {
+			return VarInts.readSignedLong(buffer);
+		}
+		
+	};
+	
+	/**
+	 * Writes <code>String</code> singletons as UTF-8 bytes preceded by their length.
+	 */
+	public static final ISingletonCodec<String> STRING = new ISingletonCodec<String>() {
+		
+		@Override
+		public void write(String singleton, ByteBuffer buffer) {
+			byte[] bytes = singleton.getBytes(UTF8);
+			VarInts.writeUnsignedInt(buffer, bytes.length);
+			buffer.put(bytes);
+		}
+		
+		@Override
+		public String read(ByteBuffer buffer) {
+			byte[] bytes = new byte[VarInts.readUnsignedInt(buffer)];
+			buffer.get(bytes);
+			return new String(bytes, UTF8);
+		}
+		
+	};
+	
+	
+	private SingletonCodecs() {
+		// constants only
+	}
+	
+}
@@ -0,0 +1,97 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads and writes variable-length integers with 7 bits per byte (least significant group first).
+ * Signed values are zigzag encoded so that small negative numbers remain short.
+ *
+ */
+public final class VarInts {
+
+	private VarInts() {
+		// static methods only
+	}
+	
+	
+	/**
+	 * Writes a non-negative <code>int</code> using 1 to 5 bytes.
+	 * 
+	 * @param buffer the destination
+	 * @param value a non-negative value
+	 */
+	public static void writeUnsignedInt(ByteBuffer buffer, int value) {
+		if (value < 0)
+			throw new IllegalArgumentException("value must not be negative");
+		writeUnsignedLong(buffer, value);
+	}
+	
+	/**
+	 * Reads a value written by <code>writeUnsignedInt</code>.
+	 * 
+	 * @param buffer the source
+	 * @return The value.
+	 */
+	public static int readUnsignedInt(ByteBuffer buffer) {
+		long value = readUnsignedLong(buffer);
+		if (value < 0 || value > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("malformed variable-length int");
+		return (int) value;
+	}
+	
+	/**
+	 * Writes a <code>long</code> interpreted as unsigned using 1 to 10 bytes.
+	 * 
+	 * @param buffer the destination
+	 * @param value a value
+	 */
+	public static void writeUnsignedLong(ByteBuffer buffer, long value) {
+		while ((value & ~0x7FL) != 0) {
+			buffer.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte) value);
+	}
+	
+	/**
+	 * Reads a value written by <code>writeUnsignedLong</code>.
+	 * 
+	 * @param buffer the source
+	 * @return The value.
+	 */
+	public static long readUnsignedLong(ByteBuffer buffer) {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = buffer.get();
+			value |= (long) (b & 0x7F) << shift;
+			if (b >= 0)
+				return value;
+		}
+		throw new IllegalArgumentException("malformed variable-length long");
+	}
+	
+	/**
+	 * Writes a signed <code>long</code> using zigzag encoding.
+	 * 
+	 * @param buffer the destination
+	 * @param value a value
+	 */
+	public static void writeSignedLong(ByteBuffer buffer, long value) {
+		writeUnsignedLong(buffer, (value << 1) ^ (value >> 63));
+	}
+	
+	/**
+	 * Reads a value written by <code>writeSignedLong</code>.
+	 * 
+	 * @param buffer the source
+	 * @return The value.
+	 */
+	public static long readSignedLong(ByteBuffer buffer) {
+		long value = readUnsignedLong(buffer);
+		return (value >>> 1) ^ -(value & 1);
+	}
+	
+}
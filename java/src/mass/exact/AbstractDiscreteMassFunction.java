@@ -5,12 +5,14 @@ package mass.exact;
 
 import hypothesis.IDiscreteHypothesis;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
-import java.util.Map;
+import java.util.List;
 
 import mass.IDiscreteMassFunction;
+import util.SetTrie;
 
 
 /**
@@ -19,6 +21,18 @@ import mass.IDiscreteMassFunction;
  */
 public abstract class AbstractDiscreteMassFunction<S extends Comparable<S>, H extends IDiscreteHypothesis<S, H>, M extends AbstractDiscreteMassFunction<S, H, M>> extends AbstractMassFunction<H, M> implements IDiscreteMassFunction<S, H, M> {
 
+	/**
+	 * The minimum number of hypotheses for which belief and commonality queries use the focal index.
+	 */
+	public static final int FOCAL_INDEX_THRESHOLD = 32;
+	
+	private SetTrie<S> focalIndex;
+	
+	private List<H> indexedHypotheses;
+	
+	private double[] indexedMasses;
+	
+	
 	protected abstract H createHypothesis(Collection<S> singletons);
 	
 	
@@ -31,14 +45,81 @@ public abstract class AbstractDiscreteMassFunction<S extends Comparable<S>, H ex
 	}
 	
 	
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractMassFunction#invalidateCaches()
+	 */
+	@Override
+	protected void invalidateCaches() {
+		super.invalidateCaches();
+		focalIndex = null;
+		indexedHypotheses = null;
+		indexedMasses = null;
+	}
+	
+	/**
+	 * Returns all hypotheses of this mass function that are subsets of (or equal to) <code>hypothesis</code>.
+	 * <p>
+	 * The query uses an index over the singletons of all hypotheses, which is built on first use and discarded whenever this mass function is changed.
+	 * 
+	 * @param hypothesis a hypothesis
+	 * @return The contained subsets in no particular order.
+	 */
+	public List<H> getFocalSubsets(H hypothesis) {
+		return getFocalHypotheses(getFocalIndex().getSubsets(hypothesis));
+	}
+	
+	/**
+	 * Returns all hypotheses of this mass function that are supersets of (or equal to) <code>hypothesis</code>.
+	 * 
+	 * @param hypothesis a hypothesis
+	 * @return The contained supersets in no particular order.
+	 * @see #getFocalSubsets(IDiscreteHypothesis)
+	 */
+	public List<H> getFocalSupersets(H hypothesis) {
+		return getFocalHypotheses(getFocalIndex().getSupersets(hypothesis));
+	}
+	
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractMassFunction#getBelief(hypothesis.IHypothesis)
+	 */
+	@Override
+	public double getBelief(H hypothesis) {
+		if (!isFocalIndexFaster())
+			return super.getBelief(hypothesis);
+		return sumIndexedMasses(getFocalIndex().getSubsets(hypothesis));
+	}
+	
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractMassFunction#getCommonality(hypothesis.IHypothesis)
+	 */
+	@Override
+	public double getCommonality(H hypothesis) {
+		if (!isFocalIndexFaster())
+			return super.getCommonality(hypothesis);
+		return sumIndexedMasses(getFocalIndex().getSupersets(hypothesis));
+	}
+	
+	/**
+	 * Decides whether belief and commonality queries use the focal index instead of a scan over all hypotheses.
+	 * 
+	 * @return <code>true</code> if this mass function contains at least <code>FOCAL_INDEX_THRESHOLD</code> hypotheses.
+	 */
+	protected boolean isFocalIndexFaster() {
+		return entries.size() >= FOCAL_INDEX_THRESHOLD;
+	}
+	
+	
 	@Override
 	public M getPignisticTransformation() {
-		M pignistic = clone();
-		pignistic.clear();
-		for (Map.Entry<H, Double> entry : toMap().entrySet()) {
-			for (S s : entry.getKey()) {
-				pignistic.add(createHypothesis(Collections.singleton(s)), entry.getValue() / entry.getKey().size());
-			}
+		M pignistic = createMassFunction();
+		pignistic.setSharedHypotheses(isSharedHypotheses());
+		for (int i = 0; i < entries.capacity(); i++) {
+			if (!entries.isUsed(i))
+				continue;
+			H h = entries.keyAt(i);
+			double share = massAt(i) / h.size();
+			for (S s : h)
+				pignistic.add(createHypothesis(Collections.singleton(s)), share);
 		}
 		return pignistic;
 	}
@@ -46,25 +127,36 @@ public abstract class AbstractDiscreteMassFunction<S extends Comparable<S>, H ex
 	
 	/**
 	 * Performs a first-order Markov update where this mass function expresses the belief about the current state and the model describes the state transition belief.
+	 * <p>
+	 * The model is asked at most once per state, and the predictions of hypotheses with common leading singletons share their partial
+	 * disjunctive combinations. Predictions returned by the model must not be modified afterwards.
 	 * 
 	 * @param model the model describing the state transition belief
 	 * @return The updated distribution.
 	 */
 	public M dynamicUpdate(ITransitionModel<S, H, M> model) {
-		M posterior = createMassFunction();
-		for (H h : this) {
-			M predicted = null;
-			for (S s : h) {
-				if (predicted == null)
-					predicted = model.predict(s);
-				else
-					predicted = predicted.combineDisjunctive(model.predict(s));
-			}
-			double mh = getMass(h);
-			for (H hp : predicted)
-				posterior.add(hp, mh * predicted.getMass(hp));
+		return dynamicUpdate(new TransitionPredictor<S, H, M>(model));
+	}
+	
+	/**
+	 * Performs <code>dynamicUpdate(model)</code> for each of <code>masses</code>.
+	 * <p>
+	 * All updates share the predictions of the model and their combinations, so states and hypotheses common to several mass functions are
+	 * predicted only once.
+	 * 
+	 * @param masses the beliefs about the current states of several entities
+	 * @param model the model describing the state transition belief of all entities
+	 * @return The updated distributions in the order of <code>masses</code>.
+	 */
+	public static <S extends Comparable<S>, H extends IDiscreteHypothesis<S, H>, M extends AbstractDiscreteMassFunction<S, H, M>> List<M> dynamicUpdate(
+			Collection<? extends M> masses, ITransitionModel<S, H, M> model) {
+		TransitionPredictor<S, H, M> predictor = new TransitionPredictor<S, H, M>(model);
+		List<M> posteriors = new ArrayList<M>(masses.size());
+		for (M m : masses) {
+			AbstractDiscreteMassFunction<S, H, M> entity = m;
+			posteriors.add(entity.dynamicUpdate(predictor));
 		}
-		return posterior;
+		return posteriors;
 	}
 	
 	@Override
@@ -85,4 +177,45 @@ public abstract class AbstractDiscreteMassFunction<S extends Comparable<S>, H ex
 		return maxS;
 	}
 	
+	
+	private M dynamicUpdate(TransitionPredictor<S, H, M> predictor) {
+		M posterior = createMassFunction();
+		for (int i = 0; i < entries.capacity(); i++) {
+			if (!entries.isUsed(i))
+				continue;
+			M predicted = predictor.predict(entries.keyAt(i));
+			double mh = massAt(i);
+			for (H hp : predicted)
+				posterior.add(hp, mh * predicted.getMass(hp));
+		}
+		return posterior;
+	}
+	
+	private SetTrie<S> getFocalIndex() {
+		if (focalIndex == null) {
+			List<H> hypotheses = getHypothesisList();
+			indexedMasses = getMassArray();
+			SetTrie<S> index = new SetTrie<S>();
+			for (int i = 0; i < hypotheses.size(); i++)
+				index.put(hypotheses.get(i), i);
+			indexedHypotheses = hypotheses;
+			focalIndex = index;
+		}
+		return focalIndex;
+	}
+	
+	private List<H> getFocalHypotheses(int[] indices) {
+		List<H> hypotheses = new ArrayList<H>(indices.length);
+		for (int i : indices)
+			hypotheses.add(indexedHypotheses.get(i));
+		return hypotheses;
+	}
+	
+	private double sumIndexedMasses(int[] indices) {
+		double sum = 0.0;
+		for (int i : indices)
+			sum += indexedMasses[i];
+		return sum;
+	}
+	
 }
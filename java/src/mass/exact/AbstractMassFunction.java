@@ -6,30 +6,70 @@ package mass.exact;
 import hypothesis.IHypothesis;
 import hypothesis.JointHypothesis;
 
+import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
-import java.util.Map;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.Random;
 import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
 
 import mass.IMassFunction;
+import util.AliasTable;
+import util.ObjectDoubleHashMap;
 
 
 
 /**
+ * Base class for exact mass functions.
+ * <p>
+ * Hypotheses and their mass values are stored in a hash table, i.e., hypotheses are iterated in no particular order.
+ * Ordered views are only created by <code>toMap()</code> and <code>toString()</code>.
+ * 
  * @author Thomas Reineking
  *
  */
 public abstract class AbstractMassFunction<H extends IHypothesis<H>, M extends AbstractMassFunction<H, M>> implements IMassFunction<H, M> {
 
-	protected final TreeMap<H, Double> entries = new TreeMap<H, Double>();
+	/**
+	 * The number of hypothesis pairs below which parallel combinations are performed sequentially.
+	 */
+	public static final int PARALLEL_THRESHOLD = 1 << 14;
+	
+	protected final ObjectDoubleHashMap<H> entries = new ObjectDoubleHashMap<H>();
+	
+	private AliasTable aliasTable;
+	
+	private List<H> aliasHypotheses;
+	
+	private boolean sharedHypotheses;
+	
+	// the mass of a hypothesis is its stored value multiplied by this factor, so normalizing only updates the factor
+	private double scale = 1.0;
+	
+	// the sum of all stored values; only valid if massSumValid is set
+	private double storedSum;
+	
+	private boolean massSumValid;
+	
+	private double conflict;
 	
 	
 	abstract protected M createMassFunction();
 	
+	/**
+	 * Called whenever hypotheses or mass values of this mass function are changed.
+	 * Subclasses that cache values derived from the mass function must override this method to discard them.
+	 */
+	protected void invalidateCaches() {
+		aliasTable = null;
+		aliasHypotheses = null;
+	}
+	
 	
 	public AbstractMassFunction() {
 		// empty
@@ -40,12 +80,67 @@ public abstract class AbstractMassFunction<H extends IHypothesis<H>, M extends A
 	}
 	
 	
+	/**
+	 * Enables or disables sharing of hypothesis objects between this mass function and its copies.
+	 * <p>
+	 * By default, <code>clone()</code> and <code>toMap()</code> clone every hypothesis so that modifying a hypothesis of the copy does not affect
+	 * this mass function. If hypotheses are treated as immutable after they have been added, sharing them avoids one allocation per hypothesis.
+	 * In that case, <code>clone()</code> copies the underlying hash table as a whole. Clones inherit this setting.
+	 * 
+	 * @param sharedHypotheses <code>true</code> if hypotheses are never modified after they have been added to a mass function
+	 */
+	public void setSharedHypotheses(boolean sharedHypotheses) {
+		this.sharedHypotheses = sharedHypotheses;
+	}
+	
+	/**
+	 * Returns <code>true</code> if hypothesis objects are shared between this mass function and its copies.
+	 * 
+	 * @see #setSharedHypotheses(boolean)
+	 */
+	public boolean isSharedHypotheses() {
+		return sharedHypotheses;
+	}
+	
+	/**
+	 * Returns the mass assigned to the empty set by the conjunctive combination or conditioning that created this mass function.
+	 * The conflict is recorded while combining, so it is available without a separate call to <code>getWeightOfConflict</code>.
+	 * It is neither changed by normalization nor by adding or removing hypotheses.
+	 * 
+	 * @return The conflicting mass or 0 if this mass function was not created by a conjunctive combination.
+	 */
+	public double getConflict() {
+		return conflict;
+	}
+	
+	/**
+	 * Records the conflicting mass of the conjunctive combination that created this mass function.
+	 * 
+	 * @param conflict the mass assigned to the empty set
+	 * @see #getConflict()
+	 */
+	protected void setConflict(double conflict) {
+		this.conflict = conflict;
+	}
+	
+	/**
+	 * Returns the mass value stored in slot <code>slot</code> of <code>entries</code>.
+	 * Subclasses must read mass values through this method, since stored values are scaled lazily by normalization.
+	 * 
+	 * @param slot a used slot of <code>entries</code>
+	 * @return The mass value.
+	 */
+	protected double massAt(int slot) {
+		return entries.valueAt(slot) * scale;
+	}
+	
+	
 	/* (non-Javadoc)
 	 * @see java.lang.Iterable#iterator()
 	 */
 	@Override
 	public Iterator<H> iterator() {
-		return entries.keySet().iterator();
+		return entries.iterator();
 	}
 	
 	/* (non-Javadoc)
@@ -54,8 +149,10 @@ public abstract class AbstractMassFunction<H extends IHypothesis<H>, M extends A
 	@Override
 	public void copy(IMassFunction<H, ?> m) {
 		m.clear();
-		for (Map.Entry<H, Double> entry : entries.entrySet())
-			m.add(entry.getKey(), entry.getValue());
+		for (int i = 0; i < entries.capacity(); i++) {
+			if (entries.isUsed(i))
+				m.add(entries.keyAt(i), massAt(i));
+		}
 	};
 	
 	/* (non-Javadoc)
@@ -64,8 +161,21 @@ public abstract class AbstractMassFunction<H extends IHypothesis<H>, M extends A
 	@Override
 	public M clone() {
 		M cloned = createMassFunction();
-		for (Map.Entry<H, Double> entry : entries.entrySet())
-			cloned.entries.put(entry.getKey().clone(), entry.getValue());
+		cloned.setSharedHypotheses(sharedHypotheses);
+		if (sharedHypotheses)
+			cloned.entries.putAll(entries);
+		else {
+			for (int i = 0; i < entries.capacity(); i++) {
+				if (entries.isUsed(i))
+					cloned.entries.put(entries.keyAt(i).clone(), entries.valueAt(i));
+			}
+		}
+		// stored values are copied as they are, so the pending normalization factor is copied as well
+		AbstractMassFunction<H, M> copy = cloned;
+		copy.scale = scale;
+		copy.storedSum = storedSum;
+		copy.massSumValid = massSumValid;
+		copy.conflict = conflict;
 		return cloned;
 	}
 	
@@ -74,7 +184,11 @@ public abstract class AbstractMassFunction<H extends IHypothesis<H>, M extends A
 	 */
 	@Override
 	public String toString() {
-		ArrayList<Entry<H, Double>> temp = new ArrayList<Entry<H, Double>>(entries.entrySet());
+		ArrayList<Entry<H, Double>> temp = new ArrayList<Entry<H, Double>>(entries.size());
+		for (int i = 0; i < entries.capacity(); i++) {
+			if (entries.isUsed(i))
+				temp.add(new SimpleEntry<H, Double>(entries.keyAt(i), massAt(i)));
+		}
 		Collections.sort(temp, new Comparator<Entry<H, Double>>() {
 			
 			@Override
@@ -105,8 +219,9 @@ public abstract class AbstractMassFunction<H extends IHypothesis<H>, M extends A
 //		if (getMassSum() + mass > 1.0)
 //			throw new IllegalArgumentException("sum of all mass values must not exceed 1");
 		// add possible existing belief
-		Double b = entries.get(hypothesis);
-		entries.put(hypothesis, mass + (b != null ? b : 0.0));
+		entries.add(hypothesis, mass / scale);
+		storedSum += mass / scale;
+		invalidateCaches();
 	}
 	
 	
@@ -115,11 +230,10 @@ public abstract class AbstractMassFunction<H extends IHypothesis<H>, M extends A
 	 */
 	@Override
 	public double remove(H hypothesis) {
-		Double mass = entries.remove(hypothesis);
-		if (mass != null)
-			return mass;
-		else
-			return 0;
+		double stored = entries.remove(hypothesis);
+		storedSum -= stored;
+		invalidateCaches();
+		return stored * scale;
 	}
 	
 	
@@ -129,6 +243,10 @@ public abstract class AbstractMassFunction<H extends IHypothesis<H>, M extends A
 	@Override
 	public void clear() {
 		entries.clear();
+		scale = 1.0;
+		storedSum = 0.0;
+		massSumValid = true;
+		invalidateCaches();
 	}
 	
 	/* (non-Javadoc)
@@ -136,11 +254,7 @@ public abstract class AbstractMassFunction<H extends IHypothesis<H>, M extends A
 	 */
 	@Override
 	public double getMass(H hypothesis) {
-		Double mass = entries.get(hypothesis);
-		if (mass == null)
-			return 0;
-		else
-			return mass;
+		return entries.get(hypothesis) * scale;
 	}
 	
 	
@@ -150,11 +264,11 @@ public abstract class AbstractMassFunction<H extends IHypothesis<H>, M extends A
 	@Override
 	public double getBelief(H hypothesis) {
 		double belief = 0.0;
-		for (Map.Entry<H, Double> entry : entries.entrySet()) {
-			if (hypothesis.isSuperSetOf(entry.getKey()))
-				belief += entry.getValue();
+		for (int i = 0; i < entries.capacity(); i++) {
+			if (entries.isUsed(i) && hypothesis.isSuperSetOf(entries.keyAt(i)))
+				belief += entries.valueAt(i);
 		}
-		return belief;
+		return belief * scale;
 	}
 	
 	/* (non-Javadoc)
@@ -163,11 +277,11 @@ public abstract class AbstractMassFunction<H extends IHypothesis<H>, M extends A
 	@Override
 	public double getCommonality(H hypothesis) {
 		double commonality = 0.0;
-		for (Map.Entry<H, Double> entry : entries.entrySet()) {
-			if (entry.getKey().isSuperSetOf(hypothesis))
-				commonality += entry.getValue();
+		for (int i = 0; i < entries.capacity(); i++) {
+			if (entries.isUsed(i) && entries.keyAt(i).isSuperSetOf(hypothesis))
+				commonality += entries.valueAt(i);
 		}
-		return commonality;
+		return commonality * scale;
 	}
 	
 	/* (non-Javadoc)
@@ -176,11 +290,11 @@ public abstract class AbstractMassFunction<H extends IHypothesis<H>, M extends A
 	@Override
 	public double getPlausibility(H hypothesis) {
 		double plausibility = 0.0;
-		for (Map.Entry<H, Double> entry : entries.entrySet()) {
-			if (!entry.getKey().intersect(hypothesis).isEmpty())
-				plausibility += entry.getValue();
+		for (int i = 0; i < entries.capacity(); i++) {
+			if (entries.isUsed(i) && !entries.keyAt(i).intersect(hypothesis).isEmpty())
+				plausibility += entries.valueAt(i);
 		}
-		return plausibility;
+		return plausibility * scale;
 	}
 	
 	
@@ -189,10 +303,16 @@ public abstract class AbstractMassFunction<H extends IHypothesis<H>, M extends A
 	 */
 	@Override
 	public double getMassSum() {
-		double sum = 0;
-		for (double mass : entries.values())
-			sum += mass;
-		return sum;
+		if (!massSumValid) {
+			// stored values were written directly into the entries of a new mass function
+			storedSum = 0.0;
+			for (int i = 0; i < entries.capacity(); i++) {
+				if (entries.isUsed(i))
+					storedSum += entries.valueAt(i);
+			}
+			massSumValid = true;
+		}
+		return storedSum * scale;
 	}
 	
 	/* (non-Javadoc)
@@ -234,18 +354,31 @@ public abstract class AbstractMassFunction<H extends IHypothesis<H>, M extends A
 	@Override
 	public M combineConjunctive(M m, boolean normalize) {
 		M combination = createMassFunction();
-		for (Map.Entry<H, Double> entry1 : entries.entrySet()) {
-			for (H h2 : m) {
-				H combinedHypothesis = entry1.getKey().intersect(h2);
+		// products of stored values are stored, the combination inherits the product of both normalization factors
+		AbstractMassFunction<H, M> other = m, result = combination;
+		double sum = 0.0, emptySum = 0.0;
+		for (int i = 0; i < entries.capacity(); i++) {
+			if (!entries.isUsed(i))
+				continue;
+			H h1 = entries.keyAt(i);
+			double m1 = entries.valueAt(i);
+			for (int j = 0; j < m.entries.capacity(); j++) {
+				if (!m.entries.isUsed(j))
+					continue;
+				H combinedHypothesis = h1.intersect(m.entries.keyAt(j));
+				double product = m1 * m.entries.valueAt(j);
 				if (!combinedHypothesis.isEmpty()) {
-					double mass = entry1.getValue() * m.getMass(h2);
-					Double previous = combination.entries.get(combinedHypothesis);
-					if (previous != null)
-						mass += previous;
-					combination.entries.put(combinedHypothesis, mass);
+					combination.entries.add(combinedHypothesis, product);
+					sum += product;
 				}
+				else
+					emptySum += product;
 			}
 		}
+		result.scale = scale * other.scale;
+		result.storedSum = sum;
+		result.massSumValid = true;
+		result.conflict = emptySum * result.scale;
 		if (normalize)
 			combination.normalize();
 		return combination;
@@ -265,32 +398,98 @@ public abstract class AbstractMassFunction<H extends IHypothesis<H>, M extends A
 	@Override
 	public M combineDisjunctive(M m) {
 		M combination = createMassFunction();
-		for (Map.Entry<H, Double> entry1 : entries.entrySet()) {
-			for (H h2 : m) {
-				H combinedHypothesis = entry1.getKey().unite(h2);
-				double mass = entry1.getValue() * m.getMass(h2);
-				Double previous = combination.entries.get(combinedHypothesis);
-				if (previous != null)
-					mass += previous;
-				combination.entries.put(combinedHypothesis, mass);
+		AbstractMassFunction<H, M> other = m, result = combination;
+		for (int i = 0; i < entries.capacity(); i++) {
+			if (!entries.isUsed(i))
+				continue;
+			H h1 = entries.keyAt(i);
+			double m1 = entries.valueAt(i);
+			for (int j = 0; j < m.entries.capacity(); j++) {
+				if (m.entries.isUsed(j))
+					combination.entries.add(h1.unite(m.entries.keyAt(j)), m1 * m.entries.valueAt(j));
 			}
 		}
+		result.scale = scale * other.scale;
 		return combination;
 	};
 	
+	/**
+	 * Performs a conjunctive combination like <code>combineConjunctive(m, normalize)</code> using the common fork/join pool.
+	 * 
+	 * @param m another mass function
+	 * @param normalize perform a normalization after combining the two mass functions
+	 * @return A conjunctively combined mass function.
+	 * @see #combineConjunctiveParallel(AbstractMassFunction, boolean, ForkJoinPool)
+	 */
+	public M combineConjunctiveParallel(M m, boolean normalize) {
+		return combineConjunctiveParallel(m, normalize, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Performs a conjunctive combination like <code>combineConjunctive(m, normalize)</code> in parallel.
+	 * The hypotheses of this mass function are partitioned recursively, each partition is combined with all hypotheses of <code>m</code>
+	 * into a partial result, and the partial results are merged at the end.
+	 * Combinations of less than <code>PARALLEL_THRESHOLD</code> hypothesis pairs are performed sequentially.
+	 * Neither mass function must be modified during the combination.
+	 * 
+	 * @param m another mass function
+	 * @param normalize perform a normalization after combining the two mass functions
+	 * @param pool the pool executing the combination
+	 * @return A conjunctively combined mass function.
+	 */
+	public M combineConjunctiveParallel(M m, boolean normalize, ForkJoinPool pool) {
+		if ((long) entries.size() * m.entries.size() < PARALLEL_THRESHOLD)
+			return combineConjunctive(m, normalize);
+		M combination = combineParallel(m, true, pool);
+		if (normalize)
+			combination.normalize();
+		return combination;
+	}
+	
+	/**
+	 * Performs a disjunctive combination like <code>combineDisjunctive(m)</code> using the common fork/join pool.
+	 * 
+	 * @param m another mass function
+	 * @return A disjunctively combined mass function.
+	 * @see #combineDisjunctiveParallel(AbstractMassFunction, ForkJoinPool)
+	 */
+	public M combineDisjunctiveParallel(M m) {
+		return combineDisjunctiveParallel(m, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Performs a disjunctive combination like <code>combineDisjunctive(m)</code> in parallel.
+	 * Combinations of less than <code>PARALLEL_THRESHOLD</code> hypothesis pairs are performed sequentially.
+	 * Neither mass function must be modified during the combination.
+	 * 
+	 * @param m another mass function
+	 * @param pool the pool executing the combination
+	 * @return A disjunctively combined mass function.
+	 * @see #combineConjunctiveParallel(AbstractMassFunction, boolean, ForkJoinPool)
+	 */
+	public M combineDisjunctiveParallel(M m, ForkJoinPool pool) {
+		if ((long) entries.size() * m.entries.size() < PARALLEL_THRESHOLD)
+			return combineDisjunctive(m);
+		return combineParallel(m, false, pool);
+	}
+	
 	/* (non-Javadoc)
 	 * @see net.sourceforge.jds.mass.IMassFunction#getWeightOfConflict(net.sourceforge.jds.mass.IMassFunction)
 	 */
 	@Override
 	public double getWeightOfConflict(M m) {
 		double emptyMass = 0;
-		for (Map.Entry<H, Double> entry1 : entries.entrySet()) {
-			for (H h2 : m) {
-				if (entry1.getKey().intersect(h2).isEmpty())
-					emptyMass += entry1.getValue() * m.getMass(h2);
+		for (int i = 0; i < entries.capacity(); i++) {
+			if (!entries.isUsed(i))
+				continue;
+			H h1 = entries.keyAt(i);
+			for (int j = 0; j < m.entries.capacity(); j++) {
+				if (m.entries.isUsed(j) && h1.intersect(m.entries.keyAt(j)).isEmpty())
+					emptyMass += entries.valueAt(i) * m.entries.valueAt(j);
 			}
 		}
-		return -Math.log(1.0 - emptyMass);
+		AbstractMassFunction<H, M> other = m;
+		return -Math.log(1.0 - emptyMass * scale * other.scale);
 	}
 	
 	/* (non-Javadoc)
@@ -306,10 +505,7 @@ public abstract class AbstractMassFunction<H extends IHypothesis<H>, M extends A
 	 */
 	@Override
 	public boolean isNormalized(double epsilon) {
-		double sum = 0.0;
-		for (Double mass : entries.values())
-			sum += mass;
-		return Math.abs(sum - 1.0) <= epsilon;
+		return Math.abs(getMassSum() - 1.0) <= epsilon;
 	}
 	
 	/* (non-Javadoc)
@@ -317,14 +513,11 @@ public abstract class AbstractMassFunction<H extends IHypothesis<H>, M extends A
 	 */
 	@Override
 	public void normalize() {
-		double sum = 0.0;
-		for (Double mass : entries.values())
-			sum += mass;
-		if (sum != 1.0) {
-			M cloned = clone();
-			clear();
-			for (Map.Entry<H, Double> entry : cloned.entries.entrySet())
-				entries.put(entry.getKey(), entry.getValue() / sum);
+		double sum = getMassSum();
+		if (sum != 1.0 && entries.size() > 0) {
+			// stored values stay untouched, they are scaled when they are read
+			scale = 1.0 / storedSum;
+			invalidateCaches();
 		}
 	}
 	
@@ -333,11 +526,60 @@ public abstract class AbstractMassFunction<H extends IHypothesis<H>, M extends A
 	 */
 	@Override
 	public void prune(double minMass) {
-		M cloned = clone();
-		for (Map.Entry<H, Double> entry : cloned.entries.entrySet()) {
-			if (entry.getValue() < minMass)
-				remove(entry.getKey());
+		// removing entries moves others between slots, so collect them first
+		ArrayList<H> pruned = new ArrayList<H>();
+		for (int i = 0; i < entries.capacity(); i++) {
+			if (entries.isUsed(i) && massAt(i) < minMass)
+				pruned.add(entries.keyAt(i));
+		}
+		for (H h : pruned)
+			storedSum -= entries.remove(h);
+		if (!pruned.isEmpty())
+			invalidateCaches();
+	}
+	
+	
+	/**
+	 * Reduces this mass function to at most <code>maxFocalCount</code> focal sets by summarization.
+	 * All focal sets except the <code>maxFocalCount - 1</code> ones with the highest masses are replaced by their union, which receives their total mass.
+	 * The result is an outer approximation, i.e., it is less specific than the original mass function, and the belief and plausibility
+	 * of any hypothesis change by at most the returned mass.
+	 * 
+	 * @param maxFocalCount the maximal number of focal sets (at least 1)
+	 * @return The mass moved to the union. Returns 0 if this mass function has at most <code>maxFocalCount</code> focal sets.
+	 */
+	public double summarize(int maxFocalCount) {
+		if (maxFocalCount < 1)
+			throw new IllegalArgumentException("at least one focal set must remain");
+		int n = entries.size();
+		if (n <= maxFocalCount)
+			return 0.0;
+		final List<H> hypotheses = getHypothesisList();
+		final double[] masses = getMassArray();
+		Integer[] order = new Integer[n];
+		for (int i = 0; i < n; i++)
+			order[i] = i;
+		Arrays.sort(order, new Comparator<Integer>() {
+			
+			@Override
+			public int compare(Integer o1, Integer o2) {
+				int c = Double.compare(masses[o1], masses[o2]);
+				return c != 0 ? c : hypotheses.get(o1).compareTo(hypotheses.get(o2));
+			}
+			
+		});
+		H union = null;
+		double moved = 0.0;
+		for (int i = 0; i <= n - maxFocalCount; i++) {
+			H h = hypotheses.get(order[i]);
+			union = union == null ? h : union.unite(h);
+			moved += masses[order[i]];
+			entries.remove(h);
 		}
+		// the removed stored values are added back as a whole, so the stored sum does not change
+		entries.add(union, moved / scale);
+		invalidateCaches();
+		return moved;
 	}
 	
 	
@@ -347,8 +589,10 @@ public abstract class AbstractMassFunction<H extends IHypothesis<H>, M extends A
 	@Override
 	public <E extends IHypothesis<E>> JointMassFunction<H, E> extendRight(E space) {
 		JointMassFunction<H, E> extended = new JointMassFunction<H, E>();
-		for (Map.Entry<H, Double> entry : entries.entrySet())
-			extended.add(new JointHypothesis<H, E>(entry.getKey(), space), entry.getValue());
+		for (int i = 0; i < entries.capacity(); i++) {
+			if (entries.isUsed(i))
+				extended.add(new JointHypothesis<H, E>(entries.keyAt(i), space), massAt(i));
+		}
 		return extended;
 	}
 	
@@ -358,8 +602,10 @@ public abstract class AbstractMassFunction<H extends IHypothesis<H>, M extends A
 	@Override
 	public <E extends IHypothesis<E>> JointMassFunction<E, H> extendLeft(E space) {
 		JointMassFunction<E, H> extended = new JointMassFunction<E, H>();
-		for (Map.Entry<H, Double> entry : entries.entrySet())
-			extended.add(new JointHypothesis<E, H>(space, entry.getKey()), entry.getValue());
+		for (int i = 0; i < entries.capacity(); i++) {
+			if (entries.isUsed(i))
+				extended.add(new JointHypothesis<E, H>(space, entries.keyAt(i)), massAt(i));
+		}
 		return extended;
 	}
 	
@@ -370,8 +616,10 @@ public abstract class AbstractMassFunction<H extends IHypothesis<H>, M extends A
 	@Override
 	public TreeMap<H, Double> toMap() {
 		TreeMap<H, Double> map = new TreeMap<H, Double>();
-		for (Map.Entry<H, Double> entry : entries.entrySet())
-			map.put(entry.getKey().clone(), entry.getValue());
+		for (int i = 0; i < entries.capacity(); i++) {
+			if (entries.isUsed(i))
+				map.put(sharedHypotheses ? entries.keyAt(i) : entries.keyAt(i).clone(), massAt(i));
+		}
 		return map;
 	}
 	
@@ -380,38 +628,105 @@ public abstract class AbstractMassFunction<H extends IHypothesis<H>, M extends A
 	 */
 	@Override
 	public H sample(Random random) {
-		double r = random.nextDouble() * getMassSum();
-		double sum = 0;
-		for (Map.Entry<H, Double> entry : entries.entrySet()) {
-			sum += entry.getValue();
-			if (sum >= r)
-				return entry.getKey();
+		if (!prepareAliasTable())
+			return null;
+		return aliasHypotheses.get(aliasTable.sample(random));
+	}
+	
+	
+	/**
+	 * Copies all hypotheses of this mass function into a list. The order corresponds to <code>getMassArray()</code>.
+	 * 
+	 * @return The hypotheses of this mass function.
+	 */
+	protected List<H> getHypothesisList() {
+		List<H> hypotheses = new ArrayList<H>(entries.size());
+		for (int i = 0; i < entries.capacity(); i++) {
+			if (entries.isUsed(i))
+				hypotheses.add(entries.keyAt(i));
 		}
-		return null;
+		return hypotheses;
+	}
+	
+	/**
+	 * Copies all mass values of this mass function into an array. The order corresponds to <code>getHypothesisList()</code>.
+	 * 
+	 * @return The mass values of this mass function.
+	 */
+	protected double[] getMassArray() {
+		double[] masses = new double[entries.size()];
+		int n = 0;
+		for (int i = 0; i < entries.capacity(); i++) {
+			if (entries.isUsed(i))
+				masses[n++] = massAt(i);
+		}
+		return masses;
+	}
+	
+	private M combineParallel(M m, boolean conjunctive, ForkJoinPool pool) {
+		List<H> hypotheses1 = getHypothesisList();
+		List<H> hypotheses2 = m.getHypothesisList();
+		CombinationTask<H> task = new CombinationTask<H>(hypotheses1, getMassArray(), hypotheses2, m.getMassArray(), 0, hypotheses1.size(), conjunctive);
+		ObjectDoubleHashMap<H> combined = pool.invoke(task);
+		M combination = createMassFunction();
+		for (int i = 0; i < combined.capacity(); i++) {
+			if (combined.isUsed(i))
+				combination.entries.put(combined.keyAt(i), combined.valueAt(i));
+		}
+		if (conjunctive)
+			combination.setConflict(task.getEmptyMass());
+		return combination;
 	}
 	
 	
 	/**
 	 * Generates a list containing <code>number</code> samples.
+	 * The sampling probability of each hypothesis is proportional to its mass.
 	 * 
 	 * @param count the number of samples to be generated
 	 * @param random source of randomness
-	 * @return The generated sample list.
+	 * @return The generated sample list. The list is empty if this mass function contains no mass.
 	 */
 	public ArrayList<H> sample(int count, Random random) {
-		ArrayList<H> samples = new ArrayList<H>();
-		for (int i = 0; i < count; i++) {
-			double r = random.nextDouble();
-			for (Entry<H, Double> e : entries.entrySet()) {
-				r -= e.getValue();
-				if (r < 0) {
-					samples.add(e.getKey());
-					break;
-				}
-			}
+		ArrayList<H> samples = new ArrayList<H>(count);
+		if (prepareAliasTable()) {
+			for (int i = 0; i < count; i++)
+				samples.add(aliasHypotheses.get(aliasTable.sample(random)));
 		}
 		return samples;
 	}
 	
+	/**
+	 * Fills <code>samples</code> with samples drawn from this mass function.
+	 * The sampling probability of each hypothesis is proportional to its mass.
+	 * 
+	 * @param samples the array to be filled
+	 * @param random source of randomness
+	 * @return The number of generated samples, i.e., <code>samples.length</code> or 0 if this mass function contains no mass.
+	 */
+	public int sample(H[] samples, Random random) {
+		if (!prepareAliasTable())
+			return 0;
+		for (int i = 0; i < samples.length; i++)
+			samples[i] = aliasHypotheses.get(aliasTable.sample(random));
+		return samples.length;
+	}
+	
+	/**
+	 * Builds the alias table for sampling unless it is still valid.
+	 * 
+	 * @return <code>false</code> if there is nothing to sample from.
+	 */
+	private boolean prepareAliasTable() {
+		if (aliasTable == null) {
+			if (!(getMassSum() > 0))
+				return false;
+			double[] masses = getMassArray();
+			aliasHypotheses = getHypothesisList();
+			aliasTable = new AliasTable(masses);
+		}
+		return true;
+	}
+	
 	
 }
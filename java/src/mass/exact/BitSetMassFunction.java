@@ -0,0 +1,419 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.exact;
+
+import hypothesis.BitSetHypothesis;
+import hypothesis.Frame;
+
+import java.util.Collection;
+
+import util.LongDoubleHashMap;
+import util.MobiusTransform;
+
+
+/**
+ * Represents a mass function over a discrete frame of discernment whose hypotheses are bit sets over a shared frame.
+ * <p>
+ * In contrast to other mass functions, the frame of discernment is not derived from the contained hypotheses
+ * but given by the shared <code>Frame</code>, i.e., it includes singletons without any mass.
+ * <p>
+ * For frames of at most 64 singletons, each hypothesis is a single <code>long</code> word, and combination
+ * as well as the calculation of conflict are performed on primitive masks without creating intermediate hypotheses.
+ * <p>
+ * For frames of at most <code>MAX_DENSE_FRAME_SIZE</code> singletons, dense queries can be enabled. The belief and commonality
+ * values of all subsets of the frame are then computed once by fast zeta transforms (in <code>O(n 2^n)</code> time and memory)
+ * and each call of <code>getBelief</code>, <code>getPlausibility</code> or <code>getCommonality</code> becomes an array lookup.
+ * The dense vectors are discarded whenever this mass function is changed.
+ * <p>
+ * On such frames, combinations may also be performed in the commonality domain (conjunctive rule) or the
+ * implicability domain (disjunctive rule), where they reduce to pointwise products of dense vectors. This takes
+ * <code>O(n 2^n)</code> instead of <code>O(k1 k2)</code> operations and is chosen automatically whenever <code>k1 k2 &gt; n 2^n</code>.
+ *
+ */
+public class BitSetMassFunction<S extends Comparable<S>> extends AbstractDiscreteMassFunction<S, BitSetHypothesis<S>, BitSetMassFunction<S>> {
+
+	/**
+	 * The maximum number of singletons of a frame for which dense queries are supported.
+	 */
+	public static final int MAX_DENSE_FRAME_SIZE = 25;
+	
+	/**
+	 * Mass values of dense combinations whose absolute value does not exceed this threshold are treated as rounding errors and dropped.
+	 */
+	public static final double DENSE_EPSILON = 1e-12;
+	
+	private final Frame<S> frame;
+	
+	private boolean denseQueries;
+	
+	private double[] beliefs, commonalities;
+	
+	private int denseFrameSize;
+
+
+	/**
+	 * Creates an empty mass function.
+	 *
+	 * @param frame the frame of discernment
+	 */
+	public BitSetMassFunction(Frame<S> frame) {
+		super();
+		this.frame = frame;
+	}
+
+	/**
+	 * Creates a mass function that assigns all mass to <code>hypothesis</code>.
+	 *
+	 * @param hypothesis a hypothesis
+	 */
+	public BitSetMassFunction(BitSetHypothesis<S> hypothesis) {
+		this(hypothesis.getFrame());
+		add(hypothesis, 1.0);
+	}
+
+
+	/**
+	 * Returns the frame shared by all hypotheses of this mass function.
+	 *
+	 * @return The frame of discernment.
+	 */
+	public Frame<S> getFrame() {
+		return frame;
+	}
+
+	/**
+	 * Enables or disables dense queries. Dense queries are only used while the frame contains at most <code>MAX_DENSE_FRAME_SIZE</code> singletons.
+	 * Mass functions created by combining this mass function inherit this setting.
+	 *
+	 * @param denseQueries <code>true</code> if belief, plausibility and commonality values should be looked up from precomputed vectors
+	 */
+	public void setDenseQueries(boolean denseQueries) {
+		this.denseQueries = denseQueries;
+		if (!denseQueries)
+			invalidateCaches();
+	}
+	
+	/**
+	 * Returns <code>true</code> if and only if dense queries are enabled.
+	 *
+	 * @return <code>true</code> if and only if dense queries are enabled.
+	 * @see #setDenseQueries(boolean)
+	 */
+	public boolean isDenseQueries() {
+		return denseQueries;
+	}
+
+	/**
+	 * Returns the hypothesis containing all singletons of the shared frame. The cost of this method does not depend on the number of contained hypotheses.
+	 *
+	 * @return The frame of discernment.
+	 * @see mass.IMassFunction#getFrameOfDiscernment()
+	 */
+	@Override
+	public BitSetHypothesis<S> getFrameOfDiscernment() {
+		return frame.createFrameOfDiscernment();
+	}
+
+
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractMassFunction#createMassFunction()
+	 */
+	@Override
+	protected BitSetMassFunction<S> createMassFunction() {
+		BitSetMassFunction<S> m = new BitSetMassFunction<S>(frame);
+		m.denseQueries = denseQueries;
+		return m;
+	}
+	
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractMassFunction#invalidateCaches()
+	 */
+	@Override
+	protected void invalidateCaches() {
+		super.invalidateCaches();
+		beliefs = null;
+		commonalities = null;
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractDiscreteMassFunction#isFocalIndexFaster()
+	 */
+	@Override
+	protected boolean isFocalIndexFaster() {
+		// subset tests on words are cheaper than walking the set trie over boxed singletons
+		return false;
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractDiscreteMassFunction#createHypothesis(java.util.Collection)
+	 */
+	@Override
+	protected BitSetHypothesis<S> createHypothesis(Collection<S> singletons) {
+		return new BitSetHypothesis<S>(frame, singletons);
+	}
+
+
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractMassFunction#getBelief(hypothesis.IHypothesis)
+	 */
+	@Override
+	public double getBelief(BitSetHypothesis<S> hypothesis) {
+		if (isDense()) {
+			checkFrame(hypothesis);
+			return getBeliefs()[(int) hypothesis.toLong()];
+		}
+		return super.getBelief(hypothesis);
+	}
+	
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractMassFunction#getCommonality(hypothesis.IHypothesis)
+	 */
+	@Override
+	public double getCommonality(BitSetHypothesis<S> hypothesis) {
+		if (isDense()) {
+			checkFrame(hypothesis);
+			return getCommonalities()[(int) hypothesis.toLong()];
+		}
+		return super.getCommonality(hypothesis);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractMassFunction#getPlausibility(hypothesis.IHypothesis)
+	 */
+	@Override
+	public double getPlausibility(BitSetHypothesis<S> hypothesis) {
+		if (isDense()) {
+			checkFrame(hypothesis);
+			// pl(A) = bel(theta) - bel(complement of A)
+			double[] beliefs = getBeliefs();
+			int theta = beliefs.length - 1;
+			return beliefs[theta] - beliefs[theta & ~(int) hypothesis.toLong()];
+		}
+		double plausibility = 0.0;
+		for (int i = 0; i < entries.capacity(); i++) {
+			if (entries.isUsed(i) && entries.keyAt(i).intersects(hypothesis))
+				plausibility += massAt(i);
+		}
+		return plausibility;
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractMassFunction#combineConjunctive(mass.exact.AbstractMassFunction, boolean)
+	 */
+	@Override
+	public BitSetMassFunction<S> combineConjunctive(BitSetMassFunction<S> m, boolean normalize) {
+		checkFrame(m);
+		if (!isSingleWord())
+			return super.combineConjunctive(m, normalize);
+		if (isDenseCombinationFaster(m))
+			return combineConjunctiveDense(m, normalize);
+		long[] masks1 = masks(), masks2 = m.masks();
+		double[] values1 = values(), values2 = m.values();
+		LongDoubleHashMap combined = new LongDoubleHashMap();
+		double emptyMass = 0.0;
+		for (int i = 0; i < masks1.length; i++) {
+			for (int j = 0; j < masks2.length; j++) {
+				long intersection = masks1[i] & masks2[j];
+				if (intersection != 0)
+					combined.add(intersection, values1[i] * values2[j]);
+				else
+					emptyMass += values1[i] * values2[j];
+			}
+		}
+		BitSetMassFunction<S> combination = toMassFunction(combined);
+		combination.setConflict(emptyMass);
+		if (normalize)
+			combination.normalize();
+		return combination;
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractMassFunction#combineDisjunctive(mass.exact.AbstractMassFunction)
+	 */
+	@Override
+	public BitSetMassFunction<S> combineDisjunctive(BitSetMassFunction<S> m) {
+		checkFrame(m);
+		if (!isSingleWord())
+			return super.combineDisjunctive(m);
+		if (isDenseCombinationFaster(m))
+			return combineDisjunctiveDense(m);
+		long[] masks1 = masks(), masks2 = m.masks();
+		double[] values1 = values(), values2 = m.values();
+		LongDoubleHashMap combined = new LongDoubleHashMap();
+		for (int i = 0; i < masks1.length; i++) {
+			for (int j = 0; j < masks2.length; j++)
+				combined.add(masks1[i] | masks2[j], values1[i] * values2[j]);
+		}
+		return toMassFunction(combined);
+	}
+
+	/**
+	 * Performs a conjunctive combination in the commonality domain, i.e., by multiplying the commonality functions of both mass functions
+	 * and transforming the product back. Requires a frame of at most <code>MAX_DENSE_FRAME_SIZE</code> singletons.
+	 * 
+	 * @param m another mass function
+	 * @param normalize perform a normalization after combining the two mass functions
+	 * @return A conjunctively combined mass function.
+	 */
+	public BitSetMassFunction<S> combineConjunctiveDense(BitSetMassFunction<S> m, boolean normalize) {
+		checkFrame(m);
+		int n = getDenseCombinationFrameSize();
+		double[] q1 = toDenseVector(n), q2 = m.toDenseVector(n);
+		MobiusTransform.zetaSupersets(q1, n);
+		MobiusTransform.zetaSupersets(q2, n);
+		for (int a = 0; a < q1.length; a++)
+			q1[a] *= q2[a];
+		MobiusTransform.mobiusSupersets(q1, n);
+		// q1[0] now holds the conflicting mass, which is dropped like empty intersections
+		BitSetMassFunction<S> combination = toMassFunction(q1);
+		combination.setConflict(q1[0]);
+		if (normalize)
+			combination.normalize();
+		return combination;
+	}
+	
+	/**
+	 * Performs a disjunctive combination in the implicability domain, i.e., by multiplying the implicability functions of both mass functions
+	 * and transforming the product back. Requires a frame of at most <code>MAX_DENSE_FRAME_SIZE</code> singletons.
+	 * 
+	 * @param m another mass function
+	 * @return A disjunctively combined mass function.
+	 */
+	public BitSetMassFunction<S> combineDisjunctiveDense(BitSetMassFunction<S> m) {
+		checkFrame(m);
+		int n = getDenseCombinationFrameSize();
+		double[] b1 = toDenseVector(n), b2 = m.toDenseVector(n);
+		MobiusTransform.zetaSubsets(b1, n);
+		MobiusTransform.zetaSubsets(b2, n);
+		for (int a = 0; a < b1.length; a++)
+			b1[a] *= b2[a];
+		MobiusTransform.mobiusSubsets(b1, n);
+		return toMassFunction(b1);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractMassFunction#getWeightOfConflict(mass.exact.AbstractMassFunction)
+	 */
+	@Override
+	public double getWeightOfConflict(BitSetMassFunction<S> m) {
+		checkFrame(m);
+		if (!isSingleWord())
+			return super.getWeightOfConflict(m);
+		long[] masks1 = masks(), masks2 = m.masks();
+		double[] values1 = values(), values2 = m.values();
+		double emptyMass = 0;
+		for (int i = 0; i < masks1.length; i++) {
+			for (int j = 0; j < masks2.length; j++) {
+				if ((masks1[i] & masks2[j]) == 0)
+					emptyMass += values1[i] * values2[j];
+			}
+		}
+		return -Math.log(1.0 - emptyMass);
+	}
+
+
+	/**
+	 * Throws an exception unless <code>m</code> uses the frame of this mass function, since raw masks of different frames cannot be compared.
+	 */
+	private void checkFrame(BitSetMassFunction<S> m) {
+		if (m.frame != frame)
+			throw new IllegalArgumentException("mass functions must share the same frame");
+	}
+
+	private void checkFrame(BitSetHypothesis<S> hypothesis) {
+		if (hypothesis.getFrame() != frame)
+			throw new IllegalArgumentException("hypotheses must share the same frame");
+	}
+
+	private boolean isSingleWord() {
+		return frame.size() <= 64;
+	}
+	
+	private boolean isDenseCombinationFaster(BitSetMassFunction<S> m) {
+		int n = frame.size();
+		return n <= MAX_DENSE_FRAME_SIZE && (double) entries.size() * m.entries.size() > (double) n * (1 << n);
+	}
+	
+	private int getDenseCombinationFrameSize() {
+		int n = frame.size();
+		if (n > MAX_DENSE_FRAME_SIZE)
+			throw new IllegalStateException("dense combination requires a frame of at most " + MAX_DENSE_FRAME_SIZE + " singletons");
+		return n;
+	}
+	
+	private boolean isDense() {
+		if (!denseQueries || frame.size() > MAX_DENSE_FRAME_SIZE)
+			return false;
+		if (denseFrameSize != frame.size()) {
+			// the frame has grown since the vectors were computed
+			invalidateCaches();
+			denseFrameSize = frame.size();
+		}
+		return true;
+	}
+	
+	private double[] getBeliefs() {
+		if (beliefs == null) {
+			beliefs = toDenseVector(denseFrameSize);
+			MobiusTransform.zetaSubsets(beliefs, denseFrameSize);
+		}
+		return beliefs;
+	}
+	
+	private double[] getCommonalities() {
+		if (commonalities == null) {
+			commonalities = toDenseVector(denseFrameSize);
+			MobiusTransform.zetaSupersets(commonalities, denseFrameSize);
+		}
+		return commonalities;
+	}
+	
+	private double[] toDenseVector(int n) {
+		double[] v = new double[1 << n];
+		for (int i = 0; i < entries.capacity(); i++) {
+			if (entries.isUsed(i))
+				v[(int) entries.keyAt(i).toLong()] += massAt(i);
+		}
+		return v;
+	}
+
+	private long[] masks() {
+		long[] masks = new long[entries.size()];
+		int n = 0;
+		for (int i = 0; i < entries.capacity(); i++) {
+			if (entries.isUsed(i))
+				masks[n++] = entries.keyAt(i).toLong();
+		}
+		return masks;
+	}
+
+	private double[] values() {
+		double[] values = new double[entries.size()];
+		int n = 0;
+		for (int i = 0; i < entries.capacity(); i++) {
+			if (entries.isUsed(i))
+				values[n++] = massAt(i);
+		}
+		return values;
+	}
+
+	private BitSetMassFunction<S> toMassFunction(double[] masses) {
+		BitSetMassFunction<S> m = createMassFunction();
+		for (int a = 1; a < masses.length; a++) {
+			if (Math.abs(masses[a]) > DENSE_EPSILON)
+				m.entries.put(new BitSetHypothesis<S>(frame, a), masses[a]);
+		}
+		return m;
+	}
+	
+	private BitSetMassFunction<S> toMassFunction(LongDoubleHashMap masses) {
+		BitSetMassFunction<S> m = createMassFunction();
+		for (int slot = 0; slot < masses.capacity(); slot++) {
+			if (masses.isUsed(slot))
+				m.entries.put(new BitSetHypothesis<S>(frame, masses.keyAt(slot)), masses.valueAt(slot));
+		}
+		return m;
+	}
+
+}
@@ -0,0 +1,111 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.exact;
+
+import hypothesis.IHypothesis;
+
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+import util.ObjectDoubleHashMap;
+
+/**
+ * Combines a range of hypotheses of one mass function with all hypotheses of another mass function.
+ * Ranges containing more than <code>AbstractMassFunction.PARALLEL_THRESHOLD</code> pairs are split in half and processed in parallel.
+ * Each task accumulates into its own table, and the tables are merged when the subtasks are joined.
+ * Conjunctive tasks also sum up the mass of empty intersections, which is available from <code>getEmptyMass</code> once the task is done.
+ * 
+ */
+class CombinationTask<H extends IHypothesis<H>> extends RecursiveTask<ObjectDoubleHashMap<H>> {
+
+	private static final long serialVersionUID = 1L;
+	
+	private final List<H> hypotheses1, hypotheses2;
+	
+	private final double[] masses1, masses2;
+	
+	private final int from, to;
+	
+	private final boolean conjunctive;
+	
+	private double emptyMass;
+	
+	
+	/**
+	 * @param hypotheses1 the hypotheses of the first mass function
+	 * @param masses1 the mass values of the first mass function
+	 * @param hypotheses2 the hypotheses of the second mass function
+	 * @param masses2 the mass values of the second mass function
+	 * @param from first index into <code>hypotheses1</code> (inclusive)
+	 * @param to last index into <code>hypotheses1</code> (exclusive)
+	 * @param conjunctive <code>true</code> for intersecting hypotheses (empty intersections are dropped), <code>false</code> for uniting them
+	 */
+	CombinationTask(List<H> hypotheses1, double[] masses1, List<H> hypotheses2, double[] masses2, int from, int to, boolean conjunctive) {
+		this.hypotheses1 = hypotheses1;
+		this.masses1 = masses1;
+		this.hypotheses2 = hypotheses2;
+		this.masses2 = masses2;
+		this.from = from;
+		this.to = to;
+		this.conjunctive = conjunctive;
+	}
+	
+	
+	/* (non-Javadoc)
+	 * @see java.util.concurrent.RecursiveTask#compute()
+	 */
+	@Override
+	protected ObjectDoubleHashMap<H> compute() {
+		if (to - from > 1 && (long) (to - from) * hypotheses2.size() > AbstractMassFunction.PARALLEL_THRESHOLD) {
+			int middle = (from + to) >>> 1;
+			CombinationTask<H> left = new CombinationTask<H>(hypotheses1, masses1, hypotheses2, masses2, from, middle, conjunctive);
+			CombinationTask<H> right = new CombinationTask<H>(hypotheses1, masses1, hypotheses2, masses2, middle, to, conjunctive);
+			left.fork();
+			ObjectDoubleHashMap<H> result = merge(right.compute(), left.join());
+			emptyMass = left.emptyMass + right.emptyMass;
+			return result;
+		}
+		ObjectDoubleHashMap<H> result = new ObjectDoubleHashMap<H>();
+		for (int i = from; i < to; i++) {
+			H h1 = hypotheses1.get(i);
+			double m1 = masses1[i];
+			for (int j = 0; j < masses2.length; j++) {
+				if (conjunctive) {
+					H intersection = h1.intersect(hypotheses2.get(j));
+					if (!intersection.isEmpty())
+						result.add(intersection, m1 * masses2[j]);
+					else
+						emptyMass += m1 * masses2[j];
+				} else
+					result.add(h1.unite(hypotheses2.get(j)), m1 * masses2[j]);
+			}
+		}
+		return result;
+	}
+	
+	
+	/**
+	 * Returns the mass of all empty intersections in the range of this task.
+	 * 
+	 * @return The conflicting mass. Returns 0 for disjunctive tasks or tasks that are not done.
+	 */
+	double getEmptyMass() {
+		return emptyMass;
+	}
+	
+	
+	private static <H> ObjectDoubleHashMap<H> merge(ObjectDoubleHashMap<H> a, ObjectDoubleHashMap<H> b) {
+		if (a.size() < b.size()) {
+			ObjectDoubleHashMap<H> temp = a;
+			a = b;
+			b = temp;
+		}
+		for (int i = 0; i < b.capacity(); i++) {
+			if (b.isUsed(i))
+				a.add(b.keyAt(i), b.valueAt(i));
+		}
+		return a;
+	}
+	
+}
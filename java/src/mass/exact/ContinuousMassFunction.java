@@ -4,28 +4,280 @@
 package mass.exact;
 
 import hypothesis.ContinuousHypothesis;
+import hypothesis.ContinuousHypothesisStore;
+import hypothesis.ContinuousHypothesisTree;
 
 /**
  * Represents of mass function over a continuous frame of discernment.
- * 
- * 
+ * <p>
+ * Combinations operate on a <code>ContinuousHypothesisStore</code> snapshot of the focal hypotheses of both operands. Intersections and unions
+ * of hypothesis pairs are computed into reused buffers and merged in a result store, so only one hypothesis is allocated per distinct result.
+ * <p>
+ * Mass functions with at least <code>SPATIAL_INDEX_THRESHOLD</code> focal hypotheses additionally index them in a
+ * <code>ContinuousHypothesisTree</code>. Belief, plausibility and commonality queries as well as conjunctive combinations then only visit
+ * focal hypotheses that overlap the query, instead of all of them.
+ *
  * @author Thomas Reineking
  *
  */
 public class ContinuousMassFunction extends AbstractMassFunction<ContinuousHypothesis, ContinuousMassFunction> {
 
+	/**
+	 * The minimal number of focal hypotheses for which queries and combinations use a spatial index.
+	 */
+	public static final int SPATIAL_INDEX_THRESHOLD = 64;
+
+	// snapshot of the focal hypotheses, built on demand and discarded on changes
+	private ContinuousHypothesisStore focalStore;
+
+	private double[] focalMasses;
+
+	private ContinuousHypothesisTree focalTree;
+
+
 	public ContinuousMassFunction() {
 		super();
 	}
-	
+
 	public ContinuousMassFunction(ContinuousHypothesis hypothesis) {
 		super(hypothesis);
 	}
-	
-	
+
+
 	@Override
 	protected ContinuousMassFunction createMassFunction() {
 		return new ContinuousMassFunction();
 	}
 
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractMassFunction#invalidateCaches()
+	 */
+	@Override
+	protected void invalidateCaches() {
+		super.invalidateCaches();
+		focalStore = null;
+		focalMasses = null;
+		focalTree = null;
+	}
+
+
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractMassFunction#getBelief(hypothesis.IHypothesis)
+	 */
+	@Override
+	public double getBelief(ContinuousHypothesis hypothesis) {
+		ContinuousHypothesisTree tree = getFocalTree();
+		if (tree == null || hypothesis.getDimensions() != tree.getStore().getDimensions() || hypothesis.isEmpty())
+			return super.getBelief(hypothesis);
+		// subsets of a non-empty hypothesis overlap it
+		double belief = 0.0;
+		for (int i : tree.getIntersecting(hypothesis)) {
+			if (focalStore.isSubSetOf(i, hypothesis))
+				belief += focalMasses[i];
+		}
+		return belief;
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractMassFunction#getCommonality(hypothesis.IHypothesis)
+	 */
+	@Override
+	public double getCommonality(ContinuousHypothesis hypothesis) {
+		ContinuousHypothesisTree tree = getFocalTree();
+		if (tree == null || hypothesis.getDimensions() != tree.getStore().getDimensions() || hypothesis.isEmpty())
+			return super.getCommonality(hypothesis);
+		// supersets of a non-empty hypothesis overlap it
+		double commonality = 0.0;
+		for (int i : tree.getIntersecting(hypothesis)) {
+			if (focalStore.isSuperSetOf(i, hypothesis))
+				commonality += focalMasses[i];
+		}
+		return commonality;
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractMassFunction#getPlausibility(hypothesis.IHypothesis)
+	 */
+	@Override
+	public double getPlausibility(ContinuousHypothesis hypothesis) {
+		ContinuousHypothesisTree tree = getFocalTree();
+		if (tree != null && hypothesis.getDimensions() == tree.getStore().getDimensions()) {
+			double plausibility = 0.0;
+			for (int i : tree.getIntersecting(hypothesis))
+				plausibility += focalMasses[i];
+			return plausibility;
+		}
+		double plausibility = 0.0;
+		for (int i = 0; i < entries.capacity(); i++) {
+			if (entries.isUsed(i) && entries.keyAt(i).intersects(hypothesis))
+				plausibility += massAt(i);
+		}
+		return plausibility;
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractMassFunction#combineConjunctive(mass.exact.AbstractMassFunction, boolean)
+	 */
+	@Override
+	public ContinuousMassFunction combineConjunctive(ContinuousMassFunction m, boolean normalize) {
+		ContinuousHypothesisStore store1 = getFocalStore(), store2 = m.getFocalStore();
+		if (store1 == null || store2 == null || store1.getDimensions() != store2.getDimensions())
+			return super.combineConjunctive(m, normalize);
+		double[] masses1 = focalMasses, masses2 = m.focalMasses;
+		int dimensions = store1.getDimensions();
+		double[] lowerBounds = new double[dimensions], upperBounds = new double[dimensions];
+		ContinuousHypothesisStore combined = new ContinuousHypothesisStore(dimensions);
+		double[] combinedMasses = new double[16];
+		double emptyMass = 0.0;
+		ContinuousHypothesisTree tree2 = m.getFocalTree();
+		if (tree2 != null) {
+			// only overlapping pairs contribute to the combination, the remaining product mass is conflict
+			double sum2 = sum(masses2, store2.size());
+			for (int i = 0; i < store1.size(); i++) {
+				double overlapping = 0.0;
+				for (int j : tree2.getIntersecting(store1, i)) {
+					double mass = masses1[i] * masses2[j];
+					store1.intersect(i, store2, j, lowerBounds, upperBounds);
+					combinedMasses = add(combined, lowerBounds, upperBounds, combinedMasses, mass);
+					overlapping += masses2[j];
+				}
+				emptyMass += masses1[i] * (sum2 - overlapping);
+			}
+		}
+		else {
+			for (int i = 0; i < store1.size(); i++) {
+				for (int j = 0; j < store2.size(); j++) {
+					double mass = masses1[i] * masses2[j];
+					if (store1.intersect(i, store2, j, lowerBounds, upperBounds))
+						combinedMasses = add(combined, lowerBounds, upperBounds, combinedMasses, mass);
+					else
+						emptyMass += mass;
+				}
+			}
+		}
+		ContinuousMassFunction combination = toMassFunction(combined, combinedMasses);
+		combination.setConflict(emptyMass);
+		if (normalize)
+			combination.normalize();
+		return combination;
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractMassFunction#combineDisjunctive(mass.exact.AbstractMassFunction)
+	 */
+	@Override
+	public ContinuousMassFunction combineDisjunctive(ContinuousMassFunction m) {
+		ContinuousHypothesisStore store1 = getFocalStore(), store2 = m.getFocalStore();
+		if (store1 == null || store2 == null || store1.getDimensions() != store2.getDimensions())
+			return super.combineDisjunctive(m);
+		double[] masses1 = focalMasses, masses2 = m.focalMasses;
+		int dimensions = store1.getDimensions();
+		double[] lowerBounds = new double[dimensions], upperBounds = new double[dimensions];
+		ContinuousHypothesisStore combined = new ContinuousHypothesisStore(dimensions);
+		double[] combinedMasses = new double[16];
+		for (int i = 0; i < store1.size(); i++) {
+			for (int j = 0; j < store2.size(); j++) {
+				store1.unite(i, store2, j, lowerBounds, upperBounds);
+				combinedMasses = add(combined, lowerBounds, upperBounds, combinedMasses, masses1[i] * masses2[j]);
+			}
+		}
+		return toMassFunction(combined, combinedMasses);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractMassFunction#getWeightOfConflict(mass.exact.AbstractMassFunction)
+	 */
+	@Override
+	public double getWeightOfConflict(ContinuousMassFunction m) {
+		ContinuousHypothesisStore store1 = getFocalStore(), store2 = m.getFocalStore();
+		if (store1 == null || store2 == null || store1.getDimensions() != store2.getDimensions())
+			return super.getWeightOfConflict(m);
+		double[] masses1 = focalMasses, masses2 = m.focalMasses;
+		double emptyMass = 0.0;
+		ContinuousHypothesisTree tree2 = m.getFocalTree();
+		if (tree2 != null) {
+			double sum2 = sum(masses2, store2.size());
+			for (int i = 0; i < store1.size(); i++) {
+				double overlapping = 0.0;
+				for (int j : tree2.getIntersecting(store1, i))
+					overlapping += masses2[j];
+				emptyMass += masses1[i] * (sum2 - overlapping);
+			}
+		}
+		else {
+			for (int i = 0; i < store1.size(); i++) {
+				for (int j = 0; j < store2.size(); j++) {
+					if (!store1.intersects(i, store2, j))
+						emptyMass += masses1[i] * masses2[j];
+				}
+			}
+		}
+		return -Math.log(1.0 - emptyMass);
+	}
+
+
+	/**
+	 * Returns the focal hypotheses as a store whose indices correspond to <code>focalMasses</code>.
+	 *
+	 * @return The store or <code>null</code> if there are no focal hypotheses or their dimensions differ.
+	 */
+	private ContinuousHypothesisStore getFocalStore() {
+		if (focalStore == null && entries.size() > 0) {
+			ContinuousHypothesisStore store = null;
+			double[] masses = new double[entries.size()];
+			for (int i = 0; i < entries.capacity(); i++) {
+				if (!entries.isUsed(i))
+					continue;
+				ContinuousHypothesis h = entries.keyAt(i);
+				if (store == null)
+					store = new ContinuousHypothesisStore(h.getDimensions(), entries.size());
+				else if (store.getDimensions() != h.getDimensions())
+					return null;
+				masses[store.add(h)] = massAt(i);
+			}
+			focalStore = store;
+			focalMasses = masses;
+		}
+		return focalStore;
+	}
+
+	/**
+	 * Returns a spatial index of the focal store.
+	 *
+	 * @return The index or <code>null</code> if there is no focal store or it has less than <code>SPATIAL_INDEX_THRESHOLD</code> hypotheses.
+	 */
+	private ContinuousHypothesisTree getFocalTree() {
+		if (focalTree == null) {
+			ContinuousHypothesisStore store = getFocalStore();
+			if (store != null && store.size() >= SPATIAL_INDEX_THRESHOLD)
+				focalTree = new ContinuousHypothesisTree(store);
+		}
+		return focalTree;
+	}
+
+	private ContinuousMassFunction toMassFunction(ContinuousHypothesisStore store, double[] masses) {
+		ContinuousMassFunction m = createMassFunction();
+		for (int i = 0; i < store.size(); i++)
+			m.entries.put(store.get(i), masses[i]);
+		return m;
+	}
+
+	private static double sum(double[] masses, int size) {
+		double sum = 0.0;
+		for (int i = 0; i < size; i++)
+			sum += masses[i];
+		return sum;
+	}
+
+	private static double[] add(ContinuousHypothesisStore store, double[] lowerBounds, double[] upperBounds, double[] masses, double mass) {
+		int index = store.add(lowerBounds, upperBounds);
+		if (index == masses.length) {
+			double[] grown = new double[2 * masses.length];
+			System.arraycopy(masses, 0, grown, 0, masses.length);
+			masses = grown;
+		}
+		masses[index] += mass;
+		return masses;
+	}
+
 }
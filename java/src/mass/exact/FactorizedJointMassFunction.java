@@ -0,0 +1,474 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.exact;
+
+import hypothesis.IHypothesis;
+import hypothesis.JointHypothesis;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import mass.IJointMassFunction;
+import mass.IMassFunction;
+
+/**
+ * Represents a mass function over the space AxB that is kept as the product of a mass function over A and a mass function over B as long as
+ * possible.
+ * <p>
+ * In factorized form, every pair of focal hypotheses <code>a</code> and <code>b</code> of the two factors stands for the joint focal
+ * hypothesis <code>(a | b)</code> with mass <code>m_A(a) * m_B(b)</code>, but the joint hypotheses are never stored. The vacuous extension of
+ * a mass function over A is the product with a mass function that assigns all mass to the frame of B. Since intersections and unions of joint
+ * hypotheses are computed component-wise, conjunctive and disjunctive combinations of two products are the products of the combined factors.
+ * Belief, commonality and plausibility of a joint hypothesis are the products of the values of its components, and the projections are the
+ * factors scaled by the mass sum of the other factor.
+ * <p>
+ * Operations that cannot be expressed on the factors, i.e., adding, removing or pruning joint focal hypotheses and combining with a mass
+ * function that is not factorized, turn the mass function into an explicit <code>JointMassFunction</code>.
+ *
+ * @see JointMassFunction
+ */
+public class FactorizedJointMassFunction<A extends IHypothesis<A>, B extends IHypothesis<B>, MA extends AbstractMassFunction<A, MA>, MB extends AbstractMassFunction<B, MB>>
+		implements IJointMassFunction<A, B, FactorizedJointMassFunction<A, B, MA, MB>> {
+
+	// the factors, both null once the mass function is explicit
+	private MA left;
+
+	private MB right;
+
+	// the explicit joint mass function, null as long as the mass function is factorized
+	private JointMassFunction<A, B> joint;
+
+
+	/**
+	 * Creates the product of two mass functions. Both mass functions are copied.
+	 *
+	 * @param left a mass function over A
+	 * @param right a mass function over B
+	 */
+	public FactorizedJointMassFunction(MA left, MB right) {
+		this(left.clone(), right.clone(), null);
+	}
+
+	/**
+	 * Creates an explicit joint mass function. The mass function is copied.
+	 *
+	 * @param joint a mass function over AxB
+	 */
+	public FactorizedJointMassFunction(JointMassFunction<A, B> joint) {
+		this(null, null, joint.clone());
+	}
+
+	private FactorizedJointMassFunction(MA left, MB right, JointMassFunction<A, B> joint) {
+		this.left = left;
+		this.right = right;
+		this.joint = joint;
+	}
+
+
+	/**
+	 * Returns <code>true</code> if this mass function is still represented by its factors.
+	 *
+	 * @return <code>true</code> if and only if the joint focal hypotheses are not stored.
+	 */
+	public boolean isFactorized() {
+		return joint == null;
+	}
+
+	/**
+	 * Returns a copy of the factor over A.
+	 *
+	 * @return The factor or <code>null</code> if this mass function is not factorized.
+	 */
+	public MA getLeftFactor() {
+		return left == null ? null : left.clone();
+	}
+
+	/**
+	 * Returns a copy of the factor over B.
+	 *
+	 * @return The factor or <code>null</code> if this mass function is not factorized.
+	 */
+	public MB getRightFactor() {
+		return right == null ? null : right.clone();
+	}
+
+	/**
+	 * Creates an explicit joint mass function that is equal to this mass function.
+	 *
+	 * @return The joint mass function.
+	 */
+	public JointMassFunction<A, B> toJointMassFunction() {
+		if (joint != null)
+			return joint.clone();
+		JointMassFunction<A, B> product = new JointMassFunction<A, B>();
+		for (A a : left) {
+			double mass = left.getMass(a);
+			for (B b : right)
+				product.add(new JointHypothesis<A, B>(a, b), mass * right.getMass(b));
+		}
+		return product;
+	}
+
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#clone()
+	 */
+	@Override
+	public FactorizedJointMassFunction<A, B, MA, MB> clone() {
+		if (joint != null)
+			return new FactorizedJointMassFunction<A, B, MA, MB>(null, null, joint.clone());
+		return new FactorizedJointMassFunction<A, B, MA, MB>(left.clone(), right.clone(), null);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#add(hypothesis.IHypothesis, double)
+	 */
+	@Override
+	public void add(JointHypothesis<A, B> hypothesis, double mass) {
+		materialize().add(hypothesis, mass);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#remove(hypothesis.IHypothesis)
+	 */
+	@Override
+	public double remove(JointHypothesis<A, B> hypothesis) {
+		return materialize().remove(hypothesis);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#clear()
+	 */
+	@Override
+	public void clear() {
+		left = null;
+		right = null;
+		joint = new JointMassFunction<A, B>();
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Iterable#iterator()
+	 */
+	@Override
+	public Iterator<JointHypothesis<A, B>> iterator() {
+		if (joint != null)
+			return joint.iterator();
+		final Iterator<A> lefts = left.iterator();
+		return new Iterator<JointHypothesis<A, B>>() {
+
+			private A a;
+
+			private Iterator<B> rights;
+
+			@Override
+			public boolean hasNext() {
+				while (rights == null || !rights.hasNext()) {
+					if (!lefts.hasNext())
+						return false;
+					a = lefts.next();
+					rights = right.iterator();
+				}
+				return true;
+			}
+
+			@Override
+			public JointHypothesis<A, B> next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				return new JointHypothesis<A, B>(a, rights.next());
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+
+		};
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#getMass(hypothesis.IHypothesis)
+	 */
+	@Override
+	public double getMass(JointHypothesis<A, B> hypothesis) {
+		if (joint != null)
+			return joint.getMass(hypothesis);
+		return left.getMass(hypothesis.h1) * right.getMass(hypothesis.h2);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#getBelief(hypothesis.IHypothesis)
+	 */
+	@Override
+	public double getBelief(JointHypothesis<A, B> hypothesis) {
+		if (joint != null)
+			return joint.getBelief(hypothesis);
+		return left.getBelief(hypothesis.h1) * right.getBelief(hypothesis.h2);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#getCommonality(hypothesis.IHypothesis)
+	 */
+	@Override
+	public double getCommonality(JointHypothesis<A, B> hypothesis) {
+		if (joint != null)
+			return joint.getCommonality(hypothesis);
+		return left.getCommonality(hypothesis.h1) * right.getCommonality(hypothesis.h2);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#getPlausibility(hypothesis.IHypothesis)
+	 */
+	@Override
+	public double getPlausibility(JointHypothesis<A, B> hypothesis) {
+		if (joint != null)
+			return joint.getPlausibility(hypothesis);
+		return left.getPlausibility(hypothesis.h1) * right.getPlausibility(hypothesis.h2);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#getMassSum()
+	 */
+	@Override
+	public double getMassSum() {
+		if (joint != null)
+			return joint.getMassSum();
+		return left.getMassSum() * right.getMassSum();
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#getFrameOfDiscernment()
+	 */
+	@Override
+	public JointHypothesis<A, B> getFrameOfDiscernment() {
+		if (joint != null)
+			return joint.getFrameOfDiscernment();
+		A theta1 = left.getFrameOfDiscernment();
+		B theta2 = right.getFrameOfDiscernment();
+		if (theta1 == null || theta2 == null)
+			return null;
+		return new JointHypothesis<A, B>(theta1, theta2);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#condition(hypothesis.IHypothesis, boolean)
+	 */
+	@Override
+	public FactorizedJointMassFunction<A, B, MA, MB> condition(JointHypothesis<A, B> condition, boolean normalize) {
+		if (joint != null)
+			return new FactorizedJointMassFunction<A, B, MA, MB>(null, null, joint.condition(condition, normalize));
+		FactorizedJointMassFunction<A, B, MA, MB> conditioned = new FactorizedJointMassFunction<A, B, MA, MB>(left.condition(condition.h1, false),
+				right.condition(condition.h2, false), null);
+		if (normalize)
+			conditioned.normalize();
+		return conditioned;
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#condition(hypothesis.IHypothesis)
+	 */
+	@Override
+	public FactorizedJointMassFunction<A, B, MA, MB> condition(JointHypothesis<A, B> condition) {
+		return condition(condition, true);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#combineConjunctive(mass.IMassFunction, boolean)
+	 */
+	@Override
+	public FactorizedJointMassFunction<A, B, MA, MB> combineConjunctive(FactorizedJointMassFunction<A, B, MA, MB> m, boolean normalize) {
+		if (joint != null || m.joint != null)
+			return new FactorizedJointMassFunction<A, B, MA, MB>(null, null, explicit().combineConjunctive(m.explicit(), normalize));
+		// (a1 | b1) & (a2 | b2) = (a1 & a2 | b1 & b2), and the product is empty if and only if one of the factors is
+		FactorizedJointMassFunction<A, B, MA, MB> combination = new FactorizedJointMassFunction<A, B, MA, MB>(left.combineConjunctive(m.left, false),
+				right.combineConjunctive(m.right, false), null);
+		if (normalize)
+			combination.normalize();
+		return combination;
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#combineConjunctive(mass.IMassFunction)
+	 */
+	@Override
+	public FactorizedJointMassFunction<A, B, MA, MB> combineConjunctive(FactorizedJointMassFunction<A, B, MA, MB> m) {
+		return combineConjunctive(m, true);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#combineDisjunctive(mass.IMassFunction)
+	 */
+	@Override
+	public FactorizedJointMassFunction<A, B, MA, MB> combineDisjunctive(FactorizedJointMassFunction<A, B, MA, MB> m) {
+		if (joint != null || m.joint != null)
+			return new FactorizedJointMassFunction<A, B, MA, MB>(null, null, explicit().combineDisjunctive(m.explicit()));
+		// JointHypothesis.unite is component-wise as well
+		return new FactorizedJointMassFunction<A, B, MA, MB>(left.combineDisjunctive(m.left), right.combineDisjunctive(m.right), null);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#getWeightOfConflict(mass.IMassFunction)
+	 */
+	@Override
+	public double getWeightOfConflict(FactorizedJointMassFunction<A, B, MA, MB> m) {
+		if (joint != null || m.joint != null)
+			return explicit().getWeightOfConflict(m.explicit());
+		double emptyMass = getMassSum() * m.getMassSum() - combineConjunctive(m, false).getMassSum();
+		return -Math.log(1.0 - emptyMass);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#isNormalized()
+	 */
+	@Override
+	public boolean isNormalized() {
+		return isNormalized(0);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#isNormalized(double)
+	 */
+	@Override
+	public boolean isNormalized(double epsilon) {
+		return Math.abs(getMassSum() - 1.0) <= epsilon;
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#normalize()
+	 */
+	@Override
+	public void normalize() {
+		if (joint != null)
+			joint.normalize();
+		else {
+			left.normalize();
+			right.normalize();
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#prune(double)
+	 */
+	@Override
+	public void prune(double minMass) {
+		materialize().prune(minMass);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#extendRight(hypothesis.IHypothesis)
+	 */
+	@Override
+	public <E extends IHypothesis<E>> JointMassFunction<JointHypothesis<A, B>, E> extendRight(E space) {
+		return explicit().extendRight(space);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#extendLeft(hypothesis.IHypothesis)
+	 */
+	@Override
+	public <E extends IHypothesis<E>> JointMassFunction<E, JointHypothesis<A, B>> extendLeft(E space) {
+		return explicit().extendLeft(space);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#copy(mass.IMassFunction)
+	 */
+	@Override
+	public void copy(IMassFunction<JointHypothesis<A, B>, ?> m) {
+		if (joint != null) {
+			joint.copy(m);
+			return;
+		}
+		m.clear();
+		for (A a : left) {
+			double mass = left.getMass(a);
+			for (B b : right)
+				m.add(new JointHypothesis<A, B>(a, b), mass * right.getMass(b));
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#toMap()
+	 */
+	@Override
+	public TreeMap<JointHypothesis<A, B>, Double> toMap() {
+		return explicit().toMap();
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#sample(java.util.Random)
+	 */
+	@Override
+	public JointHypothesis<A, B> sample(Random random) {
+		if (joint != null)
+			return joint.sample(random);
+		// the components of a product are independent
+		A a = left.sample(random);
+		B b = right.sample(random);
+		if (a == null || b == null)
+			return null;
+		return new JointHypothesis<A, B>(a, b);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IJointMassFunction#projectLeft(mass.IMassFunction)
+	 */
+	@Override
+	public void projectLeft(IMassFunction<A, ?> dest) {
+		if (joint != null) {
+			joint.projectLeft(dest);
+			return;
+		}
+		double sum = right.getMassSum();
+		for (A a : left)
+			dest.add(a, left.getMass(a) * sum);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IJointMassFunction#projectRight(mass.IMassFunction)
+	 */
+	@Override
+	public void projectRight(IMassFunction<B, ?> dest) {
+		if (joint != null) {
+			joint.projectRight(dest);
+			return;
+		}
+		double sum = left.getMassSum();
+		for (B b : right)
+			dest.add(b, right.getMass(b) * sum);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		if (joint != null)
+			return joint.toString();
+		return "(" + left + ") x (" + right + ")";
+	}
+
+
+	/**
+	 * Returns the explicit joint mass function, creating a temporary one from the factors if necessary.
+	 */
+	private JointMassFunction<A, B> explicit() {
+		return joint != null ? joint : toJointMassFunction();
+	}
+
+	/**
+	 * Replaces the factors by the explicit joint mass function.
+	 */
+	private JointMassFunction<A, B> materialize() {
+		if (joint == null) {
+			joint = toJointMassFunction();
+			left = null;
+			right = null;
+		}
+		return joint;
+	}
+
+}
@@ -0,0 +1,150 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.exact;
+
+import hypothesis.IHypothesis;
+
+/**
+ * Fuses a stream of mass functions by conjunctive combination while keeping at most a fixed number of focal sets.
+ * <p>
+ * After every combination, the accumulated mass function is reduced to the focal set budget by <code>AbstractMassFunction.summarize</code>,
+ * so memory and the cost of each update do not grow with the length of the stream. The mass moved by a summarization bounds the change
+ * of the belief and plausibility of any hypothesis caused by it. The accumulator reports this error for the last update and summed over all updates.
+ * <p>
+ * The sum is a bound on the accumulated error if the combinations are not normalized, since unnormalized conjunctive combination does not
+ * amplify differences between mass functions. Normalization rescales the error by the inverse of one minus the conflict.
+ *
+ */
+public class FocalBudgetAccumulator<H extends IHypothesis<H>, M extends AbstractMassFunction<H, M>> {
+
+	private final int maxFocalCount;
+
+	private final boolean normalize;
+
+	private M accumulated;
+
+	private int updateCount;
+
+	private double lastError;
+
+	private double totalError;
+
+	private double lastConflict;
+
+
+	/**
+	 * Creates an accumulator that normalizes after every combination.
+	 *
+	 * @param maxFocalCount the maximal number of focal sets (at least 1)
+	 */
+	public FocalBudgetAccumulator(int maxFocalCount) {
+		this(maxFocalCount, true);
+	}
+
+	/**
+	 * Creates an accumulator.
+	 *
+	 * @param maxFocalCount the maximal number of focal sets (at least 1)
+	 * @param normalize perform a normalization after every combination
+	 */
+	public FocalBudgetAccumulator(int maxFocalCount, boolean normalize) {
+		if (maxFocalCount < 1)
+			throw new IllegalArgumentException("at least one focal set must remain");
+		this.maxFocalCount = maxFocalCount;
+		this.normalize = normalize;
+	}
+
+
+	/**
+	 * Combines <code>m</code> with the accumulated mass function and reduces the result to the focal set budget.
+	 *
+	 * @param m a mass function (is not modified)
+	 * @return The approximation error of this update, i.e., the mass moved by the summarization.
+	 */
+	public double add(M m) {
+		if (accumulated == null) {
+			accumulated = m.clone();
+			lastConflict = 0.0;
+			if (normalize)
+				accumulated.normalize();
+		}
+		else {
+			double expectedSum = accumulated.getMassSum() * m.getMassSum();
+			accumulated = accumulated.combineConjunctive(m, false);
+			lastConflict = expectedSum > 0 ? 1.0 - accumulated.getMassSum() / expectedSum : 0.0;
+			if (normalize)
+				accumulated.normalize();
+		}
+		lastError = accumulated.summarize(maxFocalCount);
+		totalError += lastError;
+		updateCount++;
+		return lastError;
+	}
+
+	/**
+	 * Returns a copy of the accumulated mass function.
+	 *
+	 * @return The accumulated mass function or <code>null</code> if nothing has been added yet.
+	 */
+	public M getMassFunction() {
+		return accumulated == null ? null : accumulated.clone();
+	}
+
+	/**
+	 * Returns the maximal number of focal sets.
+	 *
+	 * @return The focal set budget.
+	 */
+	public int getMaxFocalCount() {
+		return maxFocalCount;
+	}
+
+	/**
+	 * Returns the number of mass functions added since the creation or the last reset.
+	 *
+	 * @return The number of updates.
+	 */
+	public int getUpdateCount() {
+		return updateCount;
+	}
+
+	/**
+	 * Returns the approximation error of the last update.
+	 *
+	 * @return The mass moved by the last summarization.
+	 */
+	public double getLastError() {
+		return lastError;
+	}
+
+	/**
+	 * Returns the sum of the approximation errors of all updates.
+	 *
+	 * @return The total mass moved by summarizations.
+	 */
+	public double getTotalError() {
+		return totalError;
+	}
+
+	/**
+	 * Returns the conflict of the last combination, i.e., the fraction of the combined mass assigned to the empty set.
+	 *
+	 * @return The conflict of the last combination.
+	 */
+	public double getLastConflict() {
+		return lastConflict;
+	}
+
+	/**
+	 * Discards the accumulated mass function and all statistics.
+	 */
+	public void reset() {
+		accumulated = null;
+		updateCount = 0;
+		lastError = 0.0;
+		totalError = 0.0;
+		lastConflict = 0.0;
+	}
+
+}
@@ -0,0 +1,304 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.exact;
+
+import hypothesis.ContinuousGrid;
+import hypothesis.ContinuousHypothesis;
+
+import java.util.Arrays;
+
+import util.LongDoubleHashMap;
+
+/**
+ * Represents a mass function over a continuous frame of discernment whose focal hypotheses are aligned to a <code>ContinuousGrid</code>.
+ * <p>
+ * Hypotheses passed to <code>add</code>, <code>remove</code> and <code>getMass</code> are snapped to the grid first. Since intersections and
+ * unions of grid-aligned hypotheses are grid-aligned as well, combinations never create hypotheses that differ only slightly, and the number of
+ * focal hypotheses is bounded by the number of grid-aligned hypotheses.
+ * <p>
+ * Queries and combinations operate on a snapshot of the line indices of the focal hypotheses, stored dimension by dimension in flat
+ * <code>int</code> arrays. The inner loops compare or combine one index against a contiguous run of indices without branches, so the JIT
+ * compiler can vectorize them. Combined hypotheses are merged by their packed keys, which is exact.
+ *
+ */
+public class GridMassFunction extends AbstractMassFunction<ContinuousHypothesis, GridMassFunction> {
+
+	private final ContinuousGrid grid;
+
+	// snapshot of the focal hypotheses, built on demand and discarded on changes;
+	// the line index of hypothesis i in dimension d is at d * focalCount + i
+	private int[] lowerIndices, upperIndices;
+
+	private double[] focalMasses;
+
+	private int focalCount;
+
+
+	/**
+	 * Creates an empty mass function.
+	 *
+	 * @param grid the grid of all focal hypotheses
+	 */
+	public GridMassFunction(ContinuousGrid grid) {
+		super();
+		this.grid = grid;
+	}
+
+	/**
+	 * Creates a mass function that assigns all mass to the snapped <code>hypothesis</code>.
+	 *
+	 * @param grid the grid of all focal hypotheses
+	 * @param hypothesis a hypothesis
+	 */
+	public GridMassFunction(ContinuousGrid grid, ContinuousHypothesis hypothesis) {
+		this(grid);
+		add(hypothesis, 1.0);
+	}
+
+
+	@Override
+	protected GridMassFunction createMassFunction() {
+		return new GridMassFunction(grid);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractMassFunction#invalidateCaches()
+	 */
+	@Override
+	protected void invalidateCaches() {
+		super.invalidateCaches();
+		lowerIndices = null;
+		upperIndices = null;
+		focalMasses = null;
+	}
+
+	public ContinuousGrid getGrid() {
+		return grid;
+	}
+
+
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractMassFunction#add(hypothesis.IHypothesis, double)
+	 */
+	@Override
+	public void add(ContinuousHypothesis hypothesis, double mass) {
+		if (hypothesis.isEmpty())
+			throw new IllegalArgumentException("empty hypotheses are not allowed");
+		super.add(grid.snap(hypothesis), mass);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractMassFunction#remove(hypothesis.IHypothesis)
+	 */
+	@Override
+	public double remove(ContinuousHypothesis hypothesis) {
+		return hypothesis.isEmpty() ? 0.0 : super.remove(grid.snap(hypothesis));
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractMassFunction#getMass(hypothesis.IHypothesis)
+	 */
+	@Override
+	public double getMass(ContinuousHypothesis hypothesis) {
+		return hypothesis.isEmpty() ? 0.0 : super.getMass(grid.snap(hypothesis));
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractMassFunction#getBelief(hypothesis.IHypothesis)
+	 */
+	@Override
+	public double getBelief(ContinuousHypothesis hypothesis) {
+		if (hypothesis.isEmpty())
+			return super.getBelief(hypothesis);
+		checkDimensions(hypothesis);
+		updateSnapshot();
+		// a focal hypothesis is a subset if its lines lie within the innermost lines of the query
+		boolean[] matches = createMatches();
+		for (int d = 0; d < grid.getDimensions(); d++) {
+			int lower = grid.ceilIndex(d, hypothesis.getLowerBound(d)), upper = grid.floorIndex(d, hypothesis.getUpperBound(d));
+			int offset = d * focalCount;
+			for (int i = 0; i < focalCount; i++)
+				matches[i] &= lower <= lowerIndices[offset + i] & upperIndices[offset + i] <= upper;
+		}
+		return sumMatches(matches);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractMassFunction#getCommonality(hypothesis.IHypothesis)
+	 */
+	@Override
+	public double getCommonality(ContinuousHypothesis hypothesis) {
+		if (hypothesis.isEmpty())
+			return super.getCommonality(hypothesis);
+		checkDimensions(hypothesis);
+		updateSnapshot();
+		// a focal hypothesis is a superset if the outermost lines of the query lie within its lines
+		boolean[] matches = createMatches();
+		for (int d = 0; d < grid.getDimensions(); d++) {
+			int lower = grid.floorIndex(d, hypothesis.getLowerBound(d)), upper = grid.ceilIndex(d, hypothesis.getUpperBound(d));
+			int offset = d * focalCount;
+			for (int i = 0; i < focalCount; i++)
+				matches[i] &= lowerIndices[offset + i] <= lower & upper <= upperIndices[offset + i];
+		}
+		return sumMatches(matches);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractMassFunction#getPlausibility(hypothesis.IHypothesis)
+	 */
+	@Override
+	public double getPlausibility(ContinuousHypothesis hypothesis) {
+		if (hypothesis.isEmpty())
+			return super.getPlausibility(hypothesis);
+		checkDimensions(hypothesis);
+		updateSnapshot();
+		// a focal hypothesis overlaps the query if it reaches the innermost lines of the query
+		boolean[] matches = createMatches();
+		for (int d = 0; d < grid.getDimensions(); d++) {
+			int lower = grid.ceilIndex(d, hypothesis.getLowerBound(d)), upper = grid.floorIndex(d, hypothesis.getUpperBound(d));
+			int offset = d * focalCount;
+			for (int i = 0; i < focalCount; i++)
+				matches[i] &= lowerIndices[offset + i] <= upper & lower <= upperIndices[offset + i];
+		}
+		return sumMatches(matches);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractMassFunction#combineConjunctive(mass.exact.AbstractMassFunction, boolean)
+	 */
+	@Override
+	public GridMassFunction combineConjunctive(GridMassFunction m, boolean normalize) {
+		checkGrid(m);
+		updateSnapshot();
+		m.updateSnapshot();
+		int n = m.focalCount;
+		long[] keys = new long[n];
+		boolean[] nonEmpty = new boolean[n];
+		LongDoubleHashMap combined = new LongDoubleHashMap();
+		double emptyMass = 0.0;
+		for (int i = 0; i < focalCount; i++) {
+			// intersect hypothesis i with all hypotheses of m one dimension at a time, packing the keys along the way
+			Arrays.fill(keys, 0L);
+			Arrays.fill(nonEmpty, true);
+			for (int d = 0; d < grid.getDimensions(); d++) {
+				int bits = grid.getIndexBits(d);
+				int lower1 = lowerIndices[d * focalCount + i], upper1 = upperIndices[d * focalCount + i];
+				int offset = d * n;
+				for (int j = 0; j < n; j++) {
+					int lower = Math.max(lower1, m.lowerIndices[offset + j]);
+					int upper = Math.min(upper1, m.upperIndices[offset + j]);
+					nonEmpty[j] &= lower <= upper;
+					keys[j] = (keys[j] << (2 * bits)) | ((long) lower << bits) | upper;
+				}
+			}
+			double mass1 = focalMasses[i];
+			for (int j = 0; j < n; j++) {
+				double mass = mass1 * m.focalMasses[j];
+				if (nonEmpty[j])
+					combined.add(keys[j], mass);
+				else
+					emptyMass += mass;
+			}
+		}
+		GridMassFunction combination = toMassFunction(combined);
+		combination.setConflict(emptyMass);
+		if (normalize)
+			combination.normalize();
+		return combination;
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.exact.AbstractMassFunction#combineDisjunctive(mass.exact.AbstractMassFunction)
+	 */
+	@Override
+	public GridMassFunction combineDisjunctive(GridMassFunction m) {
+		checkGrid(m);
+		updateSnapshot();
+		m.updateSnapshot();
+		int n = m.focalCount;
+		long[] keys = new long[n];
+		LongDoubleHashMap combined = new LongDoubleHashMap();
+		for (int i = 0; i < focalCount; i++) {
+			Arrays.fill(keys, 0L);
+			for (int d = 0; d < grid.getDimensions(); d++) {
+				int bits = grid.getIndexBits(d);
+				int lower1 = lowerIndices[d * focalCount + i], upper1 = upperIndices[d * focalCount + i];
+				int offset = d * n;
+				for (int j = 0; j < n; j++) {
+					int lower = Math.min(lower1, m.lowerIndices[offset + j]);
+					int upper = Math.max(upper1, m.upperIndices[offset + j]);
+					keys[j] = (keys[j] << (2 * bits)) | ((long) lower << bits) | upper;
+				}
+			}
+			double mass1 = focalMasses[i];
+			for (int j = 0; j < n; j++)
+				combined.add(keys[j], mass1 * m.focalMasses[j]);
+		}
+		return toMassFunction(combined);
+	}
+
+
+	/**
+	 * Builds the index snapshot of the focal hypotheses unless it is up to date.
+	 */
+	private void updateSnapshot() {
+		if (focalMasses != null)
+			return;
+		int dimensions = grid.getDimensions();
+		int n = entries.size();
+		int[] lower = new int[dimensions * n], upper = new int[dimensions * n];
+		double[] masses = new double[n];
+		int i = 0;
+		for (int slot = 0; slot < entries.capacity(); slot++) {
+			if (!entries.isUsed(slot))
+				continue;
+			// focal hypotheses lie on grid lines, so the floor and ceiling indices are exact
+			ContinuousHypothesis h = entries.keyAt(slot);
+			for (int d = 0; d < dimensions; d++) {
+				lower[d * n + i] = grid.floorIndex(d, h.getLowerBound(d));
+				upper[d * n + i] = grid.ceilIndex(d, h.getUpperBound(d));
+			}
+			masses[i++] = massAt(slot);
+		}
+		lowerIndices = lower;
+		upperIndices = upper;
+		focalCount = n;
+		focalMasses = masses;
+	}
+
+	private boolean[] createMatches() {
+		boolean[] matches = new boolean[focalCount];
+		Arrays.fill(matches, true);
+		return matches;
+	}
+
+	private double sumMatches(boolean[] matches) {
+		double sum = 0.0;
+		for (int i = 0; i < focalCount; i++) {
+			if (matches[i])
+				sum += focalMasses[i];
+		}
+		return sum;
+	}
+
+	private GridMassFunction toMassFunction(LongDoubleHashMap masses) {
+		GridMassFunction m = createMassFunction();
+		for (int slot = 0; slot < masses.capacity(); slot++) {
+			if (masses.isUsed(slot))
+				m.entries.put(grid.decode(masses.keyAt(slot)), masses.valueAt(slot));
+		}
+		return m;
+	}
+
+	private void checkDimensions(ContinuousHypothesis hypothesis) {
+		if (hypothesis.getDimensions() != grid.getDimensions())
+			throw new IllegalArgumentException("dimensions must be equal");
+	}
+
+	private void checkGrid(GridMassFunction m) {
+		if (!grid.equals(m.grid))
+			throw new IllegalArgumentException("grids must be equal");
+	}
+
+}
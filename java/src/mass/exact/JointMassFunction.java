@@ -6,8 +6,6 @@ package mass.exact;
 import hypothesis.IHypothesis;
 import hypothesis.JointHypothesis;
 
-import java.util.Map;
-
 import mass.IJointMassFunction;
 import mass.IMassFunction;
 
@@ -47,8 +45,10 @@ public class JointMassFunction<A extends IHypothesis<A>, B extends IHypothesis<B
 	 */
 	@Override
 	public void projectLeft(IMassFunction<A, ?> dest) {
-		for (Map.Entry<JointHypothesis<A, B>, Double> entry : entries.entrySet())
-			dest.add(entry.getKey().h1, entry.getValue());
+		for (int i = 0; i < entries.capacity(); i++) {
+			if (entries.isUsed(i))
+				dest.add(entries.keyAt(i).h1, massAt(i));
+		}
 	}
 	
 	/* (non-Javadoc)
@@ -56,8 +56,10 @@ public class JointMassFunction<A extends IHypothesis<A>, B extends IHypothesis<B
 	 */
 	@Override
 	public void projectRight(IMassFunction<B, ?> dest) {
-		for (Map.Entry<JointHypothesis<A, B>, Double> entry : entries.entrySet())
-			dest.add(entry.getKey().h2, entry.getValue());
+		for (int i = 0; i < entries.capacity(); i++) {
+			if (entries.isUsed(i))
+				dest.add(entries.keyAt(i).h2, massAt(i));
+		}
 	}
 	
 }
@@ -0,0 +1,86 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.exact;
+
+import hypothesis.IDiscreteHypothesis;
+
+import java.util.HashMap;
+
+/**
+ * Predicts the successor belief of focal hypotheses for <code>AbstractDiscreteMassFunction.dynamicUpdate</code>.
+ * <p>
+ * The prediction of a hypothesis is the disjunctive combination of the predictions of its singletons. Every singleton is predicted at most once,
+ * and the partial combinations are kept in a trie of singleton prefixes, so hypotheses that start with the same singletons share the
+ * combinations of their common prefix. Since hypotheses iterate over their singletons in a fixed order, the combinations are performed in the
+ * same order as without the cache.
+ * <p>
+ * A predictor may be used for several mass functions as long as the model does not change.
+ *
+ */
+class TransitionPredictor<S extends Comparable<S>, H extends IDiscreteHypothesis<S, H>, M extends AbstractDiscreteMassFunction<S, H, M>> {
+
+	private final ITransitionModel<S, H, M> model;
+
+	private final HashMap<S, M> predictions = new HashMap<S, M>();
+
+	private final Node<S, M> root = new Node<S, M>(null);
+
+
+	/**
+	 * A prefix of singletons and the disjunctive combination of their predictions.
+	 */
+	private static class Node<S, M> {
+
+		final M prediction;
+
+		HashMap<S, Node<S, M>> children;
+
+		Node(M prediction) {
+			this.prediction = prediction;
+		}
+
+	}
+
+
+	TransitionPredictor(ITransitionModel<S, H, M> model) {
+		this.model = model;
+	}
+
+
+	/**
+	 * Returns the disjunctive combination of the predictions of all singletons of <code>hypothesis</code>. The result is shared and must not
+	 * be modified.
+	 *
+	 * @param hypothesis a non-empty hypothesis
+	 * @return The predicted belief.
+	 */
+	M predict(H hypothesis) {
+		Node<S, M> node = root;
+		for (S s : hypothesis) {
+			Node<S, M> child = node.children == null ? null : node.children.get(s);
+			if (child == null) {
+				M prediction = predictState(s);
+				child = new Node<S, M>(node.prediction == null ? prediction : node.prediction.combineDisjunctive(prediction));
+				if (node.children == null)
+					node.children = new HashMap<S, Node<S, M>>();
+				node.children.put(s, child);
+			}
+			node = child;
+		}
+		return node.prediction;
+	}
+
+	/**
+	 * Returns the prediction of the model for <code>state</code>, calling the model only once per state.
+	 */
+	private M predictState(S state) {
+		M prediction = predictions.get(state);
+		if (prediction == null) {
+			prediction = model.predict(state);
+			predictions.put(state, prediction);
+		}
+		return prediction;
+	}
+
+}
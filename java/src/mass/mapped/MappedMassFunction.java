@@ -0,0 +1,353 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.mapped;
+
+import hypothesis.BitSetHypothesis;
+import hypothesis.IHypothesis;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import mass.IMassFunction;
+import mass.exact.BitSetMassFunction;
+import mass.exact.JointMassFunction;
+
+/**
+ * A flyweight view of the mass function of a single entity of a <code>MappedMassStore</code>.
+ * <p>
+ * The view holds no focal sets itself; queries are answered from the mapped record and <code>add</code>, <code>remove</code>,
+ * <code>clear</code>, <code>normalize</code> and <code>prune</code> modify the record in place. A view can be moved to another entity by
+ * <code>setEntity</code>, so a single instance suffices to iterate over all entities of a store.
+ * <p>
+ * Derived mass functions live on the heap: <code>clone</code>, conditioning and combinations return <code>BitSetMassFunction</code>s.
+ *
+ * @see MappedMassStore
+ */
+public class MappedMassFunction<S extends Comparable<S>> implements IMassFunction<BitSetHypothesis<S>, BitSetMassFunction<S>> {
+
+	private final MappedMassStore<S> store;
+
+	private int entity;
+
+
+	MappedMassFunction(MappedMassStore<S> store, int entity) {
+		this.store = store;
+		setEntity(entity);
+	}
+
+
+	/**
+	 * Returns the store this view belongs to.
+	 *
+	 * @return The store.
+	 */
+	public MappedMassStore<S> getStore() {
+		return store;
+	}
+
+	/**
+	 * Returns the entity this view currently refers to.
+	 *
+	 * @return The entity index.
+	 */
+	public int getEntity() {
+		return entity;
+	}
+
+	/**
+	 * Moves this view to another entity of the same store.
+	 *
+	 * @param entity an entity index
+	 */
+	public void setEntity(int entity) {
+		if (entity < 0 || entity >= store.getEntityCount())
+			throw new IndexOutOfBoundsException("entity " + entity + " out of range");
+		this.entity = entity;
+	}
+
+	/**
+	 * Returns the number of focal sets of the current entity.
+	 *
+	 * @return The number of focal sets.
+	 */
+	public int size() {
+		return store.getFocalCount(entity);
+	}
+
+	/**
+	 * Copies the mass function of the current entity to the heap.
+	 *
+	 * @return The copied mass function.
+	 */
+	public BitSetMassFunction<S> toMassFunction() {
+		BitSetMassFunction<S> m = new BitSetMassFunction<S>(store.getFrame());
+		copy(m);
+		return m;
+	}
+
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#clone()
+	 */
+	@Override
+	public BitSetMassFunction<S> clone() {
+		return toMassFunction();
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#add(hypothesis.IHypothesis, double)
+	 */
+	@Override
+	public void add(BitSetHypothesis<S> hypothesis, double mass) {
+		store.add(entity, store.toMask(hypothesis), mass);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#remove(hypothesis.IHypothesis)
+	 */
+	@Override
+	public double remove(BitSetHypothesis<S> hypothesis) {
+		return store.remove(entity, store.toMask(hypothesis));
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#clear()
+	 */
+	@Override
+	public void clear() {
+		store.clear(entity);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Iterable#iterator()
+	 */
+	@Override
+	public Iterator<BitSetHypothesis<S>> iterator() {
+		final int e = entity;
+		final int n = store.getFocalCount(e);
+		return new Iterator<BitSetHypothesis<S>>() {
+
+			private int next = 0;
+
+			@Override
+			public boolean hasNext() {
+				return next < n;
+			}
+
+			@Override
+			public BitSetHypothesis<S> next() {
+				if (next >= n)
+					throw new NoSuchElementException();
+				return new BitSetHypothesis<S>(store.getFrame(), store.getFocalSet(e, next++));
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+
+		};
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#getMass(hypothesis.IHypothesis)
+	 */
+	@Override
+	public double getMass(BitSetHypothesis<S> hypothesis) {
+		return store.getMass(entity, store.toMask(hypothesis));
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#getBelief(hypothesis.IHypothesis)
+	 */
+	@Override
+	public double getBelief(BitSetHypothesis<S> hypothesis) {
+		return store.getBelief(entity, store.toMask(hypothesis));
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#getCommonality(hypothesis.IHypothesis)
+	 */
+	@Override
+	public double getCommonality(BitSetHypothesis<S> hypothesis) {
+		return store.getCommonality(entity, store.toMask(hypothesis));
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#getPlausibility(hypothesis.IHypothesis)
+	 */
+	@Override
+	public double getPlausibility(BitSetHypothesis<S> hypothesis) {
+		return store.getPlausibility(entity, store.toMask(hypothesis));
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#getMassSum()
+	 */
+	@Override
+	public double getMassSum() {
+		return store.getMassSum(entity);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#getFrameOfDiscernment()
+	 */
+	@Override
+	public BitSetHypothesis<S> getFrameOfDiscernment() {
+		int n = store.getFocalCount(entity);
+		if (n == 0)
+			return null;
+		long theta = 0;
+		for (int i = 0; i < n; i++)
+			theta |= store.getFocalSet(entity, i);
+		return new BitSetHypothesis<S>(store.getFrame(), theta);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#condition(hypothesis.IHypothesis, boolean)
+	 */
+	@Override
+	public BitSetMassFunction<S> condition(BitSetHypothesis<S> condition, boolean normalize) {
+		return toMassFunction().condition(condition, normalize);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#condition(hypothesis.IHypothesis)
+	 */
+	@Override
+	public BitSetMassFunction<S> condition(BitSetHypothesis<S> condition) {
+		return toMassFunction().condition(condition);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#combineConjunctive(mass.IMassFunction, boolean)
+	 */
+	@Override
+	public BitSetMassFunction<S> combineConjunctive(BitSetMassFunction<S> m, boolean normalize) {
+		return toMassFunction().combineConjunctive(m, normalize);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#combineConjunctive(mass.IMassFunction)
+	 */
+	@Override
+	public BitSetMassFunction<S> combineConjunctive(BitSetMassFunction<S> m) {
+		return toMassFunction().combineConjunctive(m);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#combineDisjunctive(mass.IMassFunction)
+	 */
+	@Override
+	public BitSetMassFunction<S> combineDisjunctive(BitSetMassFunction<S> m) {
+		return toMassFunction().combineDisjunctive(m);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#getWeightOfConflict(mass.IMassFunction)
+	 */
+	@Override
+	public double getWeightOfConflict(BitSetMassFunction<S> m) {
+		return toMassFunction().getWeightOfConflict(m);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#isNormalized()
+	 */
+	@Override
+	public boolean isNormalized() {
+		return isNormalized(0);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#isNormalized(double)
+	 */
+	@Override
+	public boolean isNormalized(double epsilon) {
+		return Math.abs(getMassSum() - 1.0) <= epsilon;
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#normalize()
+	 */
+	@Override
+	public void normalize() {
+		store.normalize(entity);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#prune(double)
+	 */
+	@Override
+	public void prune(double minMass) {
+		store.prune(entity, minMass);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#extendRight(hypothesis.IHypothesis)
+	 */
+	@Override
+	public <E extends IHypothesis<E>> JointMassFunction<BitSetHypothesis<S>, E> extendRight(E space) {
+		return toMassFunction().extendRight(space);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#extendLeft(hypothesis.IHypothesis)
+	 */
+	@Override
+	public <E extends IHypothesis<E>> JointMassFunction<E, BitSetHypothesis<S>> extendLeft(E space) {
+		return toMassFunction().extendLeft(space);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#copy(mass.IMassFunction)
+	 */
+	@Override
+	public void copy(IMassFunction<BitSetHypothesis<S>, ?> m) {
+		m.clear();
+		int n = store.getFocalCount(entity);
+		for (int i = 0; i < n; i++)
+			m.add(new BitSetHypothesis<S>(store.getFrame(), store.getFocalSet(entity, i)), store.getFocalMass(entity, i));
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#toMap()
+	 */
+	@Override
+	public TreeMap<BitSetHypothesis<S>, Double> toMap() {
+		TreeMap<BitSetHypothesis<S>, Double> map = new TreeMap<BitSetHypothesis<S>, Double>();
+		int n = store.getFocalCount(entity);
+		for (int i = 0; i < n; i++)
+			map.put(new BitSetHypothesis<S>(store.getFrame(), store.getFocalSet(entity, i)), store.getFocalMass(entity, i));
+		return map;
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#sample(java.util.Random)
+	 */
+	@Override
+	public BitSetHypothesis<S> sample(Random random) {
+		int n = store.getFocalCount(entity);
+		if (n == 0)
+			return null;
+		double r = random.nextDouble() * getMassSum();
+		for (int i = 0; i < n - 1; i++) {
+			r -= store.getFocalMass(entity, i);
+			if (r < 0)
+				return new BitSetHypothesis<S>(store.getFrame(), store.getFocalSet(entity, i));
+		}
+		return new BitSetHypothesis<S>(store.getFrame(), store.getFocalSet(entity, n - 1));
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return toMassFunction().toString();
+	}
+
+}
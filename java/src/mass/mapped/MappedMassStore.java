@@ -0,0 +1,491 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.mapped;
+
+import hypothesis.BitSetHypothesis;
+import hypothesis.Frame;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+import mass.IMassFunction;
+
+/**
+ * Stores the mass functions of many entities in a memory-mapped file.
+ * <p>
+ * All mass functions are defined over a shared frame of at most 64 singletons, so every focal set is a single <code>long</code> bitmask
+ * as returned by <code>BitSetHypothesis.toLong()</code>. Each entity owns a fixed-width record consisting of its number of focal sets
+ * followed by up to <code>getMaxFocalCount()</code> slots of a bitmask and its mass:
+ * <pre>
+ * record = focalCount:int, reserved:int, (mask:long, mass:double) * maxFocalCount
+ * </pre>
+ * Records are addressed by entity index and modified in place, so neither the heap footprint nor the time to open an existing store
+ * depends on the number of entities. The frame itself is not stored; it has to be passed to <code>open</code> with the same singleton
+ * indices that were used when the focal sets were written.
+ * <p>
+ * Operations on different entities may be performed concurrently. Operations on the same entity must be synchronized externally.
+ *
+ * @see MappedMassFunction
+ */
+public class MappedMassStore<S extends Comparable<S>> implements Closeable {
+
+	/**
+	 * The magic number at the start of every store file ("DSMS").
+	 */
+	public static final int MAGIC = 0x44534D53;
+
+	/**
+	 * The current file format version.
+	 */
+	public static final int VERSION = 1;
+
+	/**
+	 * The maximal number of singletons of the frame.
+	 */
+	public static final int MAX_FRAME_SIZE = 64;
+
+	private static final int HEADER_SIZE = 16;
+
+	private static final int RECORD_HEADER_SIZE = 8;
+
+	private static final int SLOT_SIZE = 16;
+
+	private static final int MAX_SEGMENT_SIZE = 1 << 30;
+
+	private final Frame<S> frame;
+
+	private final RandomAccessFile file;
+
+	private final int entityCount;
+
+	private final int maxFocalCount;
+
+	private final int recordSize;
+
+	private final int recordsPerSegment;
+
+	private final MappedByteBuffer[] segments;
+
+
+	private MappedMassStore(Frame<S> frame, RandomAccessFile file, int entityCount, int maxFocalCount) throws IOException {
+		this.frame = frame;
+		this.file = file;
+		this.entityCount = entityCount;
+		this.maxFocalCount = maxFocalCount;
+		this.recordSize = RECORD_HEADER_SIZE + SLOT_SIZE * maxFocalCount;
+		this.recordsPerSegment = MAX_SEGMENT_SIZE / recordSize;
+		FileChannel channel = file.getChannel();
+		segments = new MappedByteBuffer[(entityCount + recordsPerSegment - 1) / recordsPerSegment];
+		for (int s = 0; s < segments.length; s++) {
+			int records = Math.min(recordsPerSegment, entityCount - s * recordsPerSegment);
+			segments[s] = channel.map(MapMode.READ_WRITE, HEADER_SIZE + (long) s * recordsPerSegment * recordSize, (long) records * recordSize);
+		}
+	}
+
+
+	/**
+	 * Creates a new store, replacing <code>file</code> if it exists. All entities initially have no focal sets.
+	 *
+	 * @param file the file backing the store
+	 * @param frame the frame of discernment shared by all entities
+	 * @param entityCount the number of entities
+	 * @param maxFocalCount the maximal number of focal sets per entity
+	 * @return The store.
+	 * @throws IOException if the file cannot be created or mapped
+	 */
+	public static <S extends Comparable<S>> MappedMassStore<S> create(File file, Frame<S> frame, int entityCount, int maxFocalCount) throws IOException {
+		checkFrame(frame);
+		if (entityCount < 0)
+			throw new IllegalArgumentException("entity count must not be negative");
+		if (maxFocalCount < 1 || RECORD_HEADER_SIZE + (long) SLOT_SIZE * maxFocalCount > MAX_SEGMENT_SIZE)
+			throw new IllegalArgumentException("invalid maximal focal count " + maxFocalCount);
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		try {
+			raf.setLength(0);
+			raf.setLength(HEADER_SIZE + (long) entityCount * (RECORD_HEADER_SIZE + SLOT_SIZE * maxFocalCount));
+			raf.writeInt(MAGIC);
+			raf.writeInt(VERSION);
+			raf.writeInt(entityCount);
+			raf.writeInt(maxFocalCount);
+			return new MappedMassStore<S>(frame, raf, entityCount, maxFocalCount);
+		}
+		catch (IOException e) {
+			raf.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Opens an existing store. The records are mapped, not read, so opening takes constant time.
+	 *
+	 * @param file the file backing the store
+	 * @param frame the frame of discernment the store was created with
+	 * @return The store.
+	 * @throws IOException if the file cannot be mapped or is not a valid store
+	 */
+	public static <S extends Comparable<S>> MappedMassStore<S> open(File file, Frame<S> frame) throws IOException {
+		checkFrame(frame);
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		try {
+			if (raf.length() < HEADER_SIZE || raf.readInt() != MAGIC)
+				throw new IOException(file + " is not a mass function store");
+			int version = raf.readInt();
+			if (version != VERSION)
+				throw new IOException("unsupported store version " + version);
+			int entityCount = raf.readInt();
+			int maxFocalCount = raf.readInt();
+			if (entityCount < 0 || maxFocalCount < 1 || raf.length() != HEADER_SIZE + (long) entityCount * (RECORD_HEADER_SIZE + SLOT_SIZE * maxFocalCount))
+				throw new IOException(file + " is corrupt");
+			return new MappedMassStore<S>(frame, raf, entityCount, maxFocalCount);
+		}
+		catch (IOException e) {
+			raf.close();
+			throw e;
+		}
+	}
+
+
+	/**
+	 * Returns the frame of discernment shared by all entities.
+	 *
+	 * @return The frame of discernment.
+	 */
+	public Frame<S> getFrame() {
+		return frame;
+	}
+
+	/**
+	 * Returns the number of entities.
+	 *
+	 * @return The number of entities.
+	 */
+	public int getEntityCount() {
+		return entityCount;
+	}
+
+	/**
+	 * Returns the maximal number of focal sets per entity.
+	 *
+	 * @return The maximal number of focal sets.
+	 */
+	public int getMaxFocalCount() {
+		return maxFocalCount;
+	}
+
+	/**
+	 * Creates a view of the mass function of <code>entity</code>. The view can be moved to other entities by <code>setEntity</code>.
+	 *
+	 * @param entity an entity index
+	 * @return The view.
+	 */
+	public MappedMassFunction<S> view(int entity) {
+		return new MappedMassFunction<S>(this, entity);
+	}
+
+
+	/**
+	 * Returns the number of focal sets of <code>entity</code>.
+	 *
+	 * @param entity an entity index
+	 * @return The number of focal sets.
+	 */
+	public int getFocalCount(int entity) {
+		return segment(entity).getInt(offset(entity));
+	}
+
+	/**
+	 * Returns the bitmask of the focal set in slot <code>slot</code> of <code>entity</code>.
+	 *
+	 * @param entity an entity index
+	 * @param slot a slot index smaller than <code>getFocalCount(entity)</code>
+	 * @return The bitmask of the focal set.
+	 */
+	public long getFocalSet(int entity, int slot) {
+		return segment(entity).getLong(slot(entity, slot));
+	}
+
+	/**
+	 * Returns the mass of the focal set in slot <code>slot</code> of <code>entity</code>.
+	 *
+	 * @param entity an entity index
+	 * @param slot a slot index smaller than <code>getFocalCount(entity)</code>
+	 * @return The mass of the focal set.
+	 */
+	public double getFocalMass(int entity, int slot) {
+		return segment(entity).getDouble(slot(entity, slot) + 8);
+	}
+
+	/**
+	 * Adds <code>mass</code> to the mass of the focal set <code>mask</code> of <code>entity</code>.
+	 *
+	 * @param entity an entity index
+	 * @param mask the bitmask of a focal set
+	 * @param mass a mass
+	 * @throws IllegalStateException if <code>mask</code> is new and the record of <code>entity</code> is full
+	 */
+	public void add(int entity, long mask, double mass) {
+		if (mask == 0)
+			throw new IllegalArgumentException("empty hypotheses are not allowed");
+		if (Double.isNaN(mass))
+			throw new IllegalArgumentException("mass value is not a number");
+		ByteBuffer buffer = segment(entity);
+		int offset = offset(entity);
+		int n = buffer.getInt(offset);
+		for (int i = 0; i < n; i++) {
+			int slot = offset + RECORD_HEADER_SIZE + i * SLOT_SIZE;
+			if (buffer.getLong(slot) == mask) {
+				buffer.putDouble(slot + 8, buffer.getDouble(slot + 8) + mass);
+				return;
+			}
+		}
+		if (n == maxFocalCount)
+			throw new IllegalStateException("entity " + entity + " already has " + maxFocalCount + " focal sets");
+		int slot = offset + RECORD_HEADER_SIZE + n * SLOT_SIZE;
+		buffer.putLong(slot, mask);
+		buffer.putDouble(slot + 8, mass);
+		buffer.putInt(offset, n + 1);
+	}
+
+	/**
+	 * Removes the focal set <code>mask</code> of <code>entity</code>.
+	 *
+	 * @param entity an entity index
+	 * @param mask the bitmask of a focal set
+	 * @return The mass of the removed focal set or 0 if it was not contained.
+	 */
+	public double remove(int entity, long mask) {
+		ByteBuffer buffer = segment(entity);
+		int offset = offset(entity);
+		int n = buffer.getInt(offset);
+		for (int i = 0; i < n; i++) {
+			int slot = offset + RECORD_HEADER_SIZE + i * SLOT_SIZE;
+			if (buffer.getLong(slot) == mask) {
+				double mass = buffer.getDouble(slot + 8);
+				removeSlot(buffer, offset, i, n);
+				return mass;
+			}
+		}
+		return 0.0;
+	}
+
+	/**
+	 * Removes all focal sets of <code>entity</code>.
+	 *
+	 * @param entity an entity index
+	 */
+	public void clear(int entity) {
+		segment(entity).putInt(offset(entity), 0);
+	}
+
+	/**
+	 * Replaces the focal sets of <code>entity</code> by the focal sets of <code>m</code>.
+	 *
+	 * @param entity an entity index
+	 * @param m a mass function over the frame of this store
+	 * @throws IllegalStateException if <code>m</code> has more than <code>getMaxFocalCount()</code> focal sets
+	 */
+	public void set(int entity, IMassFunction<BitSetHypothesis<S>, ?> m) {
+		clear(entity);
+		for (BitSetHypothesis<S> h : m)
+			add(entity, toMask(h), m.getMass(h));
+	}
+
+	/**
+	 * Returns the mass of the focal set <code>mask</code> of <code>entity</code>.
+	 *
+	 * @param entity an entity index
+	 * @param mask the bitmask of a hypothesis
+	 * @return The mass of the hypothesis.
+	 */
+	public double getMass(int entity, long mask) {
+		ByteBuffer buffer = segment(entity);
+		int offset = offset(entity);
+		int n = buffer.getInt(offset);
+		for (int i = 0; i < n; i++) {
+			int slot = offset + RECORD_HEADER_SIZE + i * SLOT_SIZE;
+			if (buffer.getLong(slot) == mask)
+				return buffer.getDouble(slot + 8);
+		}
+		return 0.0;
+	}
+
+	/**
+	 * Returns the belief of the hypothesis <code>mask</code> for <code>entity</code>.
+	 *
+	 * @param entity an entity index
+	 * @param mask the bitmask of a hypothesis
+	 * @return The belief of the hypothesis.
+	 */
+	public double getBelief(int entity, long mask) {
+		ByteBuffer buffer = segment(entity);
+		int offset = offset(entity);
+		int n = buffer.getInt(offset);
+		double belief = 0.0;
+		for (int i = 0; i < n; i++) {
+			int slot = offset + RECORD_HEADER_SIZE + i * SLOT_SIZE;
+			if ((buffer.getLong(slot) & ~mask) == 0)
+				belief += buffer.getDouble(slot + 8);
+		}
+		return belief;
+	}
+
+	/**
+	 * Returns the commonality of the hypothesis <code>mask</code> for <code>entity</code>.
+	 *
+	 * @param entity an entity index
+	 * @param mask the bitmask of a hypothesis
+	 * @return The commonality of the hypothesis.
+	 */
+	public double getCommonality(int entity, long mask) {
+		ByteBuffer buffer = segment(entity);
+		int offset = offset(entity);
+		int n = buffer.getInt(offset);
+		double commonality = 0.0;
+		for (int i = 0; i < n; i++) {
+			int slot = offset + RECORD_HEADER_SIZE + i * SLOT_SIZE;
+			if ((mask & ~buffer.getLong(slot)) == 0)
+				commonality += buffer.getDouble(slot + 8);
+		}
+		return commonality;
+	}
+
+	/**
+	 * Returns the plausibility of the hypothesis <code>mask</code> for <code>entity</code>.
+	 *
+	 * @param entity an entity index
+	 * @param mask the bitmask of a hypothesis
+	 * @return The plausibility of the hypothesis.
+	 */
+	public double getPlausibility(int entity, long mask) {
+		ByteBuffer buffer = segment(entity);
+		int offset = offset(entity);
+		int n = buffer.getInt(offset);
+		double plausibility = 0.0;
+		for (int i = 0; i < n; i++) {
+			int slot = offset + RECORD_HEADER_SIZE + i * SLOT_SIZE;
+			if ((buffer.getLong(slot) & mask) != 0)
+				plausibility += buffer.getDouble(slot + 8);
+		}
+		return plausibility;
+	}
+
+	/**
+	 * Returns the sum of all masses of <code>entity</code>.
+	 *
+	 * @param entity an entity index
+	 * @return The mass sum.
+	 */
+	public double getMassSum(int entity) {
+		ByteBuffer buffer = segment(entity);
+		int offset = offset(entity);
+		int n = buffer.getInt(offset);
+		double sum = 0.0;
+		for (int i = 0; i < n; i++)
+			sum += buffer.getDouble(offset + RECORD_HEADER_SIZE + i * SLOT_SIZE + 8);
+		return sum;
+	}
+
+	/**
+	 * Normalizes the mass function of <code>entity</code> in place.
+	 *
+	 * @param entity an entity index
+	 */
+	public void normalize(int entity) {
+		double sum = getMassSum(entity);
+		if (sum != 1.0) {
+			ByteBuffer buffer = segment(entity);
+			int offset = offset(entity);
+			int n = buffer.getInt(offset);
+			for (int i = 0; i < n; i++) {
+				int slot = offset + RECORD_HEADER_SIZE + i * SLOT_SIZE + 8;
+				buffer.putDouble(slot, buffer.getDouble(slot) / sum);
+			}
+		}
+	}
+
+	/**
+	 * Removes all focal sets of <code>entity</code> whose mass is smaller than <code>minMass</code>.
+	 *
+	 * @param entity an entity index
+	 * @param minMass the minimal mass
+	 */
+	public void prune(int entity, double minMass) {
+		ByteBuffer buffer = segment(entity);
+		int offset = offset(entity);
+		int n = buffer.getInt(offset);
+		// removing a slot moves the last one into its place, so iterate backwards
+		for (int i = n - 1; i >= 0; i--) {
+			if (buffer.getDouble(offset + RECORD_HEADER_SIZE + i * SLOT_SIZE + 8) < minMass)
+				removeSlot(buffer, offset, i, n--);
+		}
+	}
+
+	/**
+	 * Writes all modifications to the underlying storage device.
+	 */
+	public void force() {
+		for (MappedByteBuffer segment : segments)
+			segment.force();
+	}
+
+	/* (non-Javadoc)
+	 * @see java.io.Closeable#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		force();
+		file.close();
+	}
+
+
+	/**
+	 * Converts a hypothesis over the frame of this store to its bitmask.
+	 *
+	 * @param hypothesis a hypothesis
+	 * @return The bitmask.
+	 */
+	long toMask(BitSetHypothesis<S> hypothesis) {
+		if (hypothesis.getFrame() != frame)
+			throw new IllegalArgumentException("hypothesis is built against a different frame");
+		if (hypothesis.getWordCount() > 1)
+			throw new IllegalArgumentException("hypothesis exceeds " + MAX_FRAME_SIZE + " singletons");
+		return hypothesis.toLong();
+	}
+
+	private void removeSlot(ByteBuffer buffer, int offset, int index, int n) {
+		int slot = offset + RECORD_HEADER_SIZE + index * SLOT_SIZE;
+		int last = offset + RECORD_HEADER_SIZE + (n - 1) * SLOT_SIZE;
+		buffer.putLong(slot, buffer.getLong(last));
+		buffer.putDouble(slot + 8, buffer.getDouble(last + 8));
+		buffer.putInt(offset, n - 1);
+	}
+
+	private ByteBuffer segment(int entity) {
+		if (entity < 0 || entity >= entityCount)
+			throw new IndexOutOfBoundsException("entity " + entity + " out of range");
+		return segments[entity / recordsPerSegment];
+	}
+
+	private int offset(int entity) {
+		return (entity % recordsPerSegment) * recordSize;
+	}
+
+	private int slot(int entity, int slot) {
+		if (slot < 0 || slot >= getFocalCount(entity))
+			throw new IndexOutOfBoundsException("slot " + slot + " out of range");
+		return offset(entity) + RECORD_HEADER_SIZE + slot * SLOT_SIZE;
+	}
+
+	private static void checkFrame(Frame<?> frame) {
+		if (frame.size() > MAX_FRAME_SIZE)
+			throw new IllegalArgumentException("frame has more than " + MAX_FRAME_SIZE + " singletons");
+	}
+
+}
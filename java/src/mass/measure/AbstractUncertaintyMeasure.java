@@ -0,0 +1,23 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.measure;
+
+import hypothesis.IDiscreteHypothesis;
+import mass.IDiscreteMassFunction;
+
+/**
+ * Base class for uncertainty measures that evaluates mass functions via a one-time <code>FocalSnapshot</code>.
+ * 
+ */
+public abstract class AbstractUncertaintyMeasure implements IUncertaintyMeasure {
+
+	/* (non-Javadoc)
+	 * @see mass.measure.IUncertaintyMeasure#measure(mass.IDiscreteMassFunction)
+	 */
+	@Override
+	public <S extends Comparable<S>, H extends IDiscreteHypothesis<S, H>, M extends IDiscreteMassFunction<S, H, M>> double measure(M m) {
+		return measure(new FocalSnapshot<S, H>(m));
+	}
+	
+}
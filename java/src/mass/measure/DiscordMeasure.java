@@ -5,10 +5,6 @@ package mass.measure;
 
 import hypothesis.IDiscreteHypothesis;
 
-import java.util.Map.Entry;
-
-import mass.IDiscreteMassFunction;
-
 
 /**
  * Calculates the discord measure for a given mass function.
@@ -16,22 +12,25 @@ import mass.IDiscreteMassFunction;
  * @author Thomas Reineking
  *
  */
-public class DiscordMeasure implements IUncertaintyMeasure {
+public class DiscordMeasure extends AbstractUncertaintyMeasure {
 	
-	public <S extends Comparable<S>, H extends IDiscreteHypothesis<S,H>, M extends IDiscreteMassFunction<S, H, M>> double measure(M m) {
+	/* (non-Javadoc)
+	 * @see mass.measure.IUncertaintyMeasure#measure(mass.measure.FocalSnapshot)
+	 */
+	@Override
+	public <S extends Comparable<S>, H extends IDiscreteHypothesis<S, H>> double measure(FocalSnapshot<S, H> snapshot) {
 		double discord = 0;
-		for (Entry<H, Double> a : m.toMap().entrySet()) {
-			double sizeA = a.getKey().size();
+		int k = snapshot.getFocalCount();
+		for (int a = 0; a < k; a++) {
+			double sizeA = snapshot.getSize(a);
 			double sum = 0;
-			for (Entry<H, Double> b : m.toMap().entrySet()) {
-				if (a.getKey().isSuperSetOf(b.getKey()))
-					sum += b.getValue();
-				else if (b.getKey().isSuperSetOf(a.getKey())) {
-					double sizeB = b.getKey().size();
-					sum += b.getValue() * sizeA / sizeB;
-				}
+			for (int b : snapshot.getSubsets(a))
+				sum += snapshot.getMass(b);
+			for (int b : snapshot.getSupersets(a)) {
+				if (b != a)
+					sum += snapshot.getMass(b) * sizeA / snapshot.getSize(b);
 			}
-			discord += a.getValue() * Math.log(sum) / Math.log(2);
+			discord += snapshot.getMass(a) * Math.log(sum) / Math.log(2);
 		}
 		return -discord;
 	};
@@ -0,0 +1,199 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.measure;
+
+import hypothesis.IDiscreteHypothesis;
+
+import java.util.Arrays;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import mass.IDiscreteMassFunction;
+import util.ObjectDoubleHashMap;
+import util.SetTrie;
+
+
+/**
+ * Immutable snapshot of the focal elements of a mass function over a discrete frame of discernment.
+ * <p>
+ * The focal elements are materialized once via <code>toMap()</code>, so uncertainty measures can iterate over them repeatedly
+ * without querying the mass function again. This matters for sampling-based mass functions where every call of <code>toMap()</code>
+ * or <code>getMass</code> iterates over all samples. The subset relation between focal elements and the pignistic probabilities
+ * are computed on first use and then shared by all measures that use this snapshot.
+ * 
+ * @see IUncertaintyMeasure#measure(FocalSnapshot)
+ */
+public class FocalSnapshot<S extends Comparable<S>, H extends IDiscreteHypothesis<S, H>> {
+
+	private final Object[] hypotheses;
+	
+	private final double[] masses;
+	
+	private final int[] sizes;
+	
+	/**
+	 * Entry <code>i</code> holds the sorted indices of all focal elements that are subsets of focal element <code>i</code>.
+	 */
+	private int[][] subsets;
+	
+	/**
+	 * Entry <code>i</code> holds the sorted indices of all focal elements that are supersets of focal element <code>i</code>.
+	 */
+	private int[][] supersets;
+	
+	private double[] pignistic;
+	
+	
+	/**
+	 * Creates a snapshot of the focal elements of <code>m</code>.
+	 * 
+	 * @param m a mass function over a discrete frame of discernment (is not modified)
+	 */
+	public <M extends IDiscreteMassFunction<S, H, M>> FocalSnapshot(M m) {
+		TreeMap<H, Double> map = m.toMap();
+		int k = map.size();
+		hypotheses = new Object[k];
+		masses = new double[k];
+		int i = 0;
+		for (Entry<H, Double> entry : map.entrySet()) {
+			hypotheses[i] = entry.getKey();
+			masses[i++] = entry.getValue();
+		}
+		sizes = new int[k];
+		for (i = 0; i < k; i++)
+			sizes[i] = getHypothesis(i).size();
+	}
+	
+	
+	/**
+	 * Returns the number of focal elements.
+	 * 
+	 * @return The number of focal elements.
+	 */
+	public int getFocalCount() {
+		return hypotheses.length;
+	}
+	
+	/**
+	 * Returns the focal element with index <code>i</code>.
+	 * 
+	 * @param i an index in the range <code>[0, getFocalCount())</code>
+	 * @return The focal element.
+	 */
+	@SuppressWarnings("unchecked")
+	public H getHypothesis(int i) {
+		return (H) hypotheses[i];
+	}
+	
+	/**
+	 * Returns the mass of the focal element with index <code>i</code>.
+	 * 
+	 * @param i an index in the range <code>[0, getFocalCount())</code>
+	 * @return The mass of the focal element.
+	 */
+	public double getMass(int i) {
+		return masses[i];
+	}
+	
+	/**
+	 * Returns the number of singletons of the focal element with index <code>i</code>.
+	 * 
+	 * @param i an index in the range <code>[0, getFocalCount())</code>
+	 * @return The cardinality of the focal element.
+	 */
+	public int getSize(int i) {
+		return sizes[i];
+	}
+	
+	/**
+	 * Returns the indices of all focal elements that are subsets of (or equal to) focal element <code>i</code>.
+	 * The subset relation is computed for all focal elements on the first call using a <code>SetTrie</code>,
+	 * which takes time proportional to the number of related pairs instead of all pairs.
+	 * 
+	 * @param i an index in the range <code>[0, getFocalCount())</code>
+	 * @return The indices in ascending order, including <code>i</code> (must not be modified).
+	 */
+	public int[] getSubsets(int i) {
+		computeRelation();
+		return subsets[i];
+	}
+	
+	/**
+	 * Returns the indices of all focal elements that are supersets of (or equal to) focal element <code>i</code>.
+	 * 
+	 * @param i an index in the range <code>[0, getFocalCount())</code>
+	 * @return The indices in ascending order, including <code>i</code> (must not be modified).
+	 * @see #getSubsets(int)
+	 */
+	public int[] getSupersets(int i) {
+		computeRelation();
+		return supersets[i];
+	}
+	
+	/**
+	 * Returns <code>true</code> if and only if focal element <code>i</code> is a superset of (or equal to) focal element <code>j</code>.
+	 * 
+	 * @param i an index in the range <code>[0, getFocalCount())</code>
+	 * @param j an index in the range <code>[0, getFocalCount())</code>
+	 * @return <code>true</code> if and only if focal element <code>i</code> contains focal element <code>j</code>.
+	 */
+	public boolean isSuperSetOf(int i, int j) {
+		return Arrays.binarySearch(getSubsets(i), j) >= 0;
+	}
+	
+	/**
+	 * Returns the pignistic probabilities of all singletons contained by at least one focal element, in no particular order.
+	 * The probabilities are computed on the first call.
+	 * 
+	 * @return The pignistic probabilities (must not be modified).
+	 */
+	public double[] getPignisticProbabilities() {
+		if (pignistic == null) {
+			ObjectDoubleHashMap<S> betP = new ObjectDoubleHashMap<S>();
+			for (int i = 0; i < hypotheses.length; i++) {
+				double share = masses[i] / sizes[i];
+				for (S s : getHypothesis(i))
+					betP.add(s, share);
+			}
+			double[] probabilities = new double[betP.size()];
+			int n = 0;
+			for (int i = 0; i < betP.capacity(); i++) {
+				if (betP.isUsed(i))
+					probabilities[n++] = betP.valueAt(i);
+			}
+			pignistic = probabilities;
+		}
+		return pignistic;
+	}
+	
+	
+	private void computeRelation() {
+		if (subsets != null)
+			return;
+		int k = hypotheses.length;
+		SetTrie<S> index = new SetTrie<S>();
+		for (int i = 0; i < k; i++)
+			index.put(getHypothesis(i), i);
+		int[][] sub = new int[k][];
+		int[] supersetCounts = new int[k];
+		for (int i = 0; i < k; i++) {
+			sub[i] = index.getSubsets(getHypothesis(i));
+			Arrays.sort(sub[i]);
+			for (int j : sub[i])
+				supersetCounts[j]++;
+		}
+		// the superset relation is the transpose of the subset relation
+		int[][] sup = new int[k][];
+		for (int j = 0; j < k; j++)
+			sup[j] = new int[supersetCounts[j]];
+		Arrays.fill(supersetCounts, 0);
+		for (int i = 0; i < k; i++) {
+			for (int j : sub[i])
+				sup[j][supersetCounts[j]++] = i;
+		}
+		supersets = sup;
+		subsets = sub;
+	}
+	
+}
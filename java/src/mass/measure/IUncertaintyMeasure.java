@@ -8,6 +8,9 @@ import mass.IDiscreteMassFunction;
 
 /**
  * Interface for uncertainty measures of mass functions over a discrete frame of discernment.
+ * <p>
+ * Measures operate on a <code>FocalSnapshot</code> of the mass function. Callers that evaluate several measures for the same mass function
+ * should create the snapshot once and pass it to each measure (or use <code>UncertaintyMeasures.measureAll</code>).
  * 
  * @author Thomas Reineking
  *
@@ -22,4 +25,12 @@ public interface IUncertaintyMeasure {
 	 */
 	public <S extends Comparable<S>, H extends IDiscreteHypothesis<S, H>, M extends IDiscreteMassFunction<S, H, M>> double measure(M m);
 	
+	/**
+	 * Calculates an uncertainty measure for the mass function captured by <code>snapshot</code>.
+	 * 
+	 * @param snapshot the focal elements of a mass function over a discrete frame of discernment
+	 * @return The calculated uncertainty measure.
+	 */
+	public <S extends Comparable<S>, H extends IDiscreteHypothesis<S, H>> double measure(FocalSnapshot<S, H> snapshot);
+	
 }
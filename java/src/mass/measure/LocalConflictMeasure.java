@@ -4,7 +4,6 @@
 package mass.measure;
 
 import hypothesis.IDiscreteHypothesis;
-import mass.IDiscreteMassFunction;
 
 /**
  * Calculates the local conflict measure for a given mass function.
@@ -14,18 +13,18 @@ import mass.IDiscreteMassFunction;
  * @author Thomas Reineking
  * 
  */
-public class LocalConflictMeasure implements IUncertaintyMeasure {
+public class LocalConflictMeasure extends AbstractUncertaintyMeasure {
 
 	/* (non-Javadoc)
-	 * @see net.sourceforge.jds.mass.measure.IUncertaintyMeasure#measure(net.sourceforge.jds.mass.IDiscreteMassFunction)
+	 * @see mass.measure.IUncertaintyMeasure#measure(mass.measure.FocalSnapshot)
 	 */
 	@Override
-	public <S extends Comparable<S>, H extends IDiscreteHypothesis<S, H>, M extends IDiscreteMassFunction<S, H, M>> double measure(M m) {
+	public <S extends Comparable<S>, H extends IDiscreteHypothesis<S, H>> double measure(FocalSnapshot<S, H> snapshot) {
 		double lc = 0.0;
-		for (H h : m) {
-			double mass = m.getMass(h);
+		for (int i = 0; i < snapshot.getFocalCount(); i++) {
+			double mass = snapshot.getMass(i);
 			if (mass > 0)
-				lc += mass * Math.log(h.size() / mass) / Math.log(2);
+				lc += mass * Math.log(snapshot.getSize(i) / mass) / Math.log(2);
 		}
 		return lc;
 	};
@@ -5,28 +5,27 @@ package mass.measure;
 
 import hypothesis.IDiscreteHypothesis;
 
-import java.util.Map.Entry;
-
-import mass.IDiscreteMassFunction;
-
 
 
 /**
  * Calculates the entropy of the pignistic transformation for a given mass function.
+ * <p>
+ * The pignistic probabilities are derived directly from the focal elements, so sampling-based mass functions are not resampled.
  * 
  * @author Thomas Reineking
  *
  */
-public class PignisticEntropyMeasure implements IUncertaintyMeasure {
+public class PignisticEntropyMeasure extends AbstractUncertaintyMeasure {
 
 	/* (non-Javadoc)
-	 * @see net.sourceforge.jds.mass.measure.IUncertaintyMeasure#measure(net.sourceforge.jds.mass.IDiscreteMassFunction)
+	 * @see mass.measure.IUncertaintyMeasure#measure(mass.measure.FocalSnapshot)
 	 */
 	@Override
-	public <S extends Comparable<S>, H extends IDiscreteHypothesis<S,H>, M extends IDiscreteMassFunction<S, H, M>> double measure(M m) {
+	public <S extends Comparable<S>, H extends IDiscreteHypothesis<S, H>> double measure(FocalSnapshot<S, H> snapshot) {
 		double entropy = 0;
-		for (Entry<?, Double> entry : m.getPignisticTransformation().toMap().entrySet()) {
-			entropy -= entry.getValue() * Math.log(entry.getValue()) / Math.log(2);
+		for (double p : snapshot.getPignisticProbabilities()) {
+			if (p > 0)
+				entropy -= p * Math.log(p) / Math.log(2);
 		}
 		return entropy;
 	}
@@ -5,10 +5,6 @@ package mass.measure;
 
 import hypothesis.IDiscreteHypothesis;
 
-import java.util.Map.Entry;
-
-import mass.IDiscreteMassFunction;
-
 
 /**
  * Calculates the strife measure for a given mass function.
@@ -16,26 +12,25 @@ import mass.IDiscreteMassFunction;
  * @author Thomas Reineking
  *
  */
-public class StrifeMeasure implements IUncertaintyMeasure {
+public class StrifeMeasure extends AbstractUncertaintyMeasure {
 	
 	/* (non-Javadoc)
-	 * @see net.sourceforge.jds.mass.measure.IUncertaintyMeasure#measure(net.sourceforge.jds.mass.IDiscreteMassFunction)
+	 * @see mass.measure.IUncertaintyMeasure#measure(mass.measure.FocalSnapshot)
 	 */
 	@Override
-	public <S extends Comparable<S>, H extends IDiscreteHypothesis<S,H>, M extends IDiscreteMassFunction<S, H, M>> double measure(M m) {
+	public <S extends Comparable<S>, H extends IDiscreteHypothesis<S, H>> double measure(FocalSnapshot<S, H> snapshot) {
 		double strife = 0;
-		for (Entry<H, Double> a : m.toMap().entrySet()) {
-			double sizeA = a.getKey().size();
+		int k = snapshot.getFocalCount();
+		for (int a = 0; a < k; a++) {
+			double sizeA = snapshot.getSize(a);
 			double sum = 0;
-			for (Entry<H, Double> b : m.toMap().entrySet()) {
-				a.getKey().isSuperSetOf(null);
-				if (a.getKey().isSuperSetOf(b.getKey())) {
-					double sizeB = b.getKey().size();
-					sum += b.getValue() * sizeB / sizeA;
-				} else if (b.getKey().isSuperSetOf(a.getKey()))
-					sum += b.getValue();
+			for (int b : snapshot.getSubsets(a))
+				sum += snapshot.getMass(b) * snapshot.getSize(b) / sizeA;
+			for (int b : snapshot.getSupersets(a)) {
+				if (b != a)
+					sum += snapshot.getMass(b);
 			}
-			strife += a.getValue() * Math.log(sum) / Math.log(2);
+			strife += snapshot.getMass(a) * Math.log(sum) / Math.log(2);
 		}
 		return -strife;
 	}
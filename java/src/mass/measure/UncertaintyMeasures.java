@@ -0,0 +1,78 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.measure;
+
+import hypothesis.IDiscreteHypothesis;
+import mass.IDiscreteMassFunction;
+
+/**
+ * Static utility methods for computing several uncertainty measures at once.
+ * 
+ */
+public class UncertaintyMeasures {
+
+	private static final double LN2 = Math.log(2);
+	
+	
+	private UncertaintyMeasures() {
+		// static methods only
+	}
+	
+	
+	/**
+	 * Computes discord, strife, local conflict and pignistic entropy of <code>m</code>.
+	 * 
+	 * @param m mass function over a discrete frame of discernment (is not modified)
+	 * @return The computed measures.
+	 * @see #measureAll(FocalSnapshot)
+	 */
+	public static <S extends Comparable<S>, H extends IDiscreteHypothesis<S, H>, M extends IDiscreteMassFunction<S, H, M>> UncertaintyProfile measureAll(M m) {
+		return measureAll(new FocalSnapshot<S, H>(m));
+	}
+	
+	/**
+	 * Computes discord, strife, local conflict and pignistic entropy of the mass function captured by <code>snapshot</code>.
+	 * <p>
+	 * Discord and strife are accumulated in the same pass over the subsets and supersets of each focal element, and the subset relation
+	 * of the snapshot is evaluated only once. The results are identical to those of the individual measures.
+	 * 
+	 * @param snapshot the focal elements of a mass function over a discrete frame of discernment
+	 * @return The computed measures.
+	 */
+	public static <S extends Comparable<S>, H extends IDiscreteHypothesis<S, H>> UncertaintyProfile measureAll(FocalSnapshot<S, H> snapshot) {
+		double discord = 0;
+		double strife = 0;
+		double localConflict = 0;
+		int k = snapshot.getFocalCount();
+		for (int a = 0; a < k; a++) {
+			double massA = snapshot.getMass(a);
+			double sizeA = snapshot.getSize(a);
+			double discordSum = 0;
+			double strifeSum = 0;
+			for (int b : snapshot.getSubsets(a)) {
+				double massB = snapshot.getMass(b);
+				discordSum += massB;
+				strifeSum += massB * snapshot.getSize(b) / sizeA;
+			}
+			for (int b : snapshot.getSupersets(a)) {
+				if (b != a) {
+					double massB = snapshot.getMass(b);
+					discordSum += massB * sizeA / snapshot.getSize(b);
+					strifeSum += massB;
+				}
+			}
+			discord -= massA * Math.log(discordSum) / LN2;
+			strife -= massA * Math.log(strifeSum) / LN2;
+			if (massA > 0)
+				localConflict += massA * Math.log(sizeA / massA) / LN2;
+		}
+		double pignisticEntropy = 0;
+		for (double p : snapshot.getPignisticProbabilities()) {
+			if (p > 0)
+				pignisticEntropy -= p * Math.log(p) / LN2;
+		}
+		return new UncertaintyProfile(discord, strife, localConflict, pignisticEntropy);
+	}
+	
+}
@@ -0,0 +1,66 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.measure;
+
+/**
+ * Holds the discord, strife, local conflict and pignistic entropy of a mass function.
+ * 
+ * @see UncertaintyMeasures#measureAll(FocalSnapshot)
+ */
+public class UncertaintyProfile {
+
+	private final double discord;
+	
+	private final double strife;
+	
+	private final double localConflict;
+	
+	private final double pignisticEntropy;
+	
+	
+	public UncertaintyProfile(double discord, double strife, double localConflict, double pignisticEntropy) {
+		this.discord = discord;
+		this.strife = strife;
+		this.localConflict = localConflict;
+		this.pignisticEntropy = pignisticEntropy;
+	}
+	
+	
+	/**
+	 * @see DiscordMeasure
+	 */
+	public double getDiscord() {
+		return discord;
+	}
+	
+	/**
+	 * @see StrifeMeasure
+	 */
+	public double getStrife() {
+		return strife;
+	}
+	
+	/**
+	 * @see LocalConflictMeasure
+	 */
+	public double getLocalConflict() {
+		return localConflict;
+	}
+	
+	/**
+	 * @see PignisticEntropyMeasure
+	 */
+	public double getPignisticEntropy() {
+		return pignisticEntropy;
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "discord: " + discord + ", strife: " + strife + ", local conflict: " + localConflict + ", pignistic entropy: " + pignisticEntropy;
+	}
+	
+}
@@ -0,0 +1,340 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.network;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import mass.exact.BitSetMassFunction;
+
+/**
+ * Computes marginals of the combination of valuations over many variables by local computation in a join tree (Shenoy-Shafer architecture).
+ * <p>
+ * The tree is built from the domains of the added valuations by eliminating one variable after another, choosing the variable that adds the
+ * fewest fill-in edges. Every elimination creates a clique of the eliminated variable and its neighbors, and every valuation is assigned to a
+ * clique that covers its domain. A marginal is computed in a clique that covers the queried variables by combining its valuations with the
+ * messages of all neighbors. The message from a clique to a neighbor is the combination of the clique's valuations with the messages of its
+ * other neighbors, marginalized to the variables both cliques share. Hence all combinations take place on the frames of single cliques, never on
+ * the product space of all variables.
+ * <p>
+ * Messages are cached. Adding a valuation whose domain is covered by an existing clique only invalidates the messages that point away from that
+ * clique, so the next query recomputes just the messages along the path from the new evidence to the queried clique. Other valuations cause the
+ * tree to be rebuilt on the next query.
+ * <p>
+ * Messages and marginals are normalized, i.e., the result equals the marginal of the normalized conjunctive combination of all valuations.
+ *
+ * @see Valuation
+ */
+public class JoinTree {
+
+	private final List<Valuation> valuations = new ArrayList<Valuation>();
+
+	// variables in the order of their first occurrence, null until the tree is built
+	private IdentityHashMap<Variable<?>, Integer> variables;
+
+	private List<Clique> cliques;
+
+	private int messageCount;
+
+
+	/**
+	 * A node of the join tree.
+	 */
+	private static class Clique {
+
+		final Variable<?>[] domain;
+
+		final List<Valuation> valuations = new ArrayList<Valuation>();
+
+		// combination of the assigned valuations, null if it has to be recomputed
+		Valuation local;
+
+		final List<Clique> neighbors = new ArrayList<Clique>();
+
+		// messages sent to the neighbors with the same index, null if they have to be recomputed
+		final List<Valuation> messages = new ArrayList<Valuation>();
+
+		Clique(Variable<?>[] domain) {
+			this.domain = domain;
+		}
+
+	}
+
+
+	/**
+	 * Adds a valuation to the combination.
+	 *
+	 * @param valuation a valuation (is not copied and must not be modified afterwards)
+	 */
+	public void add(Valuation valuation) {
+		valuations.add(valuation);
+		if (cliques == null)
+			return;
+		Clique clique = findClique(valuation.getDomain());
+		if (clique == null) {
+			// the tree has no room for the new valuation
+			cliques = null;
+			variables = null;
+			return;
+		}
+		clique.valuations.add(valuation);
+		clique.local = null;
+		invalidateMessages(clique, null);
+	}
+
+	/**
+	 * Returns the number of cliques, building the join tree if necessary.
+	 *
+	 * @return The number of cliques.
+	 */
+	public int getCliqueCount() {
+		build();
+		return cliques.size();
+	}
+
+	/**
+	 * Returns the number of messages computed since the creation of this tree. Useful for checking how much a query recomputed.
+	 *
+	 * @return The number of computed messages.
+	 */
+	public int getMessageCount() {
+		return messageCount;
+	}
+
+	/**
+	 * Computes the normalized marginal of the combination of all valuations on <code>variable</code>.
+	 *
+	 * @param variable a variable of one of the added valuations
+	 * @return The marginal mass function over the frame of <code>variable</code>.
+	 */
+	public <S extends Comparable<S>> BitSetMassFunction<S> getMarginal(Variable<S> variable) {
+		return getJointMarginal(variable).toMassFunction(variable);
+	}
+
+	/**
+	 * Computes the normalized marginal of the combination of all valuations on <code>variables</code>. The variables must be covered by a single
+	 * clique, which can be ensured by adding a vacuous valuation over them before the first query.
+	 *
+	 * @param variables variables of the added valuations
+	 * @return The marginal valuation over <code>variables</code>.
+	 */
+	public Valuation getJointMarginal(Variable<?>... variables) {
+		build();
+		for (Variable<?> v : variables) {
+			if (!this.variables.containsKey(v))
+				throw new IllegalArgumentException("unknown variable " + v);
+		}
+		Clique clique = findClique(variables);
+		if (clique == null)
+			throw new IllegalArgumentException("variables are not covered by a single clique");
+		Valuation belief = getLocal(clique);
+		for (int i = 0; i < clique.neighbors.size(); i++)
+			belief = belief.combine(getMessage(clique.neighbors.get(i), clique));
+		Valuation marginal = belief.marginalize(variables);
+		marginal.normalize();
+		return marginal;
+	}
+
+
+	/**
+	 * Builds the join tree unless it is up to date.
+	 */
+	private void build() {
+		if (cliques != null)
+			return;
+		variables = new IdentityHashMap<Variable<?>, Integer>();
+		List<Variable<?>> order = new ArrayList<Variable<?>>();
+		for (Valuation valuation : valuations) {
+			for (Variable<?> v : valuation.getDomain()) {
+				if (!variables.containsKey(v)) {
+					variables.put(v, order.size());
+					order.add(v);
+				}
+			}
+		}
+		int n = order.size();
+		boolean[][] adjacent = new boolean[n][n];
+		for (Valuation valuation : valuations) {
+			Variable<?>[] domain = valuation.getDomain();
+			for (Variable<?> v : domain) {
+				for (Variable<?> w : domain)
+					adjacent[variables.get(v)][variables.get(w)] = true;
+			}
+		}
+
+		// eliminate the variables, recording the clique created by each elimination
+		cliques = new ArrayList<Clique>();
+		boolean[] eliminated = new boolean[n];
+		int[] eliminationStep = new int[n];
+		List<int[]> members = new ArrayList<int[]>();
+		for (int step = 0; step < n; step++) {
+			int best = -1, bestFill = Integer.MAX_VALUE;
+			for (int v = 0; v < n; v++) {
+				if (!eliminated[v]) {
+					int fill = countFillIn(adjacent, eliminated, v);
+					if (fill < bestFill) {
+						best = v;
+						bestFill = fill;
+					}
+				}
+			}
+			int[] clique = neighborhood(adjacent, eliminated, best);
+			for (int a : clique) {
+				for (int b : clique)
+					adjacent[a][b] = true;
+			}
+			eliminated[best] = true;
+			eliminationStep[best] = step;
+			members.add(clique);
+			Variable<?>[] domain = new Variable<?>[clique.length];
+			long configurations = 1;
+			for (int i = 0; i < clique.length; i++) {
+				domain[i] = order.get(clique[i]);
+				configurations *= domain[i].size();
+			}
+			if (configurations > Valuation.MAX_CONFIGURATIONS) {
+				cliques = null;
+				throw new IllegalStateException("clique " + Arrays.toString(domain) + " has more than " + Valuation.MAX_CONFIGURATIONS + " configurations");
+			}
+			cliques.add(new Clique(domain));
+		}
+
+		// connect each clique to the clique of the next eliminated variable it contains
+		for (int step = 0; step < n; step++) {
+			int next = n;
+			for (int v : members.get(step)) {
+				if (eliminationStep[v] > step)
+					next = Math.min(next, eliminationStep[v]);
+			}
+			if (next < n)
+				connect(cliques.get(step), cliques.get(next));
+		}
+
+		for (Valuation valuation : valuations) {
+			Clique clique = findClique(valuation.getDomain());
+			// valuations over the empty domain only scale the combination
+			if (clique != null)
+				clique.valuations.add(valuation);
+		}
+	}
+
+	private Valuation getLocal(Clique clique) {
+		if (clique.local == null) {
+			Valuation local = Valuation.vacuous(clique.domain);
+			for (Valuation valuation : clique.valuations)
+				local = local.combine(valuation);
+			clique.local = local;
+		}
+		return clique.local;
+	}
+
+	private Valuation getMessage(Clique from, Clique to) {
+		int index = from.neighbors.indexOf(to);
+		Valuation message = from.messages.get(index);
+		if (message == null) {
+			message = getLocal(from);
+			for (Clique neighbor : from.neighbors) {
+				if (neighbor != to)
+					message = message.combine(getMessage(neighbor, from));
+			}
+			message = message.marginalize(separator(from, to));
+			// scaling does not change normalized marginals, but keeps long chains of messages from underflowing
+			message.normalize();
+			from.messages.set(index, message);
+			messageCount++;
+		}
+		return message;
+	}
+
+	/**
+	 * Invalidates all messages that are sent from <code>clique</code> away from <code>parent</code>, or from <code>clique</code> to any neighbor
+	 * if <code>parent</code> is <code>null</code>, and all messages further downstream.
+	 */
+	private void invalidateMessages(Clique clique, Clique parent) {
+		for (int i = 0; i < clique.neighbors.size(); i++) {
+			Clique neighbor = clique.neighbors.get(i);
+			if (neighbor != parent) {
+				clique.messages.set(i, null);
+				invalidateMessages(neighbor, clique);
+			}
+		}
+	}
+
+	/**
+	 * Returns a clique whose domain contains <code>variables</code>, preferring small cliques.
+	 */
+	private Clique findClique(Variable<?>[] variables) {
+		Clique best = null;
+		for (Clique clique : cliques) {
+			if (containsAll(clique.domain, variables) && (best == null || clique.domain.length < best.domain.length))
+				best = clique;
+		}
+		return best;
+	}
+
+	private static boolean containsAll(Variable<?>[] domain, Variable<?>[] variables) {
+		for (Variable<?> v : variables) {
+			boolean found = false;
+			for (Variable<?> w : domain)
+				found |= v == w;
+			if (!found)
+				return false;
+		}
+		return true;
+	}
+
+	private static Variable<?>[] separator(Clique c1, Clique c2) {
+		List<Variable<?>> shared = new ArrayList<Variable<?>>();
+		for (Variable<?> v : c1.domain) {
+			for (Variable<?> w : c2.domain) {
+				if (v == w)
+					shared.add(v);
+			}
+		}
+		return shared.toArray(new Variable<?>[shared.size()]);
+	}
+
+	private static void connect(Clique c1, Clique c2) {
+		c1.neighbors.add(c2);
+		c1.messages.add(null);
+		c2.neighbors.add(c1);
+		c2.messages.add(null);
+	}
+
+	/**
+	 * Returns <code>v</code> and its neighbors among the variables that have not been eliminated yet.
+	 */
+	private static int[] neighborhood(boolean[][] adjacent, boolean[] eliminated, int v) {
+		int count = 0;
+		for (int w = 0; w < adjacent.length; w++) {
+			if (w == v || adjacent[v][w] && !eliminated[w])
+				count++;
+		}
+		int[] neighborhood = new int[count];
+		count = 0;
+		for (int w = 0; w < adjacent.length; w++) {
+			if (w == v || adjacent[v][w] && !eliminated[w])
+				neighborhood[count++] = w;
+		}
+		return neighborhood;
+	}
+
+	/**
+	 * Returns the number of edges that eliminating <code>v</code> would add between its neighbors.
+	 */
+	private static int countFillIn(boolean[][] adjacent, boolean[] eliminated, int v) {
+		int[] neighborhood = neighborhood(adjacent, eliminated, v);
+		int fill = 0;
+		for (int i = 0; i < neighborhood.length; i++) {
+			for (int j = i + 1; j < neighborhood.length; j++) {
+				if (!adjacent[neighborhood[i]][neighborhood[j]])
+					fill++;
+			}
+		}
+		return fill;
+	}
+
+}
@@ -0,0 +1,454 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.network;
+
+import hypothesis.BitSetHypothesis;
+
+import java.util.Arrays;
+
+import mass.IMassFunction;
+import mass.exact.BitSetMassFunction;
+import util.ObjectDoubleHashMap;
+
+/**
+ * A mass function over the configurations of a small set of variables, the domain of the valuation.
+ * <p>
+ * A configuration assigns a state to every variable of the domain. With the domain <code>v_0, ..., v_k-1</code>, the configuration of states
+ * <code>s_0, ..., s_k-1</code> has the index <code>s_0 + |v_0| * (s_1 + |v_1| * (s_2 + ...))</code>. Focal sets are sets of configurations
+ * encoded as bit masks of <code>long</code> words like in <code>BitSetHypothesis</code>: bit <code>c % 64</code> of word <code>c / 64</code>
+ * represents configuration <code>c</code>. A valuation over the empty domain has a single configuration.
+ * <p>
+ * Combination and marginalization are the operations of local computation: <code>combine</code> extends both valuations vacuously to the union
+ * of their domains and combines them conjunctively without normalization, <code>marginalize</code> projects the focal sets to a subset of the
+ * domain.
+ *
+ * @see JoinTree
+ */
+public class Valuation {
+
+	/**
+	 * The maximal number of configurations of a domain. Every focal set takes one bit per configuration.
+	 */
+	public static final int MAX_CONFIGURATIONS = 1 << 16;
+
+	private final Variable<?>[] domain;
+
+	private final int configurationCount;
+
+	// number of words of every focal set
+	private final int wordCount;
+
+	private final ObjectDoubleHashMap<Configurations> focalSets;
+
+
+	/**
+	 * A focal set, i.e., a set of configurations as a bit mask of <code>wordCount</code> words.
+	 */
+	private static final class Configurations {
+
+		final long[] words;
+
+		private final int hash;
+
+		Configurations(long[] words) {
+			this.words = words;
+			this.hash = Arrays.hashCode(words);
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Configurations && Arrays.equals(words, ((Configurations) obj).words);
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+	}
+
+
+	/**
+	 * Creates a valuation without focal sets.
+	 *
+	 * @param domain distinct variables with at most <code>MAX_CONFIGURATIONS</code> configurations
+	 */
+	public Valuation(Variable<?>... domain) {
+		this.domain = domain.clone();
+		long count = 1;
+		for (int i = 0; i < domain.length; i++) {
+			for (int j = 0; j < i; j++) {
+				if (domain[i] == domain[j])
+					throw new IllegalArgumentException("variables must be distinct");
+			}
+			count *= domain[i].size();
+			if (count > MAX_CONFIGURATIONS)
+				throw new IllegalArgumentException("domain must not have more than " + MAX_CONFIGURATIONS + " configurations");
+		}
+		configurationCount = (int) count;
+		wordCount = (configurationCount + 63) >>> 6;
+		focalSets = new ObjectDoubleHashMap<Configurations>();
+	}
+
+	/**
+	 * Creates a valuation over a single variable from a mass function over its frame.
+	 *
+	 * @param variable a variable
+	 * @param m a mass function whose hypotheses are defined over the frame of <code>variable</code>
+	 * @return The valuation.
+	 */
+	public static <S extends Comparable<S>> Valuation of(Variable<S> variable, IMassFunction<BitSetHypothesis<S>, ?> m) {
+		Valuation valuation = new Valuation(variable);
+		for (BitSetHypothesis<S> h : m) {
+			if (h.getFrame() != variable.getFrame())
+				throw new IllegalArgumentException("hypotheses must be defined over the frame of the variable");
+			valuation.add(h.toLongArray(), m.getMass(h));
+		}
+		return valuation;
+	}
+
+	/**
+	 * Creates a valuation that assigns all mass to the set of all configurations.
+	 *
+	 * @param domain distinct variables with at most <code>MAX_CONFIGURATIONS</code> configurations
+	 * @return The vacuous valuation.
+	 */
+	public static Valuation vacuous(Variable<?>... domain) {
+		Valuation valuation = new Valuation(domain);
+		valuation.add(valuation.getFullMask(), 1.0);
+		return valuation;
+	}
+
+
+	/**
+	 * Returns the variables of the domain.
+	 *
+	 * @return A copy of the domain.
+	 */
+	public Variable<?>[] getDomain() {
+		return domain.clone();
+	}
+
+	/**
+	 * Returns <code>true</code> if and only if every variable of <code>variables</code> belongs to the domain.
+	 *
+	 * @param variables some variables
+	 * @return <code>true</code> if and only if the domain contains <code>variables</code>.
+	 */
+	public boolean covers(Variable<?>... variables) {
+		for (Variable<?> v : variables) {
+			if (indexOf(v) < 0)
+				return false;
+		}
+		return true;
+	}
+
+	public int getConfigurationCount() {
+		return configurationCount;
+	}
+
+	/**
+	 * Returns the index of the configuration with the given states.
+	 *
+	 * @param states the state index of every variable of the domain
+	 * @return The configuration index.
+	 */
+	public int getConfiguration(int... states) {
+		if (states.length != domain.length)
+			throw new IllegalArgumentException("a state is required for every variable");
+		int configuration = 0;
+		for (int i = domain.length - 1; i >= 0; i--) {
+			if (states[i] < 0 || states[i] >= domain[i].size())
+				throw new IndexOutOfBoundsException("state " + states[i] + " out of range");
+			configuration = configuration * domain[i].size() + states[i];
+		}
+		return configuration;
+	}
+
+	/**
+	 * Returns the number of focal sets.
+	 *
+	 * @return The number of focal sets.
+	 */
+	public int size() {
+		return focalSets.size();
+	}
+
+	/**
+	 * Adds <code>mass</code> to the focal set <code>configurations</code>.
+	 *
+	 * @param configurations a non-empty set of configuration indices as a bit mask (is copied)
+	 * @param mass a mass value
+	 */
+	public void add(long[] configurations, double mass) {
+		long[] words = toWords(configurations);
+		if (words == null)
+			throw new IllegalArgumentException("configuration index out of range");
+		if (isEmpty(words))
+			throw new IllegalArgumentException("empty focal sets are not allowed");
+		if (Double.isNaN(mass))
+			throw new IllegalArgumentException("mass value is not a number");
+		focalSets.add(new Configurations(words), mass);
+	}
+
+	/**
+	 * Adds <code>mass</code> to the focal set <code>configurations</code>, which only contains configurations with indices below 64.
+	 *
+	 * @param configurations a non-empty set of configuration indices as a single-word bit mask
+	 * @param mass a mass value
+	 */
+	public void add(long configurations, double mass) {
+		add(new long[] {configurations}, mass);
+	}
+
+	/**
+	 * Returns the mass of the focal set <code>configurations</code>.
+	 *
+	 * @param configurations a set of configuration indices as a bit mask
+	 * @return The mass value.
+	 */
+	public double getMass(long[] configurations) {
+		long[] words = toWords(configurations);
+		return words != null ? focalSets.get(new Configurations(words)) : 0.0;
+	}
+
+	/**
+	 * Returns the mass of the focal set <code>configurations</code>, which only contains configurations with indices below 64.
+	 *
+	 * @param configurations a set of configuration indices as a single-word bit mask
+	 * @return The mass value.
+	 */
+	public double getMass(long configurations) {
+		return getMass(new long[] {configurations});
+	}
+
+	public double getMassSum() {
+		double sum = 0.0;
+		for (int slot = 0; slot < focalSets.capacity(); slot++) {
+			if (focalSets.isUsed(slot))
+				sum += focalSets.valueAt(slot);
+		}
+		return sum;
+	}
+
+	/**
+	 * Scales all mass values so that they sum up to 1. Valuations without mass are not changed.
+	 */
+	public void normalize() {
+		double sum = getMassSum();
+		if (sum != 1.0 && sum > 0)
+			scale(1.0 / sum);
+	}
+
+	/**
+	 * Combines this valuation and <code>v</code> conjunctively on the union of their domains. The result is not normalized, i.e., its mass
+	 * sum is reduced by the conflict between both valuations.
+	 *
+	 * @param v another valuation
+	 * @return The combined valuation.
+	 */
+	public Valuation combine(Valuation v) {
+		Variable<?>[] union = Arrays.copyOf(domain, domain.length + v.domain.length);
+		int n = domain.length;
+		for (Variable<?> variable : v.domain) {
+			if (indexOf(variable) < 0)
+				union[n++] = variable;
+		}
+		Valuation combination = new Valuation(Arrays.copyOf(union, n));
+		long[][] sets1 = extendFocalSets(combination), sets2 = v.extendFocalSets(combination);
+		double[] masses1 = getMasses(), masses2 = v.getMasses();
+		long[] intersection = new long[combination.wordCount];
+		for (int i = 0; i < sets1.length; i++) {
+			for (int j = 0; j < sets2.length; j++) {
+				long nonEmpty = 0;
+				for (int w = 0; w < intersection.length; w++)
+					nonEmpty |= intersection[w] = sets1[i][w] & sets2[j][w];
+				if (nonEmpty != 0)
+					combination.focalSets.add(new Configurations(intersection.clone()), masses1[i] * masses2[j]);
+			}
+		}
+		return combination;
+	}
+
+	/**
+	 * Projects this valuation to a subset of its domain.
+	 *
+	 * @param variables variables of the domain of this valuation
+	 * @return The marginal valuation over <code>variables</code>.
+	 */
+	public Valuation marginalize(Variable<?>... variables) {
+		Valuation marginal = new Valuation(variables);
+		int[] projection = marginal.getProjection(this);
+		for (int slot = 0; slot < focalSets.capacity(); slot++) {
+			if (!focalSets.isUsed(slot))
+				continue;
+			long[] words = focalSets.keyAt(slot).words, projected = new long[marginal.wordCount];
+			for (int w = 0; w < words.length; w++) {
+				for (long word = words[w]; word != 0; word &= word - 1) {
+					int c = projection[(w << 6) + Long.numberOfTrailingZeros(word)];
+					projected[c >>> 6] |= 1L << c;
+				}
+			}
+			marginal.focalSets.add(new Configurations(projected), focalSets.valueAt(slot));
+		}
+		return marginal;
+	}
+
+	/**
+	 * Converts the marginal of this valuation on <code>variable</code> into a mass function over the frame of <code>variable</code>.
+	 *
+	 * @param variable a variable of the domain of this valuation
+	 * @return The mass function.
+	 */
+	public <S extends Comparable<S>> BitSetMassFunction<S> toMassFunction(Variable<S> variable) {
+		Valuation marginal = marginalize(variable);
+		BitSetMassFunction<S> m = new BitSetMassFunction<S>(variable.getFrame());
+		for (int slot = 0; slot < marginal.focalSets.capacity(); slot++) {
+			if (marginal.focalSets.isUsed(slot))
+				m.add(new BitSetHypothesis<S>(variable.getFrame(), marginal.focalSets.keyAt(slot).words), marginal.focalSets.valueAt(slot));
+		}
+		return m;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder(Arrays.toString(domain));
+		for (int slot = 0; slot < focalSets.capacity(); slot++) {
+			if (!focalSets.isUsed(slot))
+				continue;
+			s.append(" {");
+			long[] words = focalSets.keyAt(slot).words;
+			String separator = "";
+			for (int w = 0; w < words.length; w++) {
+				for (long word = words[w]; word != 0; word &= word - 1) {
+					s.append(separator).append((w << 6) + Long.numberOfTrailingZeros(word));
+					separator = ", ";
+				}
+			}
+			s.append("}=" + focalSets.valueAt(slot));
+		}
+		return s.toString();
+	}
+
+
+	private int indexOf(Variable<?> variable) {
+		for (int i = 0; i < domain.length; i++) {
+			if (domain[i] == variable)
+				return i;
+		}
+		return -1;
+	}
+
+	private long[] getFullMask() {
+		long[] words = new long[wordCount];
+		Arrays.fill(words, -1L);
+		if ((configurationCount & 63) != 0)
+			words[wordCount - 1] = (1L << configurationCount) - 1;
+		return words;
+	}
+
+	/**
+	 * Copies <code>configurations</code> into an array of <code>wordCount</code> words.
+	 *
+	 * @return The copy, or <code>null</code> if <code>configurations</code> contains configuration indices out of range.
+	 */
+	private long[] toWords(long[] configurations) {
+		long[] words = new long[wordCount];
+		for (int w = 0; w < configurations.length; w++) {
+			if (w < wordCount)
+				words[w] = configurations[w];
+			else if (configurations[w] != 0)
+				return null;
+		}
+		if ((configurationCount & 63) != 0 && (words[wordCount - 1] >>> configurationCount) != 0)
+			return null;
+		return words;
+	}
+
+	private static boolean isEmpty(long[] words) {
+		for (long word : words) {
+			if (word != 0)
+				return false;
+		}
+		return true;
+	}
+
+	private void scale(double factor) {
+		for (int slot = 0; slot < focalSets.capacity(); slot++) {
+			if (focalSets.isUsed(slot))
+				focalSets.setValueAt(slot, focalSets.valueAt(slot) * factor);
+		}
+	}
+
+	private double[] getMasses() {
+		double[] masses = new double[focalSets.size()];
+		int n = 0;
+		for (int slot = 0; slot < focalSets.capacity(); slot++) {
+			if (focalSets.isUsed(slot))
+				masses[n++] = focalSets.valueAt(slot);
+		}
+		return masses;
+	}
+
+	/**
+	 * Returns the focal sets extended vacuously to the domain of <code>v</code>, which must contain the domain of this valuation.
+	 */
+	private long[][] extendFocalSets(Valuation v) {
+		int[] projection = getProjection(v);
+		long[][] sets = new long[focalSets.size()][];
+		int n = 0;
+		for (int slot = 0; slot < focalSets.capacity(); slot++) {
+			if (!focalSets.isUsed(slot))
+				continue;
+			long[] words = focalSets.keyAt(slot).words, extended = new long[v.wordCount];
+			for (int c = 0; c < v.configurationCount; c++) {
+				int p = projection[c];
+				extended[c >>> 6] |= ((words[p >>> 6] >>> p) & 1L) << c;
+			}
+			sets[n++] = extended;
+		}
+		return sets;
+	}
+
+	/**
+	 * Maps every configuration of <code>v</code>, whose domain must contain the domain of this valuation, to the configuration of this
+	 * valuation with the same states.
+	 */
+	private int[] getProjection(Valuation v) {
+		int[] strides = new int[v.domain.length];
+		int stride = 1;
+		for (int i = 0; i < domain.length; i++) {
+			int index = v.indexOf(domain[i]);
+			if (index < 0)
+				throw new IllegalArgumentException("variable " + domain[i] + " is not contained in the domain");
+			strides[index] = stride;
+			stride *= domain[i].size();
+		}
+		int[] projection = new int[v.configurationCount];
+		int[] states = new int[v.domain.length];
+		int configuration = 0;
+		for (int c = 0; c < v.configurationCount; c++) {
+			projection[c] = configuration;
+			// advance the states of v like a counter and update the projected configuration incrementally
+			for (int i = 0; i < states.length; i++) {
+				configuration += strides[i];
+				if (++states[i] < v.domain[i].size())
+					break;
+				configuration -= strides[i] * states[i];
+				states[i] = 0;
+			}
+		}
+		return projection;
+	}
+
+}
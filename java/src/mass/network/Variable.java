@@ -0,0 +1,70 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.network;
+
+import hypothesis.Frame;
+
+/**
+ * A variable of a valuation network whose states are the singletons of a <code>Frame</code>.
+ * <p>
+ * The state with frame index <code>i</code> is state <code>i</code> of the variable. Variables are compared by identity, so two variables with
+ * the same name are different variables.
+ * <p>
+ * The number of states is fixed when the variable is created, since valuations encode configurations by the state counts of their variables.
+ * Once the frame has grown, the variable can no longer be used.
+ *
+ */
+public class Variable<S extends Comparable<S>> {
+
+	private final String name;
+
+	private final Frame<S> frame;
+
+	private final int size;
+
+
+	/**
+	 * Creates a variable.
+	 *
+	 * @param name the name of the variable
+	 * @param frame the states of the variable (at least one)
+	 */
+	public Variable(String name, Frame<S> frame) {
+		if (frame.size() == 0)
+			throw new IllegalArgumentException("at least one state is required");
+		this.name = name;
+		this.frame = frame;
+		this.size = frame.size();
+	}
+
+
+	public String getName() {
+		return name;
+	}
+
+	public Frame<S> getFrame() {
+		return frame;
+	}
+
+	/**
+	 * Returns the number of states.
+	 *
+	 * @return The size of the frame when this variable was created.
+	 * @throws IllegalStateException if singletons have been added to the frame since
+	 */
+	public int size() {
+		if (frame.size() != size)
+			throw new IllegalStateException("the frame of variable " + name + " has grown since the variable was created");
+		return size;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return name;
+	}
+
+}
@@ -0,0 +1,109 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.persistent;
+
+import hypothesis.IHypothesis;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+
+/**
+ * Publishes versions of an immutable mass function from writers to concurrent readers.
+ * <p>
+ * Readers obtain the current version by <code>get()</code> without locking and may keep using it while newer versions are published.
+ * Writers either replace the current version by <code>set</code> or derive a new version from the current one by <code>update</code>,
+ * which retries if another writer published a version in the meantime.
+ *
+ * @see PersistentMassFunction
+ */
+public class MassFunctionReference<H extends IHypothesis<H>> {
+
+	private final AtomicReference<PersistentMassFunction<H>> current;
+
+
+	/**
+	 * Creates a reference that initially holds an empty mass function.
+	 */
+	public MassFunctionReference() {
+		this(new PersistentMassFunction<H>());
+	}
+
+	/**
+	 * Creates a reference that initially holds <code>initial</code>.
+	 *
+	 * @param initial the initial version
+	 */
+	public MassFunctionReference(PersistentMassFunction<H> initial) {
+		if (initial == null)
+			throw new NullPointerException("mass function must not be null");
+		current = new AtomicReference<PersistentMassFunction<H>>(initial);
+	}
+
+
+	/**
+	 * Returns the most recently published version.
+	 *
+	 * @return The current mass function.
+	 */
+	public PersistentMassFunction<H> get() {
+		return current.get();
+	}
+
+	/**
+	 * Publishes <code>m</code> as the new version.
+	 *
+	 * @param m the new mass function
+	 */
+	public void set(PersistentMassFunction<H> m) {
+		if (m == null)
+			throw new NullPointerException("mass function must not be null");
+		current.set(m);
+	}
+
+	/**
+	 * Publishes <code>update</code> if the current version is still <code>expected</code>.
+	 *
+	 * @param expected the version the update was derived from
+	 * @param update the new mass function
+	 * @return <code>true</code> if <code>update</code> was published.
+	 */
+	public boolean compareAndSet(PersistentMassFunction<H> expected, PersistentMassFunction<H> update) {
+		if (update == null)
+			throw new NullPointerException("mass function must not be null");
+		return current.compareAndSet(expected, update);
+	}
+
+	/**
+	 * Derives a new version from the current one and publishes it. If another writer publishes a version concurrently,
+	 * <code>update</code> is applied again to that version, so it should be free of side effects.
+	 *
+	 * @param update the update to be applied
+	 * @return The published mass function.
+	 */
+	public PersistentMassFunction<H> update(IUpdate<H> update) {
+		while (true) {
+			PersistentMassFunction<H> expected = current.get();
+			PersistentMassFunction<H> updated = update.apply(expected);
+			if (compareAndSet(expected, updated))
+				return updated;
+		}
+	}
+
+
+	/**
+	 * Derives a new version of a mass function from the current one.
+	 */
+	public interface IUpdate<H extends IHypothesis<H>> {
+
+		/**
+		 * Computes the new version.
+		 *
+		 * @param current the current version
+		 * @return The new version.
+		 */
+		public PersistentMassFunction<H> apply(PersistentMassFunction<H> current);
+
+	}
+
+}
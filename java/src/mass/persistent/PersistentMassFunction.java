@@ -0,0 +1,525 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.persistent;
+
+import hypothesis.IHypothesis;
+import hypothesis.JointHypothesis;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.TreeMap;
+
+import mass.IMassFunction;
+import mass.exact.JointMassFunction;
+import util.ObjectDoubleHashMap;
+import util.PersistentObjectDoubleMap;
+
+
+/**
+ * Represents an immutable exact mass function that can be shared between threads without synchronization or defensive copies.
+ * <p>
+ * Modifications are expressed by the <code>with...</code> methods, which return a new mass function and leave this one unchanged.
+ * The entries are stored in a <code>PersistentObjectDoubleMap</code>, so a new version shares all unchanged entries with its predecessor
+ * and adding or removing a single hypothesis only copies <code>O(log n)</code> nodes. Hypotheses are cloned once when they are added;
+ * callers must not modify hypotheses returned by this mass function (e.g. by its iterator).
+ * <p>
+ * The mutating methods of <code>IMassFunction</code> throw an <code>UnsupportedOperationException</code>. Combinations and conditioning
+ * return new immutable mass functions. Use <code>MassFunctionReference</code> to publish versions from a writer to concurrent readers.
+ *
+ * @see MassFunctionReference
+ */
+public final class PersistentMassFunction<H extends IHypothesis<H>> implements IMassFunction<H, PersistentMassFunction<H>> {
+
+	private final PersistentObjectDoubleMap<H> entries;
+
+	private final double massSum;
+
+
+	/**
+	 * Creates an empty mass function.
+	 */
+	public PersistentMassFunction() {
+		this(PersistentObjectDoubleMap.<H>empty(), 0.0);
+	}
+
+	/**
+	 * Creates a mass function that assigns all mass to <code>hypothesis</code>.
+	 *
+	 * @param hypothesis a hypothesis
+	 */
+	public PersistentMassFunction(H hypothesis) {
+		this(PersistentObjectDoubleMap.<H>empty().with(checkHypothesis(hypothesis).clone(), 1.0), 1.0);
+	}
+
+	private PersistentMassFunction(PersistentObjectDoubleMap<H> entries, double massSum) {
+		this.entries = entries;
+		this.massSum = massSum;
+	}
+
+	/**
+	 * Creates an immutable copy of <code>m</code>.
+	 *
+	 * @param m a mass function (is not modified)
+	 * @return The immutable copy.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <H extends IHypothesis<H>> PersistentMassFunction<H> of(IMassFunction<H, ?> m) {
+		if (m instanceof PersistentMassFunction)
+			return (PersistentMassFunction<H>) m;
+		PersistentMassFunction<H> copy = new PersistentMassFunction<H>();
+		for (Entry<H, Double> entry : m.toMap().entrySet())
+			copy = copy.with(entry.getKey(), entry.getValue());
+		return copy;
+	}
+
+
+	/**
+	 * Returns a mass function where <code>mass</code> is added to the mass of <code>hypothesis</code>, analogous to <code>add</code>.
+	 *
+	 * @param hypothesis a non-empty hypothesis (is cloned if it is not yet contained)
+	 * @param mass the mass to be added
+	 * @return The updated mass function.
+	 */
+	public PersistentMassFunction<H> with(H hypothesis, double mass) {
+		checkHypothesis(hypothesis);
+		if (Double.isNaN(mass))
+			throw new IllegalArgumentException("mass value is not a number");
+		// existing entries keep their stored key, so the caller's object is never put into the map
+		H key = entries.containsKey(hypothesis) ? hypothesis : hypothesis.clone();
+		return new PersistentMassFunction<H>(entries.withAdded(key, mass), massSum + mass);
+	}
+
+	/**
+	 * Returns a mass function that contains all hypotheses of this one and of <code>m</code>, adding up the masses of common hypotheses.
+	 *
+	 * @param m another mass function (is not modified)
+	 * @return The updated mass function.
+	 */
+	public PersistentMassFunction<H> with(IMassFunction<H, ?> m) {
+		PersistentMassFunction<H> result = this;
+		for (Entry<H, Double> entry : m.toMap().entrySet())
+			result = result.with(entry.getKey(), entry.getValue());
+		return result;
+	}
+
+	/**
+	 * Returns a mass function that does not contain <code>hypothesis</code> and otherwise equals this one.
+	 *
+	 * @param hypothesis a hypothesis
+	 * @return The updated mass function. Returns this mass function if <code>hypothesis</code> is not contained.
+	 */
+	public PersistentMassFunction<H> without(H hypothesis) {
+		double mass = entries.get(hypothesis);
+		PersistentObjectDoubleMap<H> updated = entries.without(hypothesis);
+		if (updated == entries)
+			return this;
+		return new PersistentMassFunction<H>(updated, massSum - mass);
+	}
+
+	/**
+	 * Returns a normalized version of this mass function.
+	 *
+	 * @return The normalized mass function. Returns this mass function if it is already normalized.
+	 * @see IMassFunction#normalize()
+	 */
+	public PersistentMassFunction<H> withNormalized() {
+		if (massSum == 1.0 || entries.isEmpty())
+			return this;
+		PersistentObjectDoubleMap<H> normalized = entries;
+		PersistentObjectDoubleMap.Cursor<H> cursor = entries.cursor();
+		while (cursor.next())
+			normalized = normalized.with(cursor.key(), cursor.value() / massSum);
+		return new PersistentMassFunction<H>(normalized, 1.0);
+	}
+
+	/**
+	 * Returns a version of this mass function without all hypotheses whose mass is smaller than <code>minMass</code>.
+	 *
+	 * @param minMass the minimum mass
+	 * @return The pruned mass function.
+	 * @see IMassFunction#prune(double)
+	 */
+	public PersistentMassFunction<H> withPruned(double minMass) {
+		PersistentMassFunction<H> pruned = this;
+		PersistentObjectDoubleMap.Cursor<H> cursor = entries.cursor();
+		while (cursor.next()) {
+			if (cursor.value() < minMass)
+				pruned = pruned.without(cursor.key());
+		}
+		return pruned;
+	}
+
+	/**
+	 * Returns the number of hypotheses contained by this mass function.
+	 *
+	 * @return The number of hypotheses.
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+
+	/**
+	 * Returns this mass function since it is immutable.
+	 *
+	 * @see mass.IMassFunction#clone()
+	 */
+	@Override
+	public PersistentMassFunction<H> clone() {
+		return this;
+	}
+
+	/**
+	 * Not supported.
+	 *
+	 * @throws UnsupportedOperationException always
+	 * @see #with(IHypothesis, double)
+	 */
+	@Override
+	public void add(H hypothesis, double mass) {
+		throw immutable();
+	}
+
+	/**
+	 * Not supported.
+	 *
+	 * @throws UnsupportedOperationException always
+	 * @see #without(IHypothesis)
+	 */
+	@Override
+	public double remove(H hypothesis) {
+		throw immutable();
+	}
+
+	/**
+	 * Not supported.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void clear() {
+		throw immutable();
+	}
+
+	/**
+	 * Not supported.
+	 *
+	 * @throws UnsupportedOperationException always
+	 * @see #withNormalized()
+	 */
+	@Override
+	public void normalize() {
+		throw immutable();
+	}
+
+	/**
+	 * Not supported.
+	 *
+	 * @throws UnsupportedOperationException always
+	 * @see #withPruned(double)
+	 */
+	@Override
+	public void prune(double minMass) {
+		throw immutable();
+	}
+
+
+	/* (non-Javadoc)
+	 * @see java.lang.Iterable#iterator()
+	 */
+	@Override
+	public Iterator<H> iterator() {
+		return entries.iterator();
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#getMass(hypothesis.IHypothesis)
+	 */
+	@Override
+	public double getMass(H hypothesis) {
+		return entries.get(hypothesis);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#getBelief(hypothesis.IHypothesis)
+	 */
+	@Override
+	public double getBelief(H hypothesis) {
+		double belief = 0.0;
+		PersistentObjectDoubleMap.Cursor<H> cursor = entries.cursor();
+		while (cursor.next()) {
+			if (hypothesis.isSuperSetOf(cursor.key()))
+				belief += cursor.value();
+		}
+		return belief;
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#getCommonality(hypothesis.IHypothesis)
+	 */
+	@Override
+	public double getCommonality(H hypothesis) {
+		double commonality = 0.0;
+		PersistentObjectDoubleMap.Cursor<H> cursor = entries.cursor();
+		while (cursor.next()) {
+			if (cursor.key().isSuperSetOf(hypothesis))
+				commonality += cursor.value();
+		}
+		return commonality;
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#getPlausibility(hypothesis.IHypothesis)
+	 */
+	@Override
+	public double getPlausibility(H hypothesis) {
+		double plausibility = 0.0;
+		PersistentObjectDoubleMap.Cursor<H> cursor = entries.cursor();
+		while (cursor.next()) {
+			if (!cursor.key().intersect(hypothesis).isEmpty())
+				plausibility += cursor.value();
+		}
+		return plausibility;
+	}
+
+	/**
+	 * Returns the mass sum, which is maintained incrementally by the <code>with...</code> methods.
+	 *
+	 * @see mass.IMassFunction#getMassSum()
+	 */
+	@Override
+	public double getMassSum() {
+		return massSum;
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#getFrameOfDiscernment()
+	 */
+	@Override
+	public H getFrameOfDiscernment() {
+		H theta = null;
+		for (H h : this) {
+			if (theta == null)
+				theta = h.clone();
+			else
+				theta = theta.unite(h);
+		}
+		return theta;
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#isNormalized()
+	 */
+	@Override
+	public boolean isNormalized() {
+		return isNormalized(0);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#isNormalized(double)
+	 */
+	@Override
+	public boolean isNormalized(double epsilon) {
+		return Math.abs(massSum - 1.0) <= epsilon;
+	}
+
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#condition(hypothesis.IHypothesis, boolean)
+	 */
+	@Override
+	public PersistentMassFunction<H> condition(H condition, boolean normalize) {
+		return combineConjunctive(new PersistentMassFunction<H>(condition), normalize);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#condition(hypothesis.IHypothesis)
+	 */
+	@Override
+	public PersistentMassFunction<H> condition(H condition) {
+		return condition(condition, true);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#combineConjunctive(mass.IMassFunction, boolean)
+	 */
+	@Override
+	public PersistentMassFunction<H> combineConjunctive(PersistentMassFunction<H> m, boolean normalize) {
+		ObjectDoubleHashMap<H> combined = new ObjectDoubleHashMap<H>();
+		PersistentObjectDoubleMap.Cursor<H> cursor1 = entries.cursor();
+		while (cursor1.next()) {
+			PersistentObjectDoubleMap.Cursor<H> cursor2 = m.entries.cursor();
+			while (cursor2.next()) {
+				H intersection = cursor1.key().intersect(cursor2.key());
+				if (!intersection.isEmpty())
+					combined.add(intersection, cursor1.value() * cursor2.value());
+			}
+		}
+		PersistentMassFunction<H> combination = fromMap(combined);
+		return normalize ? combination.withNormalized() : combination;
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#combineConjunctive(mass.IMassFunction)
+	 */
+	@Override
+	public PersistentMassFunction<H> combineConjunctive(PersistentMassFunction<H> m) {
+		return combineConjunctive(m, true);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#combineDisjunctive(mass.IMassFunction)
+	 */
+	@Override
+	public PersistentMassFunction<H> combineDisjunctive(PersistentMassFunction<H> m) {
+		ObjectDoubleHashMap<H> combined = new ObjectDoubleHashMap<H>();
+		PersistentObjectDoubleMap.Cursor<H> cursor1 = entries.cursor();
+		while (cursor1.next()) {
+			PersistentObjectDoubleMap.Cursor<H> cursor2 = m.entries.cursor();
+			while (cursor2.next())
+				combined.add(cursor1.key().unite(cursor2.key()), cursor1.value() * cursor2.value());
+		}
+		return fromMap(combined);
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#getWeightOfConflict(mass.IMassFunction)
+	 */
+	@Override
+	public double getWeightOfConflict(PersistentMassFunction<H> m) {
+		double emptyMass = 0;
+		PersistentObjectDoubleMap.Cursor<H> cursor1 = entries.cursor();
+		while (cursor1.next()) {
+			PersistentObjectDoubleMap.Cursor<H> cursor2 = m.entries.cursor();
+			while (cursor2.next()) {
+				if (cursor1.key().intersect(cursor2.key()).isEmpty())
+					emptyMass += cursor1.value() * cursor2.value();
+			}
+		}
+		return -Math.log(1.0 - emptyMass);
+	}
+
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#extendRight(hypothesis.IHypothesis)
+	 */
+	@Override
+	public <E extends IHypothesis<E>> JointMassFunction<H, E> extendRight(E space) {
+		JointMassFunction<H, E> extended = new JointMassFunction<H, E>();
+		PersistentObjectDoubleMap.Cursor<H> cursor = entries.cursor();
+		while (cursor.next())
+			extended.add(new JointHypothesis<H, E>(cursor.key(), space), cursor.value());
+		return extended;
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#extendLeft(hypothesis.IHypothesis)
+	 */
+	@Override
+	public <E extends IHypothesis<E>> JointMassFunction<E, H> extendLeft(E space) {
+		JointMassFunction<E, H> extended = new JointMassFunction<E, H>();
+		PersistentObjectDoubleMap.Cursor<H> cursor = entries.cursor();
+		while (cursor.next())
+			extended.add(new JointHypothesis<E, H>(space, cursor.key()), cursor.value());
+		return extended;
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#copy(mass.IMassFunction)
+	 */
+	@Override
+	public void copy(IMassFunction<H, ?> m) {
+		m.clear();
+		PersistentObjectDoubleMap.Cursor<H> cursor = entries.cursor();
+		while (cursor.next())
+			m.add(cursor.key(), cursor.value());
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#toMap()
+	 */
+	@Override
+	public TreeMap<H, Double> toMap() {
+		TreeMap<H, Double> map = new TreeMap<H, Double>();
+		PersistentObjectDoubleMap.Cursor<H> cursor = entries.cursor();
+		while (cursor.next())
+			map.put(cursor.key(), cursor.value());
+		return map;
+	}
+
+	/* (non-Javadoc)
+	 * @see mass.IMassFunction#sample(java.util.Random)
+	 */
+	@Override
+	public H sample(Random random) {
+		if (massSum <= 0)
+			return null;
+		double r = random.nextDouble() * massSum;
+		double c = 0;
+		H last = null;
+		PersistentObjectDoubleMap.Cursor<H> cursor = entries.cursor();
+		while (cursor.next()) {
+			last = cursor.key();
+			c += cursor.value();
+			if (c >= r)
+				return last;
+		}
+		// rounding errors of the incrementally maintained mass sum
+		return last;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		ArrayList<Entry<H, Double>> temp = new ArrayList<Entry<H, Double>>(entries.size());
+		PersistentObjectDoubleMap.Cursor<H> cursor = entries.cursor();
+		while (cursor.next())
+			temp.add(new SimpleEntry<H, Double>(cursor.key(), cursor.value()));
+		Collections.sort(temp, new Comparator<Entry<H, Double>>() {
+
+			@Override
+			public int compare(Entry<H, Double> o1, Entry<H, Double> o2) {
+				double diff = o2.getValue() - o1.getValue();
+				if (diff != 0)
+					return (int) Math.signum(diff);
+				else
+					return o1.getKey().compareTo(o2.getKey());
+			}
+
+		});
+		return temp.toString();
+	}
+
+
+	private static <H extends IHypothesis<H>> PersistentMassFunction<H> fromMap(ObjectDoubleHashMap<H> map) {
+		// combined hypotheses are either fresh objects or keys of immutable mass functions, so they need not be cloned
+		PersistentObjectDoubleMap<H> entries = PersistentObjectDoubleMap.empty();
+		double sum = 0.0;
+		for (int i = 0; i < map.capacity(); i++) {
+			if (map.isUsed(i)) {
+				entries = entries.with(map.keyAt(i), map.valueAt(i));
+				sum += map.valueAt(i);
+			}
+		}
+		return new PersistentMassFunction<H>(entries, sum);
+	}
+
+	private static <H extends IHypothesis<H>> H checkHypothesis(H hypothesis) {
+		if (hypothesis.isEmpty())
+			throw new IllegalArgumentException("empty hypotheses are not allowed");
+		return hypothesis;
+	}
+
+	private static UnsupportedOperationException immutable() {
+		return new UnsupportedOperationException("persistent mass functions are immutable");
+	}
+
+}
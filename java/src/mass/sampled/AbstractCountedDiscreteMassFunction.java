@@ -0,0 +1,79 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.sampled;
+
+import hypothesis.IDiscreteHypothesis;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Random;
+
+import mass.IDiscreteMassFunction;
+
+
+/**
+ * Base class for counted sampling-based mass functions over a discrete frame of discernment.
+ * 
+ * @see AbstractCountedMassFunction
+ */
+public abstract class AbstractCountedDiscreteMassFunction<S extends Comparable<S>, H extends IDiscreteHypothesis<S, H>, M extends AbstractCountedDiscreteMassFunction<S, H, M>> extends AbstractCountedMassFunction<H, M> implements IDiscreteMassFunction<S, H, M> {
+
+	abstract protected H createHypothesis(Collection<S> singletons);
+	
+	
+	public AbstractCountedDiscreteMassFunction(int sampleCount, Random random) {
+		super(sampleCount, random);
+	}
+	
+	public AbstractCountedDiscreteMassFunction(int sampleCount, Random random, H hypothesis) {
+		super(sampleCount, random, hypothesis);
+	}
+	
+	
+	/**
+	 * Constructs the pignistic transformation by assigning each sample to one of its singletons drawn uniformly at random.
+	 * 
+	 * @see mass.IDiscreteMassFunction#getPignisticTransformation()
+	 */
+	@Override
+	public M getPignisticTransformation() {
+		M pignistic = createMassFunction(sampleCount, new Random(random.nextLong()));
+		for (int i = 0; i < counts.capacity(); i++) {
+			if (!counts.isUsed(i))
+				continue;
+			H h = counts.keyAt(i);
+			int[] drawn = new int[h.size()];
+			for (int k = (int) counts.valueAt(i); k > 0; k--)
+				drawn[random.nextInt(drawn.length)]++;
+			Iterator<S> it = h.iterator();
+			for (int j = 0; j < drawn.length; j++) {
+				S s = it.next();
+				if (drawn[j] > 0)
+					pignistic.addSamples(createHypothesis(Collections.singletonList(s)), drawn[j]);
+			}
+		}
+		return pignistic;
+	}
+	
+	@Override
+	public H getMostPlausibleSingletons() {
+		double maxPl = -1;
+		H maxS = createHypothesis(new LinkedList<S>());
+		for (S s : getFrameOfDiscernment()) {
+			LinkedList<S> col = new LinkedList<S>();
+			col.add(s);
+			double pl = getPlausibility(createHypothesis(col));
+			if (pl == maxPl)
+				maxS.add(col);
+			else if (pl > maxPl) {
+				maxS = createHypothesis(col);
+				maxPl = pl;
+			}
+		}
+		return maxS;
+	}
+	
+}
@@ -0,0 +1,508 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.sampled;
+
+import hypothesis.IHypothesis;
+import hypothesis.JointHypothesis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.TreeMap;
+
+import mass.IMassFunction;
+import util.AliasTable;
+import util.ObjectDoubleHashMap;
+import util.Urn;
+
+
+/**
+ * Base class for sampling-based mass functions that store each distinct sampled hypothesis once together with the number of its samples.
+ * <p>
+ * The semantics correspond to <code>AbstractSampledMassFunction</code>: the mass of a hypothesis is the number of its samples divided by
+ * the sample count. However, queries take time proportional to the number of distinct hypotheses instead of the number of samples, and memory
+ * does not grow with the sample count. Like in <code>AbstractSampledMassFunction</code>, combinations pair the samples of this mass function
+ * with a random permutation of the samples of the other one, and normalization resamples the distinct hypotheses according to their counts.
+ *
+ */
+public abstract class AbstractCountedMassFunction<H extends IHypothesis<H>, M extends AbstractCountedMassFunction<H, M>> implements IMassFunction<H, M> {
+
+	/**
+	 * The number of samples of each distinct hypothesis (always whole numbers).
+	 */
+	protected final ObjectDoubleHashMap<H> counts = new ObjectDoubleHashMap<H>();
+
+	protected final int sampleCount;
+
+	protected final Random random;
+
+	private int total;
+
+	private AliasTable aliasTable;
+
+	private Object[] aliasHypotheses;
+	
+	private boolean sharedHypotheses;
+
+
+	abstract protected M createMassFunction(int sampleCount, Random random);
+
+
+	public AbstractCountedMassFunction(int sampleCount, Random random) {
+		this.sampleCount = sampleCount;
+		this.random = random;
+	}
+
+	public AbstractCountedMassFunction(int sampleCount, Random random, H hypothesis) {
+		this(sampleCount, random);
+		add(hypothesis, 1.0);
+	}
+
+
+	/**
+	 * Returns the number of samples used by this mass function.
+	 */
+	public int getSampleCount() {
+		return sampleCount;
+	}
+
+	/**
+	 * Returns the instance of <tt>Random</tt> used by this mass function.
+	 */
+	public Random getRandom() {
+		return random;
+	}
+
+	/**
+	 * Returns the number of distinct hypotheses contained by this mass function.
+	 */
+	public int getDistinctCount() {
+		return counts.size();
+	}
+
+	/**
+	 * Returns the number of samples of <code>hypothesis</code>.
+	 *
+	 * @param hypothesis a hypothesis
+	 * @return The number of samples. Returns 0 if <code>hypothesis</code> is not contained.
+	 */
+	public int getCount(H hypothesis) {
+		return (int) counts.get(hypothesis);
+	}
+
+
+	/**
+	 * Enables or disables sharing of hypothesis objects between this mass function and its copies.
+	 * If enabled, <code>clone()</code> copies the underlying hash table as a whole. Clones inherit this setting.
+	 * 
+	 * @param sharedHypotheses <code>true</code> if hypotheses are never modified after they have been added to a mass function
+	 * @see mass.exact.AbstractMassFunction#setSharedHypotheses(boolean)
+	 */
+	public void setSharedHypotheses(boolean sharedHypotheses) {
+		this.sharedHypotheses = sharedHypotheses;
+	}
+	
+	/**
+	 * Returns <code>true</code> if hypothesis objects are shared between this mass function and its copies.
+	 * 
+	 * @see #setSharedHypotheses(boolean)
+	 */
+	public boolean isSharedHypotheses() {
+		return sharedHypotheses;
+	}
+	
+	
+	@Override
+	public M clone() {
+		M cloned = createMassFunction(sampleCount, new Random(random.nextLong()));
+		cloned.setSharedHypotheses(sharedHypotheses);
+		if (sharedHypotheses) {
+			AbstractCountedMassFunction<H, M> copy = cloned;
+			copy.counts.putAll(counts);
+			copy.total = total;
+		} else {
+			for (int i = 0; i < counts.capacity(); i++) {
+				if (counts.isUsed(i))
+					cloned.addSamples(counts.keyAt(i).clone(), (int) counts.valueAt(i));
+			}
+		}
+		return cloned;
+	}
+
+	/**
+	 * Adds a single sample of <code>hypothesis</code>.
+	 *
+	 * @param hypothesis a non-empty hypothesis
+	 */
+	public void add(H hypothesis) {
+		addSamples(hypothesis, 1);
+	}
+
+	/**
+	 * Adds <code>count</code> samples of <code>hypothesis</code>.
+	 *
+	 * @param hypothesis a non-empty hypothesis
+	 * @param count the number of samples
+	 */
+	public void addSamples(H hypothesis, int count) {
+		if (count < 0)
+			throw new IllegalArgumentException("number of samples must not be negative");
+		if (count == 0)
+			return;
+		counts.add(hypothesis, count);
+		total += count;
+		invalidateCaches();
+	}
+
+	/**
+	 * Adds as many samples of <code>hypothesis</code> as correspond to <code>mass</code>, i.e., <code>mass * getSampleCount()</code> rounded up.
+	 *
+	 * @see mass.IMassFunction#add(hypothesis.IHypothesis, double)
+	 */
+	@Override
+	public void add(H hypothesis, double mass) {
+		if (Double.isNaN(mass))
+			throw new IllegalArgumentException("mass value is not a number");
+		// tolerate rounding errors such as (1.0 / n) * n > 1
+		addSamples(hypothesis, Math.max(0, (int) Math.ceil(mass * sampleCount - 1e-9)));
+	}
+
+	@Override
+	public void clear() {
+		counts.clear();
+		total = 0;
+		invalidateCaches();
+	}
+
+	@Override
+	public double remove(H hypothesis) {
+		int count = (int) counts.remove(hypothesis);
+		total -= count;
+		invalidateCaches();
+		return ((double) count) / sampleCount;
+	}
+
+
+	/**
+	 * Returns an iterator over all distinct hypotheses in no particular order.
+	 *
+	 * @see java.lang.Iterable#iterator()
+	 */
+	@Override
+	public Iterator<H> iterator() {
+		return counts.iterator();
+	}
+
+	@Override
+	public double getMass(H hypothesis) {
+		return counts.get(hypothesis) / sampleCount;
+	}
+
+	@Override
+	public double getBelief(H hypothesis) {
+		double c = 0;
+		for (int i = 0; i < counts.capacity(); i++) {
+			if (counts.isUsed(i) && hypothesis.isSuperSetOf(counts.keyAt(i)))
+				c += counts.valueAt(i);
+		}
+		return c / sampleCount;
+	}
+
+	@Override
+	public double getCommonality(H hypothesis) {
+		double c = 0;
+		for (int i = 0; i < counts.capacity(); i++) {
+			if (counts.isUsed(i) && counts.keyAt(i).isSuperSetOf(hypothesis))
+				c += counts.valueAt(i);
+		}
+		return c / sampleCount;
+	}
+
+	@Override
+	public double getPlausibility(H hypothesis) {
+		double c = 0;
+		for (int i = 0; i < counts.capacity(); i++) {
+			if (counts.isUsed(i) && !counts.keyAt(i).intersect(hypothesis).isEmpty())
+				c += counts.valueAt(i);
+		}
+		return c / sampleCount;
+	}
+
+	@Override
+	public H getFrameOfDiscernment() {
+		H theta = null;
+		for (H h : this) {
+			if (theta == null)
+				theta = h;
+			else
+				theta = theta.unite(h);
+		}
+		return theta;
+	}
+
+	@Override
+	public double getMassSum() {
+		return ((double) total) / sampleCount;
+	}
+
+	@Override
+	public boolean isNormalized() {
+		return total == sampleCount;
+	}
+
+	@Override
+	public boolean isNormalized(double epsilon) {
+		return Math.abs(1.0 - ((double) total) / sampleCount) <= epsilon;
+	}
+
+	/**
+	 * Normalizes this mass function by drawing <code>getSampleCount()</code> samples from the current distinct hypotheses according to their counts.
+	 *
+	 * @see mass.IMassFunction#normalize()
+	 */
+	@Override
+	public void normalize() {
+		if (total == sampleCount || total == 0)
+			return;
+		Object[] hypotheses = getAliasHypotheses();
+		AliasTable table = aliasTable;
+		int[] drawn = new int[hypotheses.length];
+		for (int i = 0; i < sampleCount; i++)
+			drawn[table.sample(random)]++;
+		counts.clear();
+		for (int i = 0; i < hypotheses.length; i++) {
+			if (drawn[i] > 0)
+				counts.put(hypothesis(hypotheses[i]), drawn[i]);
+		}
+		total = sampleCount;
+		invalidateCaches();
+	}
+
+	@Override
+	public void prune(double minMass) {
+		for (Object h : getHypothesisArray()) {
+			if (counts.get(h) / sampleCount < minMass)
+				remove(hypothesis(h));
+		}
+	}
+
+
+	@Override
+	public M combineConjunctive(M m, boolean normalize) {
+		M combination = combine(m, true);
+		if (normalize)
+			combination.normalize();
+		return combination;
+	}
+
+	@Override
+	public M combineConjunctive(M m) {
+		return combineConjunctive(m, true);
+	}
+
+	@Override
+	public M combineDisjunctive(M m) {
+		return combine(m, false);
+	}
+
+	@Override
+	public M condition(H condition, boolean normalize) {
+		M m = createMassFunction(sampleCount, new Random(random.nextLong()));
+		m.add(condition, 1.0);
+		return combineConjunctive(m, normalize);
+	}
+
+	@Override
+	public M condition(H condition) {
+		return condition(condition, true);
+	}
+
+	@Override
+	public double getWeightOfConflict(M m) {
+		AbstractCountedMassFunction<H, M> combination = combine(m, true);
+		double emptyMass = ((double) (total - combination.total)) / sampleCount;
+		return -Math.log(1.0 - emptyMass);
+	}
+
+	@Override
+	public <E extends IHypothesis<E>> JointCountedMassFunction<E, H> extendLeft(E space) {
+		JointCountedMassFunction<E, H> extended = new JointCountedMassFunction<E, H>(sampleCount, random);
+		for (int i = 0; i < counts.capacity(); i++) {
+			if (counts.isUsed(i))
+				extended.addSamples(new JointHypothesis<E, H>(space, counts.keyAt(i)), (int) counts.valueAt(i));
+		}
+		return extended;
+	}
+
+	@Override
+	public <E extends IHypothesis<E>> JointCountedMassFunction<H, E> extendRight(E space) {
+		JointCountedMassFunction<H, E> extended = new JointCountedMassFunction<H, E>(sampleCount, random);
+		for (int i = 0; i < counts.capacity(); i++) {
+			if (counts.isUsed(i))
+				extended.addSamples(new JointHypothesis<H, E>(counts.keyAt(i), space), (int) counts.valueAt(i));
+		}
+		return extended;
+	}
+
+	@Override
+	public void copy(IMassFunction<H, ?> m) {
+		m.clear();
+		for (int i = 0; i < counts.capacity(); i++) {
+			if (counts.isUsed(i))
+				addSamples(m, counts.keyAt(i), (int) counts.valueAt(i), sampleCount);
+		}
+	}
+
+	@Override
+	public String toString() {
+		ArrayList<H> sorted = new ArrayList<H>(counts.size());
+		for (H h : this)
+			sorted.add(h);
+		Collections.sort(sorted, new Comparator<H>() {
+
+			@Override
+			public int compare(H o1, H o2) {
+				double diff = counts.get(o2) - counts.get(o1);
+				if (diff != 0)
+					return (int) Math.signum(diff);
+				else
+					return o1.compareTo(o2);
+			};
+
+		});
+		StringBuilder s = new StringBuilder();
+		for (H h : sorted)
+			s.append(h + ":" + counts.get(h) / sampleCount + ", ");
+		return s.toString();
+	}
+
+	@Override
+	public TreeMap<H, Double> toMap() {
+		TreeMap<H, Double> massMap = new TreeMap<H, Double>();
+		for (int i = 0; i < counts.capacity(); i++) {
+			if (counts.isUsed(i))
+				massMap.put(counts.keyAt(i), counts.valueAt(i) / sampleCount);
+		}
+		return massMap;
+	}
+
+	@Override
+	public H sample(Random random) {
+		if (total == 0)
+			return null;
+		Object[] hypotheses = getAliasHypotheses();
+		return hypothesis(hypotheses[aliasTable.sample(random)]);
+	}
+
+
+	/**
+	 * Adds <code>count</code> samples of <code>hypothesis</code> to <code>m</code>, preserving counts for sampling-based mass functions.
+	 *
+	 * @param m the destination mass function
+	 * @param hypothesis a hypothesis
+	 * @param count the number of samples
+	 * @param sampleCount the sample count of the source mass function
+	 */
+	@SuppressWarnings("unchecked")
+	static <H extends IHypothesis<H>> void addSamples(IMassFunction<H, ?> m, H hypothesis, int count, int sampleCount) {
+		if (m instanceof AbstractCountedMassFunction)
+			((AbstractCountedMassFunction<H, ?>) m).addSamples(hypothesis, count);
+		else if (m instanceof AbstractSampledMassFunction) {
+			for (int i = 0; i < count; i++)
+				((AbstractSampledMassFunction<H, ?>) m).samples.add(hypothesis);
+		} else
+			m.add(hypothesis, ((double) count) / sampleCount);
+	}
+
+
+	private M combine(M m, boolean conjunctive) {
+		M combination = createMassFunction(sampleCount, new Random(random.nextLong()));
+		AbstractCountedMassFunction<H, M> other = m;
+		if (total == 0 || other.total == 0)
+			return combination;
+		Object[] hypotheses2 = other.getHypothesisArray();
+		Urn partners = other.getPartnerUrn(total, random);
+		int[] drawn = new int[hypotheses2.length];
+		for (int i = 0; i < counts.capacity(); i++) {
+			if (!counts.isUsed(i))
+				continue;
+			// pair each sample of h1 with a sample of m drawn without replacement, i.e., a random permutation of the samples of m
+			H h1 = counts.keyAt(i);
+			int c1 = (int) counts.valueAt(i);
+			for (int k = 0; k < c1; k++)
+				drawn[partners.draw(random)]++;
+			for (int j = 0; j < drawn.length; j++) {
+				if (drawn[j] == 0)
+					continue;
+				H combined = conjunctive ? h1.intersect(hypothesis(hypotheses2[j])) : h1.unite(hypothesis(hypotheses2[j]));
+				if (!combined.isEmpty())
+					combination.addSamples(combined, drawn[j]);
+				drawn[j] = 0;
+			}
+		}
+		return combination;
+	}
+
+	/**
+	 * Returns an urn with <code>count</code> samples of this mass function whose indices correspond to <code>getHypothesisArray()</code>.
+	 * Like <code>AbstractSampledMassFunction.getShuffledSamples</code>, samples are dropped at random if there are more than <code>count</code>
+	 * and repeated as evenly as possible otherwise.
+	 */
+	private Urn getPartnerUrn(int count, Random random) {
+		int[] c = new int[counts.size()];
+		int n = 0;
+		for (int i = 0; i < counts.capacity(); i++) {
+			if (counts.isUsed(i))
+				c[n++] = (int) counts.valueAt(i);
+		}
+		if (count <= total)
+			return new Urn(c);
+		// repeat every sample, then the remainder without replacement
+		int repeats = count / total, remainder = count % total;
+		int[] pool = new int[n];
+		for (int j = 0; j < n; j++)
+			pool[j] = repeats * c[j];
+		Urn urn = new Urn(c);
+		for (int k = 0; k < remainder; k++)
+			pool[urn.draw(random)]++;
+		return new Urn(pool);
+	}
+
+	private Object[] getHypothesisArray() {
+		Object[] hypotheses = new Object[counts.size()];
+		int n = 0;
+		for (int i = 0; i < counts.capacity(); i++) {
+			if (counts.isUsed(i))
+				hypotheses[n++] = counts.keyAt(i);
+		}
+		return hypotheses;
+	}
+
+	private Object[] getAliasHypotheses() {
+		if (aliasTable == null) {
+			double[] weights = new double[counts.size()];
+			int n = 0;
+			for (int i = 0; i < counts.capacity(); i++) {
+				if (counts.isUsed(i))
+					weights[n++] = counts.valueAt(i);
+			}
+			aliasHypotheses = getHypothesisArray();
+			aliasTable = new AliasTable(weights);
+		}
+		return aliasHypotheses;
+	}
+
+	private void invalidateCaches() {
+		aliasTable = null;
+		aliasHypotheses = null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private H hypothesis(Object h) {
+		return (H) h;
+	}
+
+}
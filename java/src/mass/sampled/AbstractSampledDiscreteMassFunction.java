@@ -33,8 +33,8 @@ public abstract class AbstractSampledDiscreteMassFunction<S extends Comparable<S
 	
 	@Override
 	public M getPignisticTransformation() {
-		M pignistic = clone();
-		pignistic.clear();
+		M pignistic = createMassFunction(sampleCount, new Random(random.nextLong()));
+		pignistic.setSharedHypotheses(isSharedHypotheses());
 		for (H h : samples) {
 			int r = random.nextInt(h.size());
 			for (S s : h) {
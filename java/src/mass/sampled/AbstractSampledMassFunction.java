@@ -16,9 +16,11 @@ import java.util.Map.Entry;
 import java.util.Random;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
 
 import mass.IMassFunction;
 import util.MutableInteger;
+import util.ObjectDoubleHashMap;
 import util.Tuple;
 
 
@@ -28,12 +30,19 @@ import util.Tuple;
  */
 public abstract class AbstractSampledMassFunction<H extends IHypothesis<H>, M extends AbstractSampledMassFunction<H, M>> implements IMassFunction<H, M> {
 
+	/**
+	 * The number of samples combined by each worker of a parallel combination.
+	 */
+	public static final int PARALLEL_CHUNK_SIZE = 4096;
+	
 	protected final ArrayList<H> samples;
 	
 	protected final int sampleCount;
 	
 	protected final Random random;
 	
+	private boolean sharedHypotheses;
+	
 	
 	abstract protected M createMassFunction(int sampleCount, Random random);
 	
@@ -65,11 +74,38 @@ public abstract class AbstractSampledMassFunction<H extends IHypothesis<H>, M ex
 	}
 	
 	
+	/**
+	 * Enables or disables sharing of hypothesis objects between this mass function and its copies.
+	 * If enabled, <code>clone()</code> and <code>getSamples()</code> copy the sample list without cloning each sample.
+	 * Clones inherit this setting.
+	 * 
+	 * @param sharedHypotheses <code>true</code> if hypotheses are never modified after they have been added to a mass function
+	 * @see mass.exact.AbstractMassFunction#setSharedHypotheses(boolean)
+	 */
+	public void setSharedHypotheses(boolean sharedHypotheses) {
+		this.sharedHypotheses = sharedHypotheses;
+	}
+	
+	/**
+	 * Returns <code>true</code> if hypothesis objects are shared between this mass function and its copies.
+	 * 
+	 * @see #setSharedHypotheses(boolean)
+	 */
+	public boolean isSharedHypotheses() {
+		return sharedHypotheses;
+	}
+	
+	
 	@Override
 	public M clone() {
 		M cloned = createMassFunction(sampleCount, new Random(random.nextLong()));
-		for (H h : samples)
-			cloned.samples.add(h.clone());
+		cloned.setSharedHypotheses(sharedHypotheses);
+		if (sharedHypotheses)
+			cloned.samples.addAll(samples);
+		else {
+			for (H h : samples)
+				cloned.samples.add(h.clone());
+		}
 		return cloned;
 	}
 	
@@ -112,10 +148,24 @@ public abstract class AbstractSampledMassFunction<H extends IHypothesis<H>, M ex
 		return hypotheses.iterator();
 	}
 	
+	/**
+	 * Adds the number of samples of every distinct hypothesis to <code>counts</code> without copying the samples.
+	 * 
+	 * @param counts the map receiving the sample counts (is not cleared)
+	 */
+	public void addSampleCounts(ObjectDoubleHashMap<? super H> counts) {
+		for (H h : samples)
+			counts.add(h, 1);
+	}
+	
 	public ArrayList<H> getSamples() {
 		ArrayList<H> list = new ArrayList<H>(sampleCount);
-		for (H h : samples)
-			list.add(h.clone());
+		if (sharedHypotheses)
+			list.addAll(samples);
+		else {
+			for (H h : samples)
+				list.add(h.clone());
+		}
 		return list;
 	}
 
@@ -212,12 +262,9 @@ public abstract class AbstractSampledMassFunction<H extends IHypothesis<H>, M ex
 	@Override
 	public M combineConjunctive(M m, boolean normalize) {
 		M combination = createMassFunction(sampleCount, new Random(random.nextLong()));
-		M clone = m.clone();
-		clone.scale(samples.size());
-		Collections.shuffle(samples, random);
-		Collections.shuffle(clone.samples, clone.random);
+		ArrayList<H> partners = m.getShuffledSamples(samples.size(), random);
 		for (int i = 0; i < samples.size(); i++) {
-			H intersection = samples.get(i).intersect(clone.samples.get(i));
+			H intersection = samples.get(i).intersect(partners.get(i));
 			if (!intersection.isEmpty())
 				combination.samples.add(intersection);
 		}
@@ -239,9 +286,11 @@ public abstract class AbstractSampledMassFunction<H extends IHypothesis<H>, M ex
 		ArrayList<Tuple<H, Double>> weightedSamples = new ArrayList<Tuple<H, Double>>();
 		TreeMap<H, Double> plCache = new TreeMap<H, Double>();
 		double plSum = 0;
+		// shuffle a private copy so that m is not modified
+		ArrayList<H> partners = new ArrayList<H>(m.samples);
 		for (H h1 : samples) {
-			Collections.shuffle(m.samples, m.random);
-			for (H h2 : m.samples) {
+			Collections.shuffle(partners, random);
+			for (H h2 : partners) {
 				H intersection = h1.intersect(h2);
 				if (!intersection.isEmpty()) {
 					Double pl = plCache.get(h1);
@@ -282,15 +331,106 @@ public abstract class AbstractSampledMassFunction<H extends IHypothesis<H>, M ex
 	@Override
 	public M combineDisjunctive(M m) {
 		M combination = createMassFunction(sampleCount, new Random(random.nextLong()));
-		M clone = m.clone();
-		clone.scale(samples.size());
-		Collections.shuffle(samples, random);
-		Collections.shuffle(clone.samples, clone.random);
+		ArrayList<H> partners = m.getShuffledSamples(samples.size(), random);
 		for (int i = 0; i < samples.size(); i++)
-			combination.samples.add(samples.get(i).unite(clone.samples.get(i)));
+			combination.samples.add(samples.get(i).unite(partners.get(i)));
 		return combination;
 	};
 	
+	/**
+	 * Performs a conjunctive combination like <code>combineConjunctive(m, normalize)</code> in parallel using the common fork/join pool.
+	 * 
+	 * @param m another mass function
+	 * @param normalize perform a normalization after combining the two mass functions
+	 * @param seed the seed of the random number generator used for pairing samples
+	 * @return A conjunctively combined mass function.
+	 * @see #combineConjunctiveParallel(AbstractSampledMassFunction, boolean, long, ForkJoinPool)
+	 */
+	public M combineConjunctiveParallel(M m, boolean normalize, long seed) {
+		return combineConjunctiveParallel(m, normalize, seed, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Performs a conjunctive combination in parallel. Like in <code>combineConjunctive</code>, the samples of <code>m</code> are shuffled once,
+	 * and each sample of this mass function is intersected with the partner at the same index. The samples are split into chunks of
+	 * <code>PARALLEL_CHUNK_SIZE</code> that are processed in parallel, so the result is the same as that of <code>combineConjunctive</code>
+	 * if this mass function used <code>new Random(seed)</code>, regardless of the number of workers.
+	 * In contrast to <code>combineConjunctive</code>, neither mass function is modified.
+	 * 
+	 * @param m another mass function
+	 * @param normalize perform a normalization after combining the two mass functions
+	 * @param seed the seed of the random number generator used for pairing samples
+	 * @param pool the pool executing the combination
+	 * @return A conjunctively combined mass function.
+	 */
+	public M combineConjunctiveParallel(M m, boolean normalize, long seed, ForkJoinPool pool) {
+		M combination = combineParallel(m, true, new Random(seed), pool);
+		if (normalize)
+			combination.normalize();
+		return combination;
+	}
+	
+	/**
+	 * Performs a disjunctive combination like <code>combineDisjunctive(m)</code> in parallel using the common fork/join pool.
+	 * 
+	 * @param m another mass function
+	 * @param seed the seed of the random number generator used for pairing samples
+	 * @return A disjunctively combined mass function.
+	 * @see #combineDisjunctiveParallel(AbstractSampledMassFunction, long, ForkJoinPool)
+	 */
+	public M combineDisjunctiveParallel(M m, long seed) {
+		return combineDisjunctiveParallel(m, seed, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Performs a disjunctive combination in parallel. Each sample of this mass function is united with the partner at the same index
+	 * of the shuffled samples of <code>m</code>, which yields the same result as <code>combineDisjunctive</code> for the same seed
+	 * (see <code>combineConjunctiveParallel</code>).
+	 * 
+	 * @param m another mass function
+	 * @param seed the seed of the random number generator used for pairing samples
+	 * @param pool the pool executing the combination
+	 * @return A disjunctively combined mass function.
+	 */
+	public M combineDisjunctiveParallel(M m, long seed, ForkJoinPool pool) {
+		return combineParallel(m, false, new Random(seed), pool);
+	}
+	
+	/**
+	 * Estimates the weight of conflict like <code>getWeightOfConflict(m)</code> in parallel using the common fork/join pool.
+	 * 
+	 * @param m another mass function
+	 * @param seed the seed of the random number generator used for pairing samples
+	 * @return The estimated weight of conflict.
+	 * @see #getWeightOfConflictParallel(AbstractSampledMassFunction, long, ForkJoinPool)
+	 */
+	public double getWeightOfConflictParallel(M m, long seed) {
+		return getWeightOfConflictParallel(m, seed, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Estimates the weight of conflict in parallel by intersecting each sample of this mass function with the partner at the same index
+	 * of the shuffled samples of <code>m</code>, which yields the same estimate as <code>getWeightOfConflict</code> for the same seed
+	 * (see <code>combineConjunctiveParallel</code>).
+	 * 
+	 * @param m another mass function
+	 * @param seed the seed of the random number generator used for pairing samples
+	 * @param pool the pool executing the estimation
+	 * @return The estimated weight of conflict.
+	 */
+	public double getWeightOfConflictParallel(M m, long seed, ForkJoinPool pool) {
+		if (samples.isEmpty() || m.samples.isEmpty())
+			return -Math.log(1.0 - ((double) samples.size()) / sampleCount);
+		int chunks = SampledCombinationTask.getChunkCount(samples.size());
+		int[] emptyCounts = new int[chunks];
+		ArrayList<H> partners = m.getShuffledSamples(samples.size(), new Random(seed));
+		pool.invoke(new SampledCombinationTask<H>(samples, partners, null, emptyCounts, true, false));
+		int empty = 0;
+		for (int count : emptyCounts)
+			empty += count;
+		return -Math.log(1.0 - ((double) empty) / sampleCount);
+	}
+	
 	@Override
 	public M condition(H condition, boolean normalize) {
 		M m = createMassFunction(samples.size(), new Random(random.nextLong()));
@@ -309,12 +449,9 @@ public abstract class AbstractSampledMassFunction<H extends IHypothesis<H>, M ex
 	@Override
 	public double getWeightOfConflict(M m) {
 		double emptyMass = 0;
-		M clone = m.clone();
-		clone.scale(samples.size());
-		Collections.shuffle(samples, random);
-		Collections.shuffle(clone.samples, clone.random);
+		ArrayList<H> partners = m.getShuffledSamples(samples.size(), random);
 		for (int i = 0; i < samples.size(); i++) {
-			H intersection = samples.get(i).intersect(clone.samples.get(i));
+			H intersection = samples.get(i).intersect(partners.get(i));
 			if (intersection.isEmpty())
 				emptyMass += 1.0 / sampleCount;
 		}
@@ -405,6 +542,47 @@ public abstract class AbstractSampledMassFunction<H extends IHypothesis<H>, M ex
 	}
 	
 	
+	@SuppressWarnings("unchecked")
+	private M combineParallel(M m, boolean conjunctive, Random random, ForkJoinPool pool) {
+		// draws from random in the same order as the sequential combinations
+		M combination = createMassFunction(sampleCount, new Random(random.nextLong()));
+		if (samples.isEmpty() || m.samples.isEmpty())
+			return combination;
+		ArrayList<H> partners = m.getShuffledSamples(samples.size(), random);
+		int chunks = SampledCombinationTask.getChunkCount(samples.size());
+		Object[][] results = new Object[chunks][];
+		int[] resultCounts = new int[chunks];
+		pool.invoke(new SampledCombinationTask<H>(samples, partners, results, resultCounts, conjunctive, true));
+		for (int chunk = 0; chunk < chunks; chunk++) {
+			for (int i = 0; i < resultCounts[chunk]; i++)
+				combination.samples.add((H) results[chunk][i]);
+		}
+		return combination;
+	}
+	
+	/**
+	 * Returns <code>count</code> samples of this mass function in random order without modifying it.
+	 * Samples are dropped or repeated like in <code>scale</code>. The hypotheses themselves are shared, not cloned.
+	 * 
+	 * @param count the number of samples
+	 * @param random source of randomness
+	 * @return The shuffled samples.
+	 */
+	protected ArrayList<H> getShuffledSamples(int count, Random random) {
+		ArrayList<H> shuffled = new ArrayList<H>(Math.max(count, samples.size()));
+		shuffled.addAll(samples);
+		Collections.shuffle(shuffled, random);
+		if (shuffled.size() > count)
+			shuffled.subList(count, shuffled.size()).clear();
+		else if (shuffled.size() < count && !shuffled.isEmpty()) {
+			int size = shuffled.size();
+			for (int i = size; i < count; i++)
+				shuffled.add(shuffled.get(i % size));
+			Collections.shuffle(shuffled, random);
+		}
+		return shuffled;
+	}
+	
 	protected void scale(int count) {
 		if (samples.size() > count) {
 			// shrink
@@ -0,0 +1,59 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.sampled;
+
+import hypothesis.Hypothesis;
+
+import java.util.Collection;
+import java.util.Random;
+
+
+/**
+ * Represents a sampling-based mass function over a discrete frame of discernment that stores each distinct hypothesis together with its number of samples.
+ * It behaves like <code>SampledMassFunction</code> while its queries and memory only depend on the number of distinct hypotheses.
+ * A <code>SampledMassFunction</code> can be converted by <code>copy</code>.
+ * 
+ * @see AbstractCountedMassFunction
+ */
+public class CountedMassFunction<S extends Comparable<S>> extends AbstractCountedDiscreteMassFunction<S, Hypothesis<S>, CountedMassFunction<S>> {
+
+	/**
+	 * Creates an empty mass function using <code>sampleCount</code> samples.
+	 * 
+	 * @param sampleCount the number of samples
+	 * @param random source of randomness
+	 */
+	public CountedMassFunction(int sampleCount, Random random) {
+		super(sampleCount, random);
+	}
+	
+	/**
+	 * Creates a mass function using <code>sampleCount</code> samples that assigns all mass to <code>hypothesis</code>.
+	 * 
+	 * @param sampleCount the number of samples
+	 * @param random source of randomness
+	 * @param hypothesis a hypothesis
+	 */
+	public CountedMassFunction(int sampleCount, Random random, Hypothesis<S> hypothesis) {
+		super(sampleCount, random, hypothesis);
+	}
+	
+	
+	/* (non-Javadoc)
+	 * @see mass.sampled.AbstractCountedMassFunction#createMassFunction(int, java.util.Random)
+	 */
+	@Override
+	protected CountedMassFunction<S> createMassFunction(int sampleCount, Random random) {
+		return new CountedMassFunction<S>(sampleCount, random);
+	}
+	
+	/* (non-Javadoc)
+	 * @see mass.sampled.AbstractCountedDiscreteMassFunction#createHypothesis(java.util.Collection)
+	 */
+	@Override
+	protected Hypothesis<S> createHypothesis(Collection<S> singletons) {
+		return new Hypothesis<S>(singletons);
+	}
+	
+}
@@ -0,0 +1,49 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.sampled;
+
+import hypothesis.IHypothesis;
+import hypothesis.JointHypothesis;
+
+import java.util.Random;
+
+import mass.IJointMassFunction;
+import mass.IMassFunction;
+
+
+/**
+ * Represents a sampling-based mass function over the space AxB that stores each distinct hypothesis together with its number of samples.
+ * 
+ * @see AbstractCountedMassFunction
+ */
+public class JointCountedMassFunction<A extends IHypothesis<A>, B extends IHypothesis<B>> extends AbstractCountedMassFunction<JointHypothesis<A, B>, JointCountedMassFunction<A, B>> implements IJointMassFunction<A, B, JointCountedMassFunction<A, B>> {
+
+	public JointCountedMassFunction(int sampleCount, Random random) {
+		super(sampleCount, random);
+	}
+	
+	
+	@Override
+	protected JointCountedMassFunction<A, B> createMassFunction(int sampleCount, Random random) {
+		return new JointCountedMassFunction<A, B>(sampleCount, random);
+	}
+	
+	
+	@Override
+	public void projectLeft(IMassFunction<A, ?> dest) {
+		for (int i = 0; i < counts.capacity(); i++) {
+			if (counts.isUsed(i))
+				addSamples(dest, counts.keyAt(i).h1, (int) counts.valueAt(i), sampleCount);
+		}
+	}
+	
+	@Override
+	public void projectRight(IMassFunction<B, ?> dest) {
+		for (int i = 0; i < counts.capacity(); i++) {
+			if (counts.isUsed(i))
+				addSamples(dest, counts.keyAt(i).h2, (int) counts.valueAt(i), sampleCount);
+		}
+	}
+	
+}
@@ -0,0 +1,106 @@
+/**
+ * Oct 18, 2026
+ */
+package mass.sampled;
+
+import hypothesis.IHypothesis;
+
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Combines the samples of one mass function pairwise with a shuffled list of partner samples in parallel.
+ * <p>
+ * The samples of the first mass function are divided into chunks of <code>AbstractSampledMassFunction.PARALLEL_CHUNK_SIZE</code>.
+ * Each chunk pairs its samples with the partners at the same indices and writes its results to its own slot,
+ * i.e., workers never share mutable state and the result equals that of pairing the samples sequentially, regardless of the scheduling.
+ * 
+ */
+class SampledCombinationTask<H extends IHypothesis<H>> extends RecursiveAction {
+
+	private static final long serialVersionUID = 1L;
+	
+	private final List<H> samples1, partners;
+	
+	private final Object[][] results;
+	
+	private final int[] resultCounts;
+	
+	private final boolean conjunctive, collect;
+	
+	private final int fromChunk, toChunk;
+	
+	
+	/**
+	 * @param samples1 the samples of the first mass function
+	 * @param partners the shuffled samples of the second mass function, at least as many as <code>samples1</code>
+	 * @param results receives the combined samples of each chunk (unused if <code>collect==false</code>)
+	 * @param resultCounts receives the number of combined samples of each chunk (the number of empty intersections if <code>collect==false</code>)
+	 * @param conjunctive <code>true</code> for intersecting samples (empty intersections are dropped), <code>false</code> for uniting them
+	 * @param collect <code>false</code> if only empty intersections should be counted
+	 */
+	SampledCombinationTask(List<H> samples1, List<H> partners, Object[][] results, int[] resultCounts, boolean conjunctive, boolean collect) {
+		this(samples1, partners, results, resultCounts, conjunctive, collect, 0, resultCounts.length);
+	}
+	
+	private SampledCombinationTask(List<H> samples1, List<H> partners, Object[][] results, int[] resultCounts, boolean conjunctive, boolean collect, int fromChunk, int toChunk) {
+		this.samples1 = samples1;
+		this.partners = partners;
+		this.results = results;
+		this.resultCounts = resultCounts;
+		this.conjunctive = conjunctive;
+		this.collect = collect;
+		this.fromChunk = fromChunk;
+		this.toChunk = toChunk;
+	}
+	
+	
+	/**
+	 * Returns the number of chunks required for <code>sampleCount</code> samples.
+	 * 
+	 * @param sampleCount the number of samples of the first mass function
+	 * @return The number of chunks.
+	 */
+	static int getChunkCount(int sampleCount) {
+		return (sampleCount + AbstractSampledMassFunction.PARALLEL_CHUNK_SIZE - 1) / AbstractSampledMassFunction.PARALLEL_CHUNK_SIZE;
+	}
+	
+	
+	/* (non-Javadoc)
+	 * @see java.util.concurrent.RecursiveAction#compute()
+	 */
+	@Override
+	protected void compute() {
+		if (toChunk - fromChunk > 1) {
+			int middle = (fromChunk + toChunk) >>> 1;
+			invokeAll(new SampledCombinationTask<H>(samples1, partners, results, resultCounts, conjunctive, collect, fromChunk, middle),
+					new SampledCombinationTask<H>(samples1, partners, results, resultCounts, conjunctive, collect, middle, toChunk));
+			return;
+		}
+		for (int chunk = fromChunk; chunk < toChunk; chunk++)
+			computeChunk(chunk);
+	}
+	
+	private void computeChunk(int chunk) {
+		int from = chunk * AbstractSampledMassFunction.PARALLEL_CHUNK_SIZE;
+		int to = Math.min(from + AbstractSampledMassFunction.PARALLEL_CHUNK_SIZE, samples1.size());
+		Object[] result = collect ? new Object[to - from] : null;
+		int count = 0;
+		for (int i = from; i < to; i++) {
+			H h2 = partners.get(i);
+			if (conjunctive) {
+				H intersection = samples1.get(i).intersect(h2);
+				if (intersection.isEmpty()) {
+					if (!collect)
+						count++;
+				} else if (collect)
+					result[count++] = intersection;
+			} else
+				result[count++] = samples1.get(i).unite(h2);
+		}
+		if (collect)
+			results[chunk] = result;
+		resultCounts[chunk] = count;
+	}
+	
+}
@@ -0,0 +1,86 @@
+/**
+ * Oct 18, 2026
+ */
+package util;
+
+import java.util.Random;
+
+/**
+ * Draws indices from a discrete distribution in constant time using Vose's alias method.
+ * <p>
+ * Building the table takes <code>O(n)</code> time for <code>n</code> weights. Each draw then consumes
+ * one uniformly distributed index and one uniformly distributed real number.
+ *
+ */
+public class AliasTable {
+
+	private final double[] probabilities;
+
+	private final int[] aliases;
+
+
+	/**
+	 * Creates a table for the distribution proportional to <code>weights</code>.
+	 *
+	 * @param weights non-negative weights with a positive sum (are not modified)
+	 */
+	public AliasTable(double[] weights) {
+		int n = weights.length;
+		double sum = 0;
+		for (double w : weights) {
+			if (w < 0 || Double.isNaN(w))
+				throw new IllegalArgumentException("weights must not be negative");
+			sum += w;
+		}
+		if (n == 0 || !(sum > 0) || Double.isInfinite(sum))
+			throw new IllegalArgumentException("weights must have a positive finite sum");
+		probabilities = new double[n];
+		aliases = new int[n];
+		int[] small = new int[n], large = new int[n];
+		int smallCount = 0, largeCount = 0;
+		for (int i = 0; i < n; i++) {
+			probabilities[i] = weights[i] * n / sum;
+			if (probabilities[i] < 1.0)
+				small[smallCount++] = i;
+			else
+				large[largeCount++] = i;
+		}
+		while (smallCount > 0 && largeCount > 0) {
+			int s = small[--smallCount];
+			int l = large[--largeCount];
+			aliases[s] = l;
+			probabilities[l] -= 1.0 - probabilities[s];
+			if (probabilities[l] < 1.0)
+				small[smallCount++] = l;
+			else
+				large[largeCount++] = l;
+		}
+		// remaining entries are 1 up to rounding errors
+		while (largeCount > 0)
+			probabilities[large[--largeCount]] = 1.0;
+		while (smallCount > 0)
+			probabilities[small[--smallCount]] = 1.0;
+	}
+
+
+	/**
+	 * Returns the number of weights of this table.
+	 *
+	 * @return The number of weights.
+	 */
+	public int size() {
+		return probabilities.length;
+	}
+
+	/**
+	 * Draws an index with a probability proportional to its weight.
+	 *
+	 * @param random source of randomness
+	 * @return An index in the range <code>[0, size())</code>.
+	 */
+	public int sample(Random random) {
+		int i = random.nextInt(probabilities.length);
+		return random.nextDouble() < probabilities[i] ? i : aliases[i];
+	}
+
+}
@@ -0,0 +1,189 @@
+/**
+ * Oct 18, 2026
+ */
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Maps primitive <code>long</code> keys to primitive <code>double</code> values using open addressing with linear probing.
+ * <p>
+ * Intended for accumulating mass values of hypotheses that are encoded as bit masks, i.e., neither keys nor values are boxed.
+ * Entries cannot be removed individually.
+ *
+ */
+public class LongDoubleHashMap {
+
+	private static final float LOAD_FACTOR = 0.5f;
+
+	private long[] keys;
+
+	private double[] values;
+
+	private boolean[] used;
+
+	private int size;
+
+
+	/**
+	 * Creates an empty map.
+	 */
+	public LongDoubleHashMap() {
+		this(16);
+	}
+
+	/**
+	 * Creates an empty map that can hold <code>expectedSize</code> entries without rehashing.
+	 *
+	 * @param expectedSize the expected number of entries
+	 */
+	public LongDoubleHashMap(int expectedSize) {
+		int capacity = 16;
+		while (capacity * LOAD_FACTOR < expectedSize)
+			capacity <<= 1;
+		allocate(capacity);
+	}
+
+
+	/**
+	 * Returns the number of entries in this map.
+	 *
+	 * @return The number of entries in this map.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the value associated with <code>key</code>.
+	 *
+	 * @param key a key
+	 * @return The associated value. Returns 0 if <code>key</code> is not contained.
+	 */
+	public double get(long key) {
+		int slot = find(key);
+		return used[slot] ? values[slot] : 0.0;
+	}
+
+	/**
+	 * Returns <code>true</code> if and only if <code>key</code> is contained by this map.
+	 *
+	 * @param key a key
+	 * @return <code>true</code> if and only if <code>key</code> is contained by this map.
+	 */
+	public boolean containsKey(long key) {
+		return used[find(key)];
+	}
+
+	/**
+	 * Adds <code>value</code> to the value associated with <code>key</code>. Missing keys are treated as being associated with 0.
+	 *
+	 * @param key a key
+	 * @param value the value to be added
+	 */
+	public void add(long key, double value) {
+		int slot = find(key);
+		if (used[slot])
+			values[slot] += value;
+		else {
+			used[slot] = true;
+			keys[slot] = key;
+			values[slot] = value;
+			if (++size > keys.length * LOAD_FACTOR)
+				rehash(keys.length << 1);
+		}
+	}
+
+	/**
+	 * Removes all entries from this map.
+	 */
+	public void clear() {
+		Arrays.fill(used, false);
+		size = 0;
+	}
+
+	/**
+	 * Returns the number of slots of the underlying table. Valid slot indices are in the range <code>[0, capacity())</code>.
+	 *
+	 * @return The number of slots.
+	 */
+	public int capacity() {
+		return keys.length;
+	}
+
+	/**
+	 * Returns <code>true</code> if and only if the slot with the given index holds an entry.
+	 *
+	 * @param slot a slot index
+	 * @return <code>true</code> if and only if the slot holds an entry.
+	 */
+	public boolean isUsed(int slot) {
+		return used[slot];
+	}
+
+	/**
+	 * Returns the key stored at the given slot.
+	 *
+	 * @param slot the index of a used slot
+	 * @return The stored key.
+	 */
+	public long keyAt(int slot) {
+		return keys[slot];
+	}
+
+	/**
+	 * Returns the value stored at the given slot.
+	 *
+	 * @param slot the index of a used slot
+	 * @return The stored value.
+	 */
+	public double valueAt(int slot) {
+		return values[slot];
+	}
+
+	/**
+	 * Replaces the value stored at the given slot.
+	 *
+	 * @param slot the index of a used slot
+	 * @param value the new value
+	 */
+	public void setValueAt(int slot, double value) {
+		values[slot] = value;
+	}
+
+
+	private int find(long key) {
+		int mask = keys.length - 1;
+		int slot = mix(key) & mask;
+		while (used[slot] && keys[slot] != key)
+			slot = (slot + 1) & mask;
+		return slot;
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new double[capacity];
+		used = new boolean[capacity];
+	}
+
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		double[] oldValues = values;
+		boolean[] oldUsed = used;
+		allocate(capacity);
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldUsed[i]) {
+				int slot = find(oldKeys[i]);
+				used[slot] = true;
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+
+	private static int mix(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+}
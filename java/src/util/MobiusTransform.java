@@ -0,0 +1,99 @@
+/**
+ * Oct 18, 2026
+ */
+package util;
+
+/**
+ * Implements the fast zeta and M&ouml;bius transforms over the power set of a frame of <code>n</code> singletons.
+ * <p>
+ * Set functions are represented as arrays of length <code>2^n</code> where the index of each entry is the bit mask of the corresponding subset.
+ * All transforms work in place and require <code>O(n 2^n)</code> operations.
+ * <ul>
+ * <li><code>zetaSubsets</code> maps a mass function to its belief (implicability) function: <code>b(A) = sum of m(B) for B subset of A</code>.</li>
+ * <li><code>zetaSupersets</code> maps a mass function to its commonality function: <code>q(A) = sum of m(B) for A subset of B</code>.</li>
+ * <li><code>mobiusSubsets</code> and <code>mobiusSupersets</code> are the respective inverse transforms.</li>
+ * </ul>
+ *
+ */
+public class MobiusTransform {
+
+	private MobiusTransform() {
+		// static methods only
+	}
+
+
+	/**
+	 * Replaces each entry <code>v[A]</code> with the sum of all <code>v[B]</code> where <code>B</code> is a subset of <code>A</code>.
+	 *
+	 * @param v a set function over a frame of <code>n</code> singletons
+	 * @param n the number of singletons
+	 */
+	public static void zetaSubsets(double[] v, int n) {
+		checkLength(v, n);
+		for (int i = 0; i < n; i++) {
+			int bit = 1 << i;
+			for (int a = 0; a < v.length; a++) {
+				if ((a & bit) != 0)
+					v[a] += v[a ^ bit];
+			}
+		}
+	}
+
+	/**
+	 * Inverts <code>zetaSubsets</code>.
+	 *
+	 * @param v a set function over a frame of <code>n</code> singletons
+	 * @param n the number of singletons
+	 */
+	public static void mobiusSubsets(double[] v, int n) {
+		checkLength(v, n);
+		for (int i = 0; i < n; i++) {
+			int bit = 1 << i;
+			for (int a = 0; a < v.length; a++) {
+				if ((a & bit) != 0)
+					v[a] -= v[a ^ bit];
+			}
+		}
+	}
+
+	/**
+	 * Replaces each entry <code>v[A]</code> with the sum of all <code>v[B]</code> where <code>B</code> is a superset of <code>A</code>.
+	 *
+	 * @param v a set function over a frame of <code>n</code> singletons
+	 * @param n the number of singletons
+	 */
+	public static void zetaSupersets(double[] v, int n) {
+		checkLength(v, n);
+		for (int i = 0; i < n; i++) {
+			int bit = 1 << i;
+			for (int a = 0; a < v.length; a++) {
+				if ((a & bit) == 0)
+					v[a] += v[a | bit];
+			}
+		}
+	}
+
+	/**
+	 * Inverts <code>zetaSupersets</code>.
+	 *
+	 * @param v a set function over a frame of <code>n</code> singletons
+	 * @param n the number of singletons
+	 */
+	public static void mobiusSupersets(double[] v, int n) {
+		checkLength(v, n);
+		for (int i = 0; i < n; i++) {
+			int bit = 1 << i;
+			for (int a = 0; a < v.length; a++) {
+				if ((a & bit) == 0)
+					v[a] -= v[a | bit];
+			}
+		}
+	}
+
+
+	private static void checkLength(double[] v, int n) {
+		if (n < 0 || n > 30 || v.length != 1 << n)
+			throw new IllegalArgumentException("set function must have 2^" + n + " entries");
+	}
+
+}
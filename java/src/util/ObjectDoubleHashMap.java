@@ -0,0 +1,328 @@
+/**
+ * Oct 18, 2026
+ */
+package util;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Maps keys to primitive <code>double</code> values using open addressing with linear probing.
+ * <p>
+ * The hash code of each key is computed once when the key is inserted and stored alongside the key,
+ * so probing and rehashing only call <code>equals</code> for keys with identical hash codes.
+ * Values are never boxed. Keys must implement <code>hashCode</code> consistently with <code>equals</code>
+ * and must not be modified while they are contained by the map.
+ * <p>
+ * Entries are stored in no particular order.
+ *
+ */
+public class ObjectDoubleHashMap<K> implements Iterable<K> {
+
+	private static final float LOAD_FACTOR = 0.5f;
+
+	private Object[] keys;
+
+	private int[] hashes;
+
+	private double[] values;
+
+	private int size;
+
+
+	/**
+	 * Creates an empty map.
+	 */
+	public ObjectDoubleHashMap() {
+		this(16);
+	}
+
+	/**
+	 * Creates an empty map that can hold <code>expectedSize</code> entries without rehashing.
+	 *
+	 * @param expectedSize the expected number of entries
+	 */
+	public ObjectDoubleHashMap(int expectedSize) {
+		allocate(getCapacity(expectedSize));
+	}
+
+
+	/**
+	 * Returns the number of entries in this map.
+	 *
+	 * @return The number of entries in this map.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns <code>true</code> if and only if this map contains no entries.
+	 *
+	 * @return <code>true</code> if and only if this map contains no entries.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns the value associated with <code>key</code>.
+	 *
+	 * @param key a key
+	 * @return The associated value. Returns 0 if <code>key</code> is not contained.
+	 */
+	public double get(Object key) {
+		int slot = find(key, hash(key));
+		return keys[slot] != null ? values[slot] : 0.0;
+	}
+
+	/**
+	 * Returns <code>true</code> if and only if <code>key</code> is contained by this map.
+	 *
+	 * @param key a key
+	 * @return <code>true</code> if and only if <code>key</code> is contained by this map.
+	 */
+	public boolean containsKey(Object key) {
+		return keys[find(key, hash(key))] != null;
+	}
+
+	/**
+	 * Associates <code>value</code> with <code>key</code>, replacing any previous value.
+	 *
+	 * @param key a non-null key
+	 * @param value a value
+	 */
+	public void put(K key, double value) {
+		int hash = hash(key);
+		int slot = find(key, hash);
+		if (keys[slot] != null)
+			values[slot] = value;
+		else
+			insert(slot, key, hash, value);
+	}
+
+	/**
+	 * Adds <code>value</code> to the value associated with <code>key</code>. Missing keys are treated as being associated with 0.
+	 *
+	 * @param key a non-null key
+	 * @param value the value to be added
+	 */
+	public void add(K key, double value) {
+		int hash = hash(key);
+		int slot = find(key, hash);
+		if (keys[slot] != null)
+			values[slot] += value;
+		else
+			insert(slot, key, hash, value);
+	}
+
+	/**
+	 * Associates all values of <code>map</code> with their keys, replacing previous values. The keys themselves are shared, not copied.
+	 * If this map is empty, the underlying tables of <code>map</code> are copied as a whole without rehashing.
+	 *
+	 * @param map another map
+	 */
+	public void putAll(ObjectDoubleHashMap<? extends K> map) {
+		if (size == 0) {
+			keys = map.keys.clone();
+			hashes = map.hashes.clone();
+			values = map.values.clone();
+			size = map.size;
+			return;
+		}
+		for (int i = 0; i < map.keys.length; i++) {
+			if (map.keys[i] != null)
+				put(map.keyAt(i), map.values[i]);
+		}
+	}
+
+	/**
+	 * Removes <code>key</code> and its value from this map.
+	 *
+	 * @param key a key
+	 * @return The value that was associated with <code>key</code>. Returns 0 if <code>key</code> was not contained.
+	 */
+	public double remove(Object key) {
+		int slot = find(key, hash(key));
+		if (keys[slot] == null)
+			return 0.0;
+		double value = values[slot];
+		removeAt(slot);
+		return value;
+	}
+
+	/**
+	 * Removes all entries from this map.
+	 */
+	public void clear() {
+		Arrays.fill(keys, null);
+		size = 0;
+	}
+
+
+	/**
+	 * Returns the number of slots of the underlying table. Valid slot indices are in the range <code>[0, capacity())</code>.
+	 *
+	 * @return The number of slots.
+	 */
+	public int capacity() {
+		return keys.length;
+	}
+
+	/**
+	 * Returns <code>true</code> if and only if the slot with the given index holds an entry.
+	 *
+	 * @param slot a slot index
+	 * @return <code>true</code> if and only if the slot holds an entry.
+	 */
+	public boolean isUsed(int slot) {
+		return keys[slot] != null;
+	}
+
+	/**
+	 * Returns the key stored at the given slot.
+	 *
+	 * @param slot the index of a used slot
+	 * @return The stored key.
+	 */
+	@SuppressWarnings("unchecked")
+	public K keyAt(int slot) {
+		return (K) keys[slot];
+	}
+
+	/**
+	 * Returns the value stored at the given slot.
+	 *
+	 * @param slot the index of a used slot
+	 * @return The stored value.
+	 */
+	public double valueAt(int slot) {
+		return values[slot];
+	}
+
+	/**
+	 * Replaces the value stored at the given slot.
+	 *
+	 * @param slot the index of a used slot
+	 * @param value the new value
+	 */
+	public void setValueAt(int slot, double value) {
+		values[slot] = value;
+	}
+
+
+	/**
+	 * Returns an iterator over all keys. The iterator does not support removal.
+	 *
+	 * @see java.lang.Iterable#iterator()
+	 */
+	@Override
+	public Iterator<K> iterator() {
+		return new Iterator<K>() {
+
+			private int next = nextUsed(0);
+
+			@Override
+			public boolean hasNext() {
+				return next < keys.length;
+			}
+
+			@Override
+			public K next() {
+				if (next >= keys.length)
+					throw new NoSuchElementException();
+				K key = keyAt(next);
+				next = nextUsed(next + 1);
+				return key;
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+
+		};
+	}
+
+
+	private int nextUsed(int slot) {
+		while (slot < keys.length && keys[slot] == null)
+			slot++;
+		return slot;
+	}
+
+	private int find(Object key, int hash) {
+		int mask = keys.length - 1;
+		int slot = hash & mask;
+		while (keys[slot] != null && (hashes[slot] != hash || !keys[slot].equals(key)))
+			slot = (slot + 1) & mask;
+		return slot;
+	}
+
+	private void insert(int slot, K key, int hash, double value) {
+		if (key == null)
+			throw new NullPointerException("null keys are not allowed");
+		keys[slot] = key;
+		hashes[slot] = hash;
+		values[slot] = value;
+		if (++size > keys.length * LOAD_FACTOR)
+			rehash(keys.length << 1);
+	}
+
+	private void removeAt(int slot) {
+		// backward shift deletion keeps probe sequences intact without tombstones
+		int mask = keys.length - 1;
+		int hole = slot;
+		int next = (hole + 1) & mask;
+		while (keys[next] != null) {
+			int home = hashes[next] & mask;
+			if (((next - home) & mask) >= ((next - hole) & mask)) {
+				keys[hole] = keys[next];
+				hashes[hole] = hashes[next];
+				values[hole] = values[next];
+				hole = next;
+			}
+			next = (next + 1) & mask;
+		}
+		keys[hole] = null;
+		size--;
+	}
+
+	private void allocate(int capacity) {
+		keys = new Object[capacity];
+		hashes = new int[capacity];
+		values = new double[capacity];
+	}
+
+	private void rehash(int capacity) {
+		Object[] oldKeys = keys;
+		int[] oldHashes = hashes;
+		double[] oldValues = values;
+		allocate(capacity);
+		int mask = capacity - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != null) {
+				int slot = oldHashes[i] & mask;
+				while (keys[slot] != null)
+					slot = (slot + 1) & mask;
+				keys[slot] = oldKeys[i];
+				hashes[slot] = oldHashes[i];
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+
+	private static int getCapacity(int expectedSize) {
+		int capacity = 16;
+		while (capacity * LOAD_FACTOR < expectedSize)
+			capacity <<= 1;
+		return capacity;
+	}
+
+	private static int hash(Object key) {
+		int h = key != null ? key.hashCode() * 0x9E3779B9 : 0;
+		return h ^ (h >>> 16);
+	}
+
+}
@@ -0,0 +1,451 @@
+/**
+ * Oct 18, 2026
+ */
+package util;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable map from keys to primitive <code>double</code> values based on a hash array mapped trie.
+ * <p>
+ * Every modification returns a new map that shares all unchanged nodes with the original one, so an update copies only the
+ * <code>O(log32 n)</code> nodes on the path to the modified entry. Instances can therefore be shared between threads without
+ * synchronization. Keys must implement <code>hashCode</code> consistently with <code>equals</code> and must not be modified
+ * while they are contained by a map.
+ * <p>
+ * Entries are stored in no particular order.
+ *
+ */
+public final class PersistentObjectDoubleMap<K> implements Iterable<K> {
+
+	private static final int BITS = 5;
+
+	private static final int MASK = (1 << BITS) - 1;
+
+	private static final PersistentObjectDoubleMap<Object> EMPTY = new PersistentObjectDoubleMap<Object>(new BitmapNode(0, new Object[0]), 0);
+
+	private final BitmapNode root;
+
+	private final int size;
+
+
+	private PersistentObjectDoubleMap(BitmapNode root, int size) {
+		this.root = root;
+		this.size = size;
+	}
+
+	/**
+	 * Returns the empty map.
+	 *
+	 * @return The empty map.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <K> PersistentObjectDoubleMap<K> empty() {
+		return (PersistentObjectDoubleMap<K>) EMPTY;
+	}
+
+
+	/**
+	 * Returns the number of entries in this map.
+	 *
+	 * @return The number of entries in this map.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns <code>true</code> if and only if this map contains no entries.
+	 *
+	 * @return <code>true</code> if and only if this map contains no entries.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns the value associated with <code>key</code>.
+	 *
+	 * @param key a key
+	 * @return The associated value. Returns 0 if <code>key</code> is not contained.
+	 */
+	public double get(Object key) {
+		Leaf leaf = find(key);
+		return leaf != null ? leaf.value : 0.0;
+	}
+
+	/**
+	 * Returns <code>true</code> if and only if <code>key</code> is contained by this map.
+	 *
+	 * @param key a key
+	 * @return <code>true</code> if and only if <code>key</code> is contained by this map.
+	 */
+	public boolean containsKey(Object key) {
+		return find(key) != null;
+	}
+
+	/**
+	 * Returns a map that associates <code>value</code> with <code>key</code> and otherwise equals this map.
+	 * If <code>key</code> is already contained, the existing key object is kept.
+	 *
+	 * @param key a non-null key
+	 * @param value a value
+	 * @return The updated map.
+	 */
+	public PersistentObjectDoubleMap<K> with(K key, double value) {
+		if (key == null)
+			throw new NullPointerException("null keys are not allowed");
+		int hash = hash(key);
+		Leaf leaf = new Leaf(key, hash, value);
+		Object updated = put(root, 0, leaf);
+		if (updated == root)
+			return this;
+		return new PersistentObjectDoubleMap<K>((BitmapNode) updated, find(root, key, hash) == null ? size + 1 : size);
+	}
+
+	/**
+	 * Returns a map where <code>value</code> is added to the value associated with <code>key</code>. Missing keys are treated as being associated with 0.
+	 *
+	 * @param key a non-null key
+	 * @param value the value to be added
+	 * @return The updated map.
+	 */
+	public PersistentObjectDoubleMap<K> withAdded(K key, double value) {
+		return with(key, get(key) + value);
+	}
+
+	/**
+	 * Returns a map that does not contain <code>key</code> and otherwise equals this map.
+	 *
+	 * @param key a key
+	 * @return The updated map. Returns this map if <code>key</code> is not contained.
+	 */
+	public PersistentObjectDoubleMap<K> without(Object key) {
+		int hash = hash(key);
+		if (find(root, key, hash) == null)
+			return this;
+		Object updated = remove(root, 0, key, hash);
+		BitmapNode newRoot;
+		if (updated == null)
+			newRoot = EMPTY.root;
+		else if (updated instanceof Leaf)
+			newRoot = new BitmapNode(bit(((Leaf) updated).hash, 0), new Object[] {updated});
+		else
+			newRoot = (BitmapNode) updated;
+		return new PersistentObjectDoubleMap<K>(newRoot, size - 1);
+	}
+
+
+	/**
+	 * Returns a cursor over all entries of this map. Cursors are not thread-safe, but any number of them can traverse the same map concurrently.
+	 *
+	 * @return A cursor positioned before the first entry.
+	 */
+	public Cursor<K> cursor() {
+		return new Cursor<K>(root);
+	}
+
+	/**
+	 * Returns an iterator over all keys. The iterator does not support removal.
+	 *
+	 * @see java.lang.Iterable#iterator()
+	 */
+	@Override
+	public Iterator<K> iterator() {
+		return new Iterator<K>() {
+
+			private final Cursor<K> cursor = cursor();
+
+			private boolean advanced;
+
+			private boolean hasNext;
+
+			@Override
+			public boolean hasNext() {
+				if (!advanced) {
+					hasNext = cursor.next();
+					advanced = true;
+				}
+				return hasNext;
+			}
+
+			@Override
+			public K next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				advanced = false;
+				return cursor.key();
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+
+		};
+	}
+
+
+	/**
+	 * Traverses the entries of a <code>PersistentObjectDoubleMap</code> without allocating an object per entry.
+	 */
+	public static final class Cursor<K> {
+
+		// a path of at most 7 bitmap nodes and one collision node
+		private final Object[][] nodes = new Object[8][];
+
+		private final int[] positions = new int[8];
+
+		private int depth;
+
+		private Leaf current;
+
+
+		private Cursor(BitmapNode root) {
+			nodes[0] = root.children;
+			positions[0] = 0;
+		}
+
+
+		/**
+		 * Advances this cursor to the next entry.
+		 *
+		 * @return <code>true</code> if there is another entry, <code>false</code> if all entries have been visited.
+		 */
+		public boolean next() {
+			while (depth >= 0) {
+				Object[] children = nodes[depth];
+				if (positions[depth] == children.length) {
+					depth--;
+					continue;
+				}
+				Object child = children[positions[depth]++];
+				if (child instanceof Leaf) {
+					current = (Leaf) child;
+					return true;
+				}
+				depth++;
+				nodes[depth] = child instanceof BitmapNode ? ((BitmapNode) child).children : ((CollisionNode) child).leaves;
+				positions[depth] = 0;
+			}
+			current = null;
+			return false;
+		}
+
+		/**
+		 * Returns the key of the current entry.
+		 *
+		 * @return The key of the current entry.
+		 */
+		@SuppressWarnings("unchecked")
+		public K key() {
+			if (current == null)
+				throw new NoSuchElementException();
+			return (K) current.key;
+		}
+
+		/**
+		 * Returns the value of the current entry.
+		 *
+		 * @return The value of the current entry.
+		 */
+		public double value() {
+			if (current == null)
+				throw new NoSuchElementException();
+			return current.value;
+		}
+
+	}
+
+
+	private Leaf find(Object key) {
+		return find(root, key, hash(key));
+	}
+
+	private static Leaf find(BitmapNode root, Object key, int hash) {
+		Object node = root;
+		int shift = 0;
+		while (true) {
+			if (node instanceof BitmapNode) {
+				BitmapNode bitmapNode = (BitmapNode) node;
+				int bit = bit(hash, shift);
+				if ((bitmapNode.bitmap & bit) == 0)
+					return null;
+				node = bitmapNode.children[bitmapNode.index(bit)];
+				shift += BITS;
+			} else if (node instanceof Leaf) {
+				Leaf leaf = (Leaf) node;
+				return leaf.hash == hash && leaf.key.equals(key) ? leaf : null;
+			} else {
+				for (Leaf leaf : ((CollisionNode) node).leaves) {
+					if (leaf.key.equals(key))
+						return leaf;
+				}
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Returns the node that results from inserting <code>leaf</code> into <code>node</code>, or <code>node</code> itself if nothing changes.
+	 */
+	private static Object put(Object node, int shift, Leaf leaf) {
+		if (node instanceof BitmapNode) {
+			BitmapNode bitmapNode = (BitmapNode) node;
+			int bit = bit(leaf.hash, shift);
+			int index = bitmapNode.index(bit);
+			if ((bitmapNode.bitmap & bit) == 0)
+				return new BitmapNode(bitmapNode.bitmap | bit, insert(bitmapNode.children, index, leaf));
+			Object child = bitmapNode.children[index];
+			Object updated = put(child, shift + BITS, leaf);
+			if (updated == child)
+				return node;
+			return new BitmapNode(bitmapNode.bitmap, replace(bitmapNode.children, index, updated));
+		} else if (node instanceof Leaf) {
+			Leaf existing = (Leaf) node;
+			if (existing.hash == leaf.hash && existing.key.equals(leaf.key))
+				return Double.doubleToLongBits(existing.value) == Double.doubleToLongBits(leaf.value) ? existing : new Leaf(existing.key, existing.hash, leaf.value);
+			return merge(shift, existing, leaf);
+		} else {
+			CollisionNode collisionNode = (CollisionNode) node;
+			Leaf[] leaves = collisionNode.leaves;
+			for (int i = 0; i < leaves.length; i++) {
+				if (leaves[i].key.equals(leaf.key)) {
+					Leaf[] updated = leaves.clone();
+					updated[i] = new Leaf(leaves[i].key, leaves[i].hash, leaf.value);
+					return new CollisionNode(updated);
+				}
+			}
+			Leaf[] updated = new Leaf[leaves.length + 1];
+			System.arraycopy(leaves, 0, updated, 0, leaves.length);
+			updated[leaves.length] = leaf;
+			return new CollisionNode(updated);
+		}
+	}
+
+	/**
+	 * Returns the node that results from removing <code>key</code> from <code>node</code>.
+	 * Nodes that only contain a single leaf are replaced by that leaf, and empty nodes are replaced by <code>null</code>.
+	 */
+	private static Object remove(Object node, int shift, Object key, int hash) {
+		if (node instanceof BitmapNode) {
+			BitmapNode bitmapNode = (BitmapNode) node;
+			int bit = bit(hash, shift);
+			int index = bitmapNode.index(bit);
+			Object updated = remove(bitmapNode.children[index], shift + BITS, key, hash);
+			if (updated == null) {
+				if (bitmapNode.children.length == 1)
+					return null;
+				Object[] children = delete(bitmapNode.children, index);
+				if (children.length == 1 && children[0] instanceof Leaf)
+					return children[0];
+				return new BitmapNode(bitmapNode.bitmap & ~bit, children);
+			}
+			if (bitmapNode.children.length == 1 && updated instanceof Leaf)
+				return updated;
+			return new BitmapNode(bitmapNode.bitmap, replace(bitmapNode.children, index, updated));
+		} else if (node instanceof Leaf)
+			return null;
+		else {
+			Leaf[] leaves = ((CollisionNode) node).leaves;
+			for (int i = 0; i < leaves.length; i++) {
+				if (leaves[i].key.equals(key)) {
+					if (leaves.length == 2)
+						return leaves[1 - i];
+					Leaf[] updated = new Leaf[leaves.length - 1];
+					System.arraycopy(leaves, 0, updated, 0, i);
+					System.arraycopy(leaves, i + 1, updated, i, updated.length - i);
+					return new CollisionNode(updated);
+				}
+			}
+			return node;
+		}
+	}
+
+	private static Object merge(int shift, Leaf leaf1, Leaf leaf2) {
+		if (leaf1.hash == leaf2.hash)
+			return new CollisionNode(new Leaf[] {leaf1, leaf2});
+		int bit1 = bit(leaf1.hash, shift);
+		int bit2 = bit(leaf2.hash, shift);
+		if (bit1 == bit2)
+			return new BitmapNode(bit1, new Object[] {merge(shift + BITS, leaf1, leaf2)});
+		// children are ordered by their bit position
+		return new BitmapNode(bit1 | bit2, (bit1 & 0xFFFFFFFFL) < (bit2 & 0xFFFFFFFFL) ? new Object[] {leaf1, leaf2} : new Object[] {leaf2, leaf1});
+	}
+
+	private static Object[] insert(Object[] array, int index, Object value) {
+		Object[] copy = new Object[array.length + 1];
+		System.arraycopy(array, 0, copy, 0, index);
+		copy[index] = value;
+		System.arraycopy(array, index, copy, index + 1, array.length - index);
+		return copy;
+	}
+
+	private static Object[] replace(Object[] array, int index, Object value) {
+		Object[] copy = array.clone();
+		copy[index] = value;
+		return copy;
+	}
+
+	private static Object[] delete(Object[] array, int index) {
+		Object[] copy = new Object[array.length - 1];
+		System.arraycopy(array, 0, copy, 0, index);
+		System.arraycopy(array, index + 1, copy, index, copy.length - index);
+		return copy;
+	}
+
+	private static int bit(int hash, int shift) {
+		return 1 << ((hash >>> shift) & MASK);
+	}
+
+	private static int hash(Object key) {
+		int h = key != null ? key.hashCode() * 0x9E3779B9 : 0;
+		return h ^ (h >>> 16);
+	}
+
+
+	private static final class BitmapNode {
+
+		private final int bitmap;
+
+		private final Object[] children;
+
+		private BitmapNode(int bitmap, Object[] children) {
+			this.bitmap = bitmap;
+			this.children = children;
+		}
+
+		private int index(int bit) {
+			return Integer.bitCount(bitmap & (bit - 1));
+		}
+
+	}
+
+	private static final class CollisionNode {
+
+		private final Leaf[] leaves;
+
+		private CollisionNode(Leaf[] leaves) {
+			this.leaves = leaves;
+		}
+
+	}
+
+	private static final class Leaf {
+
+		private final Object key;
+
+		private final int hash;
+
+		private final double value;
+
+		private Leaf(Object key, int hash, double value) {
+			this.key = key;
+			this.hash = hash;
+			this.value = value;
+		}
+
+	}
+
+}
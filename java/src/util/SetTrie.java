@@ -0,0 +1,186 @@
+/**
+ * Oct 18, 2026
+ */
+package util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Indexes sets of singletons by their sorted singletons and answers subset and superset queries.
+ * <p>
+ * Each stored set is associated with a non-negative <code>int</code> value, e.g., the index of a focal element in an array.
+ * A set is stored as the path of its singletons in ascending order, so sets sharing a prefix share the corresponding nodes.
+ * Subset queries only visit paths that are subsets of the query, and superset queries only visit paths whose singletons
+ * do not exceed the query singletons that remain to be matched, which is typically proportional to the number of results
+ * instead of the number of stored sets.
+ *
+ */
+public class SetTrie<S extends Comparable<S>> {
+
+	private final Node<S> root = new Node<S>();
+	
+	private int size;
+	
+	
+	/**
+	 * Returns the number of stored sets.
+	 * 
+	 * @return The number of stored sets.
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Stores a set of singletons and associates it with <code>value</code>, replacing any previous value of the same set.
+	 * 
+	 * @param singletons the singletons of the set (in any order)
+	 * @param value a non-negative value
+	 */
+	public void put(Iterable<? extends S> singletons, int value) {
+		if (value < 0)
+			throw new IllegalArgumentException("value must not be negative");
+		Node<S> node = root;
+		for (S s : sort(singletons)) {
+			if (node.children == null)
+				node.children = new TreeMap<S, Node<S>>();
+			Node<S> child = node.children.get(s);
+			if (child == null) {
+				child = new Node<S>();
+				node.children.put(s, child);
+			}
+			node = child;
+		}
+		if (node.value < 0)
+			size++;
+		node.value = value;
+	}
+	
+	/**
+	 * Returns the value associated with a set of singletons.
+	 * 
+	 * @param singletons the singletons of the set (in any order)
+	 * @return The associated value. Returns -1 if the set is not stored.
+	 */
+	public int get(Iterable<? extends S> singletons) {
+		Node<S> node = root;
+		for (S s : sort(singletons)) {
+			node = node.children != null ? node.children.get(s) : null;
+			if (node == null)
+				return -1;
+		}
+		return node.value;
+	}
+	
+	/**
+	 * Returns the values of all stored sets that are subsets of (or equal to) the given set.
+	 * 
+	 * @param singletons the singletons of the query set (in any order)
+	 * @return The values in no particular order.
+	 */
+	public int[] getSubsets(Iterable<? extends S> singletons) {
+		IntBuffer result = new IntBuffer();
+		collectSubsets(root, sort(singletons), 0, result);
+		return result.toArray();
+	}
+	
+	/**
+	 * Returns the values of all stored sets that are supersets of (or equal to) the given set.
+	 * 
+	 * @param singletons the singletons of the query set (in any order)
+	 * @return The values in no particular order.
+	 */
+	public int[] getSupersets(Iterable<? extends S> singletons) {
+		IntBuffer result = new IntBuffer();
+		collectSupersets(root, sort(singletons), 0, result);
+		return result.toArray();
+	}
+	
+	
+	private void collectSubsets(Node<S> node, ArrayList<S> query, int from, IntBuffer result) {
+		if (node.value >= 0)
+			result.add(node.value);
+		if (node.children == null)
+			return;
+		if (node.children.size() < query.size() - from) {
+			// fewer children than remaining query singletons: look up each child in the query instead
+			for (Map.Entry<S, Node<S>> entry : node.children.subMap(query.get(from), true, query.get(query.size() - 1), true).entrySet()) {
+				int i = Collections.binarySearch(query.subList(from, query.size()), entry.getKey());
+				if (i >= 0)
+					collectSubsets(entry.getValue(), query, from + i + 1, result);
+			}
+		} else {
+			for (int i = from; i < query.size(); i++) {
+				Node<S> child = node.children.get(query.get(i));
+				if (child != null)
+					collectSubsets(child, query, i + 1, result);
+			}
+		}
+	}
+	
+	private void collectSupersets(Node<S> node, ArrayList<S> query, int from, IntBuffer result) {
+		if (from == query.size()) {
+			collectAll(node, result);
+			return;
+		}
+		if (node.children == null)
+			return;
+		// children beyond the next query singleton cannot lead to it since paths are sorted
+		S next = query.get(from);
+		for (Map.Entry<S, Node<S>> entry : node.children.headMap(next, true).entrySet()) {
+			if (entry.getKey().compareTo(next) == 0)
+				collectSupersets(entry.getValue(), query, from + 1, result);
+			else
+				collectSupersets(entry.getValue(), query, from, result);
+		}
+	}
+	
+	private void collectAll(Node<S> node, IntBuffer result) {
+		if (node.value >= 0)
+			result.add(node.value);
+		if (node.children != null) {
+			for (Node<S> child : node.children.values())
+				collectAll(child, result);
+		}
+	}
+	
+	private static <S extends Comparable<S>> ArrayList<S> sort(Iterable<? extends S> singletons) {
+		ArrayList<S> sorted = new ArrayList<S>();
+		for (S s : singletons)
+			sorted.add(s);
+		Collections.sort(sorted);
+		return sorted;
+	}
+	
+	
+	private static class Node<S> {
+		
+		private TreeMap<S, Node<S>> children;
+		
+		private int value = -1;
+		
+	}
+	
+	private static class IntBuffer {
+		
+		private int[] values = new int[8];
+		
+		private int size;
+		
+		private void add(int value) {
+			if (size == values.length)
+				values = Arrays.copyOf(values, size << 1);
+			values[size++] = value;
+		}
+		
+		private int[] toArray() {
+			return Arrays.copyOf(values, size);
+		}
+		
+	}
+	
+}
@@ -0,0 +1,78 @@
+/**
+ * Oct 18, 2026
+ */
+package util;
+
+import java.util.Random;
+
+/**
+ * Draws indices without replacement from a multiset given by the number of balls per index.
+ * <p>
+ * The counts are kept in a binary indexed tree, so each draw takes <code>O(log n)</code> time for <code>n</code> indices
+ * and consumes one uniformly distributed integer. Drawing all balls one by one yields a uniformly random permutation of the multiset.
+ *
+ */
+public class Urn {
+
+	// binary indexed tree over the counts, 1-based
+	private final int[] tree;
+
+	private final int highestBit;
+
+	private int size;
+
+
+	/**
+	 * Creates an urn with <code>counts[i]</code> balls of index <code>i</code>.
+	 *
+	 * @param counts non-negative counts (are not modified)
+	 */
+	public Urn(int[] counts) {
+		int n = counts.length;
+		tree = new int[n + 1];
+		for (int i = 0; i < n; i++) {
+			if (counts[i] < 0)
+				throw new IllegalArgumentException("counts must not be negative");
+			tree[i + 1] += counts[i];
+			size += counts[i];
+			int parent = (i + 1) + ((i + 1) & -(i + 1));
+			if (parent <= n)
+				tree[parent] += tree[i + 1];
+		}
+		highestBit = n == 0 ? 0 : Integer.highestOneBit(n);
+	}
+
+
+	/**
+	 * Returns the number of balls left in this urn.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Removes a uniformly drawn ball from this urn.
+	 *
+	 * @param random source of randomness
+	 * @return The index of the drawn ball.
+	 */
+	public int draw(Random random) {
+		if (size == 0)
+			throw new IllegalStateException("urn is empty");
+		int rank = random.nextInt(size);
+		// descend the tree to the index whose cumulative count first exceeds rank
+		int position = 0;
+		for (int bit = highestBit; bit > 0; bit >>= 1) {
+			int next = position + bit;
+			if (next < tree.length && tree[next] <= rank) {
+				position = next;
+				rank -= tree[next];
+			}
+		}
+		for (int i = position + 1; i < tree.length; i += i & -i)
+			tree[i]--;
+		size--;
+		return position;
+	}
+
+}